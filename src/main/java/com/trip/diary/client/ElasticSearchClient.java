@@ -1,40 +1,176 @@
 package com.trip.diary.client;
 
 import com.trip.diary.elasticsearch.model.BaseDocument;
+import com.trip.diary.elasticsearch.model.DocumentUpdate;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.elasticsearch.action.admin.indices.alias.IndicesAliasesRequest;
+import org.elasticsearch.action.admin.indices.alias.IndicesAliasesRequest.AliasActions;
+import org.elasticsearch.action.admin.indices.alias.get.GetAliasesRequest;
+import org.elasticsearch.action.admin.indices.refresh.RefreshRequest;
+import org.elasticsearch.action.admin.indices.settings.put.UpdateSettingsRequest;
+import org.elasticsearch.client.RequestOptions;
+import org.elasticsearch.client.RestHighLevelClient;
+import org.elasticsearch.client.indices.CreateIndexRequest;
+import org.elasticsearch.client.indices.GetIndexRequest;
+import org.elasticsearch.common.settings.Settings;
+import org.springframework.data.elasticsearch.BulkFailureException;
 import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.document.Document;
 import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+import org.springframework.data.elasticsearch.core.query.IndexQueryBuilder;
 import org.springframework.data.elasticsearch.core.query.UpdateQuery;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
+@Slf4j
 @Component
 @RequiredArgsConstructor
 public class ElasticSearchClient {
+    private static final String SCRIPT_LANG = "painless";
+    private static final String DOCUMENT_MISSING = "document_missing_exception";
+    private static final String REFRESH_INTERVAL = "index.refresh_interval";
+    private static final String NUMBER_OF_REPLICAS = "index.number_of_replicas";
     private final ElasticsearchOperations elasticsearchOperations;
+    private final RestHighLevelClient restHighLevelClient;
 
     public <T extends BaseDocument> void save(T document) {
         elasticsearchOperations.save(document);
     }
 
     public <T extends BaseDocument> void update(String indexName, T document) {
-        UpdateQuery updateQuery = UpdateQuery.builder(document.getId().toString())
-                .withDocument(elasticsearchOperations.getElasticsearchConverter().mapObject(document))
-                .withDocAsUpsert(true)
-                .build();
-        elasticsearchOperations.update(updateQuery, IndexCoordinates.of(indexName));
+        elasticsearchOperations.update(getUpsertQuery(document), IndexCoordinates.of(indexName));
     }
 
     public <T extends BaseDocument> void update(String indexName, List<T> documents) {
-        List<UpdateQuery> updateQueries = documents.stream()
-                .map(document ->
-                        UpdateQuery.builder(document.getId().toString())
-                                .withDocument(elasticsearchOperations.getElasticsearchConverter().mapObject(document))
-                                .withDocAsUpsert(true)
+        elasticsearchOperations.bulkUpdate(documents.stream()
+                        .map(this::getUpsertQuery)
+                        .collect(Collectors.toList()),
+                IndexCoordinates.of(indexName));
+    }
+
+    /**
+     * 변경을 한 번의 bulk 요청으로 보낸다. 같은 도큐먼트에 대한 변경은 보낸 순서대로 적용된다.
+     * 일부 필드 수정과 스크립트 수정은 엘라스틱서치에서 바로 반영되므로 동시에 들어온 변경이 서로 덮어쓰지 않는다.
+     * 도큐먼트가 없어서 실패한 변경은 무시한다.
+     */
+    public void bulkUpdate(String indexName, List<DocumentUpdate> updates) {
+        if (updates.isEmpty()) {
+            return;
+        }
+
+        try {
+            elasticsearchOperations.bulkUpdate(updates.stream()
+                            .map(this::getUpdateQuery)
+                            .collect(Collectors.toList()),
+                    IndexCoordinates.of(indexName));
+        } catch (BulkFailureException e) {
+            Map<String, String> failedDocuments = e.getFailedDocuments().entrySet().stream()
+                    .filter(failedDocument -> !failedDocument.getValue().contains(DOCUMENT_MISSING))
+                    .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+            if (!failedDocuments.isEmpty()) {
+                throw new BulkFailureException(e.getMessage(), failedDocuments);
+            }
+            log.info("skip updates of {} missing documents in {}", e.getFailedDocuments().size(), indexName);
+        }
+    }
+
+    public <T extends BaseDocument> void bulkIndex(String indexName, List<T> documents) {
+        elasticsearchOperations.bulkIndex(documents.stream()
+                        .map(document -> new IndexQueryBuilder()
+                                .withId(document.getId().toString())
+                                .withObject(document)
                                 .build())
-                .collect(Collectors.toList());
-        elasticsearchOperations.bulkUpdate(updateQueries, IndexCoordinates.of(indexName));
+                        .collect(Collectors.toList()),
+                IndexCoordinates.of(indexName));
+    }
+
+    /**
+     * 대량 적재용 인덱스를 만든다. 적재하는 동안에는 refresh 와 복제본을 끈다.
+     */
+    public void createIndexForBulkLoad(String indexName, Class<? extends BaseDocument> documentClass) {
+        CreateIndexRequest request = new CreateIndexRequest(indexName)
+                .settings(Settings.builder()
+                        .put(REFRESH_INTERVAL, -1)
+                        .put(NUMBER_OF_REPLICAS, 0))
+                .mapping(elasticsearchOperations.indexOps(documentClass).createMapping(documentClass));
+        execute(() -> restHighLevelClient.indices().create(request, RequestOptions.DEFAULT));
+    }
+
+    public void finishBulkLoad(String indexName, int numberOfReplicas) {
+        execute(() -> restHighLevelClient.indices().putSettings(new UpdateSettingsRequest(indexName)
+                .settings(Settings.builder()
+                        .putNull(REFRESH_INTERVAL)
+                        .put(NUMBER_OF_REPLICAS, numberOfReplicas)), RequestOptions.DEFAULT));
+        execute(() -> restHighLevelClient.indices().refresh(new RefreshRequest(indexName), RequestOptions.DEFAULT));
+    }
+
+    /**
+     * 별칭이 가리키는 인덱스를 한 번의 요청으로 바꾸고, 이전에 가리키던 인덱스 이름을 반환한다.
+     * 별칭 대신 같은 이름의 인덱스가 있으면 그 인덱스를 지우고 별칭으로 바꾼다.
+     */
+    public Set<String> swapAlias(String aliasName, String indexName) {
+        Set<String> previousIndexNames = execute(() -> restHighLevelClient.indices()
+                .getAlias(new GetAliasesRequest(aliasName), RequestOptions.DEFAULT))
+                .getAliases().keySet();
+
+        IndicesAliasesRequest request = new IndicesAliasesRequest()
+                .addAliasAction(AliasActions.add().index(indexName).alias(aliasName));
+        if (!previousIndexNames.isEmpty()) {
+            previousIndexNames.forEach(previousIndexName ->
+                    request.addAliasAction(AliasActions.remove().index(previousIndexName).alias(aliasName)));
+        } else if (execute(() -> restHighLevelClient.indices()
+                .exists(new GetIndexRequest(aliasName), RequestOptions.DEFAULT))) {
+            request.addAliasAction(AliasActions.removeIndex().index(aliasName));
+        }
+        execute(() -> restHighLevelClient.indices().updateAliases(request, RequestOptions.DEFAULT));
+        return previousIndexNames;
+    }
+
+    public void deleteIndex(String indexName) {
+        elasticsearchOperations.indexOps(IndexCoordinates.of(indexName)).delete();
+    }
+
+    private <R> R execute(IndexRequestCallback<R> callback) {
+        try {
+            return callback.execute();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface IndexRequestCallback<R> {
+        R execute() throws IOException;
+    }
+
+    private UpdateQuery getUpdateQuery(DocumentUpdate update) {
+        if (Objects.nonNull(update.getDocument())) {
+            return getUpsertQuery(update.getDocument());
+        }
+        if (Objects.nonNull(update.getScript())) {
+            return UpdateQuery.builder(update.getId().toString())
+                    .withScript(update.getScript())
+                    .withLang(SCRIPT_LANG)
+                    .withParams(update.getParams())
+                    .build();
+        }
+        return UpdateQuery.builder(update.getId().toString())
+                .withDocument(Document.from(update.getFields()))
+                .build();
+    }
+
+    private <T extends BaseDocument> UpdateQuery getUpsertQuery(T document) {
+        return UpdateQuery.builder(document.getId().toString())
+                .withDocument(elasticsearchOperations.getElasticsearchConverter().mapObject(document))
+                .withDocAsUpsert(true)
+                .build();
     }
 }
@@ -3,7 +3,15 @@ package com.trip.diary.client;
 import org.springframework.web.multipart.MultipartFile;
 
 public interface FileUploadClient {
-    String upload(MultipartFile multipartFile, String domain);
+    String createFilePath(MultipartFile multipartFile, String domain);
+
+    void uploadIfAbsent(MultipartFile multipartFile, String filePath);
+
+    void upload(byte[] bytes, String contentType, String filePath);
+
+    byte[] download(String filePath);
+
+    boolean exists(String filePath);
 
     void delete(String filePath);
 }
@@ -1,21 +1,111 @@
 package com.trip.diary.client;
 
+import com.trip.diary.domain.constants.LikeEncoding;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.Limit;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.core.*;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
 @Component
 @RequiredArgsConstructor
 public class RedisClient {
     private final RedisTemplate<String, String> redisTemplate;
-
-    public void addValueToSet(String key, String value) {
-        redisTemplate.opsForSet().add(key, value);
-    }
-
-    public void removeValueToSet(String key, String value) {
-        redisTemplate.opsForSet().remove(key, value);
-    }
+    // 카운터는 INCRBY 를 쓰기 위해 JSON 이 아닌 문자열로 직렬화한다
+    private final StringRedisTemplate stringRedisTemplate;
+    private static final RedisScript<Long> INCREMENT_IF_EXISTS_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('exists', KEYS[1]) == 0 then return nil end " +
+                    "local count = redis.call('incrby', KEYS[1], ARGV[1]) " +
+                    "if count < 0 then redis.call('del', KEYS[1]) end " +
+                    "return count",
+            Long.class);
+    // 좋아요 Set 의 멤버는 방식에 따라 JSON 문자열("\"12\"")이나 숫자이므로 숫자만 꺼내 대상 키를 통째로 다시 만든다
+    private static final RedisScript<Long> COPY_SET_SCRIPT = new DefaultRedisScript<>(
+            "redis.call('del', KEYS[2]) " +
+                    "local members = redis.call('smembers', KEYS[1]) " +
+                    "for _, member in ipairs(members) do " +
+                    "local number = string.match(member, '%d+') " +
+                    "if number then " +
+                    "if ARGV[1] == 'BITMAP' then redis.call('setbit', KEYS[2], number, 1) " +
+                    "elseif ARGV[1] == 'SET' then redis.call('sadd', KEYS[2], '\"' .. number .. '\"') " +
+                    "else redis.call('sadd', KEYS[2], number) end end end " +
+                    "return #members",
+            Long.class);
+    // 좋아요를 뒤집고 스트림에 LIKE/UNLIKE 를 남기는 것을 한 번의 왕복으로 원자적으로 처리한다
+    private static final RedisScript<Long> TOGGLE_SET_MEMBER_SCRIPT = new DefaultRedisScript<>(
+            "local added = redis.call('srem', KEYS[1], ARGV[1]) == 0 " +
+                    "if added then redis.call('sadd', KEYS[1], ARGV[1]) end " +
+                    "redis.call('xadd', KEYS[2], '*', 'operation', added and 'LIKE' or 'UNLIKE', unpack(ARGV, 2)) " +
+                    "return added and 1 or 0",
+            Long.class);
+    private static final RedisScript<Long> TOGGLE_BIT_SCRIPT = new DefaultRedisScript<>(
+            "local bit = 1 - redis.call('getbit', KEYS[1], ARGV[1]) " +
+                    "redis.call('setbit', KEYS[1], ARGV[1], bit) " +
+                    "redis.call('xadd', KEYS[2], '*', 'operation', bit == 1 and 'LIKE' or 'UNLIKE', unpack(ARGV, 2)) " +
+                    "return bit",
+            Long.class);
+    // 다른 서버가 같은 키를 다시 잡았을 수 있으므로 값이 같을 때만 지운다
+    private static final RedisScript<Long> DELETE_IF_VALUE_EQUALS_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) end " +
+                    "return 0",
+            Long.class);
+    // 옮기는 중에는 두 방식의 키에 같은 결과를 써야 하므로, 현재 방식으로 뒤집은 결과를 다른 방식의 키에 그대로 쓴다
+    private static final RedisScript<Long> TOGGLE_WITH_MIRROR_SCRIPT = new DefaultRedisScript<>(
+            "local function write(encoding, key, member, liked) " +
+                    "if encoding == 'BITMAP' then redis.call('setbit', key, member, liked and 1 or 0) " +
+                    "elseif liked then redis.call('sadd', key, member) " +
+                    "else redis.call('srem', key, member) end end " +
+                    "local liked " +
+                    "if ARGV[1] == 'BITMAP' then liked = redis.call('getbit', KEYS[1], ARGV[2]) == 0 " +
+                    "else liked = redis.call('sismember', KEYS[1], ARGV[2]) == 0 end " +
+                    "write(ARGV[1], KEYS[1], ARGV[2], liked) " +
+                    "write(ARGV[3], KEYS[2], ARGV[4], liked) " +
+                    "redis.call('xadd', KEYS[3], '*', 'operation', liked and 'LIKE' or 'UNLIKE', unpack(ARGV, 5)) " +
+                    "return liked and 1 or 0",
+            Long.class);
+    // 좋아요 저널의 afterId 이후 기록을 순서대로 다시 적용한다. 토글이 아니라 기록된 결과를 쓰므로 여러 번 적용해도 같다
+    // ARGV 는 afterId, 대상, 그리고 (키 접두사, 저장 방식) 쌍이다
+    private static final RedisScript<Long> REPLAY_STREAM_SCRIPT = new DefaultRedisScript<>(
+            "local entries = redis.call('xrange', KEYS[1], '(' .. ARGV[1], '+') " +
+                    "local count = 0 " +
+                    "for _, entry in ipairs(entries) do " +
+                    "local fields = {} " +
+                    "for i = 1, #entry[2], 2 do fields[entry[2][i]] = entry[2][i + 1] end " +
+                    "if fields['target'] == ARGV[2] then " +
+                    "count = count + 1 " +
+                    "for i = 3, #ARGV, 2 do " +
+                    "local key = ARGV[i] .. fields['targetId'] " +
+                    "local member = fields['memberId'] " +
+                    "local liked = fields['operation'] == 'LIKE' " +
+                    "if fields['operation'] == 'CLEAR' then redis.call('del', key) " +
+                    "elseif ARGV[i + 1] == 'BITMAP' then redis.call('setbit', key, member, liked and 1 or 0) " +
+                    "else " +
+                    "if ARGV[i + 1] == 'SET' then member = '\"' .. member .. '\"' end " +
+                    "if liked then redis.call('sadd', key, member) else redis.call('srem', key, member) end " +
+                    "end end end end " +
+                    "return count",
+            Long.class);
+    // 마지막 키는 스트림이고, 그 앞의 키를 모두 지운다
+    private static final RedisScript<Long> DELETE_KEYS_AND_APPEND_SCRIPT = new DefaultRedisScript<>(
+            "for i = 1, #KEYS - 1 do redis.call('del', KEYS[i]) end " +
+                    "redis.call('xadd', KEYS[#KEYS], '*', unpack(ARGV)) " +
+                    "return 1",
+            Long.class);
 
     public boolean isValueExistInSet(String key, String value) {
         return Boolean.TRUE.equals(redisTemplate.opsForSet().isMember(key, value));
@@ -25,7 +115,280 @@ public class RedisClient {
         return redisTemplate.opsForSet().size(key);
     }
 
-    public void removeKeyToSet(String key) {
-        redisTemplate.opsForSet().pop(key);
+    /**
+     * 여러 Set 의 크기와 value 포함 여부를 한 번의 파이프라인으로 조회한다.
+     * 결과는 key 순서대로 [size, isMember, size, isMember, ...] 형태로 반환된다.
+     */
+    public List<Object> getSizeAndValueExistenceOfSets(List<String> keys, String value) {
+        return redisTemplate.executePipelined(new SessionCallback<>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+                RedisOperations<String, String> redisOperations = (RedisOperations<String, String>) operations;
+                keys.forEach(key -> {
+                    redisOperations.opsForSet().size(key);
+                    redisOperations.opsForSet().isMember(key, value);
+                });
+                return null;
+            }
+        });
+    }
+
+    /**
+     * 숫자는 JSON 이 아닌 문자열로 저장해 Redis 가 작은 Set 을 intset 으로 인코딩하게 한다.
+     */
+    public boolean isNumberExistInSet(String key, long number) {
+        return Boolean.TRUE.equals(stringRedisTemplate.opsForSet().isMember(key, String.valueOf(number)));
+    }
+
+    /**
+     * 결과는 key 순서대로 [size, isMember, size, isMember, ...] 형태로 반환된다.
+     */
+    public List<Object> getSizeAndNumberExistenceOfSets(List<String> keys, long number) {
+        return stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            byte[] rawNumber = toBytes(String.valueOf(number));
+            keys.forEach(key -> {
+                connection.setCommands().sCard(toBytes(key));
+                connection.setCommands().sIsMember(toBytes(key), rawNumber);
+            });
+            return null;
+        });
+    }
+
+    public boolean getBit(String key, long offset) {
+        return Boolean.TRUE.equals(stringRedisTemplate.opsForValue().getBit(key, offset));
+    }
+
+    public Long getBitCount(String key) {
+        return stringRedisTemplate.execute((RedisCallback<Long>) connection ->
+                connection.stringCommands().bitCount(toBytes(key)));
+    }
+
+    /**
+     * 여러 비트맵의 켜진 비트 수와 offset 의 비트를 한 번의 파이프라인으로 조회한다.
+     * 결과는 key 순서대로 [bitCount, bit, bitCount, bit, ...] 형태로 반환된다.
+     */
+    public List<Object> getBitCountAndBitOfKeys(List<String> keys, long offset) {
+        return stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            keys.forEach(key -> {
+                connection.stringCommands().bitCount(toBytes(key));
+                connection.stringCommands().getBit(toBytes(key), offset);
+            });
+            return null;
+        });
+    }
+
+    public Set<String> getValuesOfSet(String key) {
+        Set<String> members = redisTemplate.opsForSet().members(key);
+        return members == null ? Set.of() : members;
+    }
+
+    public List<Long> getNumbersOfSet(String key) {
+        Set<String> members = stringRedisTemplate.opsForSet().members(key);
+        return members == null ? List.of() : members.stream().map(Long::valueOf).toList();
+    }
+
+    /**
+     * 비트맵을 한 번에 읽어 켜진 비트의 오프셋을 반환한다. Redis 는 각 바이트의 가장 높은 비트부터 오프셋을 센다.
+     */
+    public List<Long> getBitOffsets(String key) {
+        byte[] bytes = stringRedisTemplate.execute((RedisCallback<byte[]>) connection ->
+                connection.stringCommands().get(toBytes(key)));
+        List<Long> offsets = new ArrayList<>();
+        if (bytes == null) {
+            return offsets;
+        }
+        for (int i = 0; i < bytes.length; i++) {
+            for (int bit = 0; bit < Byte.SIZE; bit++) {
+                if ((bytes[i] & (0x80 >>> bit)) != 0) {
+                    offsets.add((long) i * Byte.SIZE + bit);
+                }
+            }
+        }
+        return offsets;
+    }
+
+    /**
+     * Set 의 좋아요를 targetEncoding 방식의 대상 키로 복사한다. 대상 키는 지우고 다시 만들며, 원래 키는 그대로 둔다.
+     * Set 이 없으면 대상 키만 지워진다. 복사한 멤버 수를 반환한다.
+     */
+    public Long copySet(String setKey, String targetKey, LikeEncoding targetEncoding) {
+        return stringRedisTemplate.execute(COPY_SET_SCRIPT, List.of(setKey, targetKey), targetEncoding.name());
+    }
+
+    /**
+     * KEYS 로 Redis 를 멈추지 않도록 SCAN 으로 나눠서 순회한다.
+     */
+    public void scanKeys(String pattern, Consumer<String> consumer) {
+        try (Cursor<String> cursor = stringRedisTemplate.scan(ScanOptions.scanOptions()
+                .match(pattern)
+                .count(1000)
+                .build())) {
+            cursor.forEachRemaining(consumer);
+        }
+    }
+
+    /**
+     * Set 에 value 가 있으면 빼고 없으면 넣은 뒤, fields 에 operation 을 더해 streamKey 에 기록한다.
+     * 넣었으면 true 를 반환한다.
+     */
+    public boolean toggleValueInSet(String key, String value, String streamKey, List<String> fields) {
+        return toggle(TOGGLE_SET_MEMBER_SCRIPT, key, serializeValue(value), streamKey, fields);
+    }
+
+    public boolean toggleNumberInSet(String key, long number, String streamKey, List<String> fields) {
+        return toggle(TOGGLE_SET_MEMBER_SCRIPT, key, String.valueOf(number), streamKey, fields);
+    }
+
+    public boolean toggleBit(String key, long offset, String streamKey, List<String> fields) {
+        return toggle(TOGGLE_BIT_SCRIPT, key, String.valueOf(offset), streamKey, fields);
+    }
+
+    /**
+     * key 의 좋아요를 뒤집고 mirrorKey 에도 같은 결과를 쓴 뒤 streamKey 에 기록한다. 넣었으면 true 를 반환한다.
+     */
+    public boolean toggleWithMirror(String key, LikeEncoding encoding, String mirrorKey, LikeEncoding mirrorEncoding,
+                                    long memberId, String streamKey, List<String> fields) {
+        List<String> args = new ArrayList<>(fields.size() + 4);
+        args.add(encoding.name());
+        args.add(toMember(encoding, memberId));
+        args.add(mirrorEncoding.name());
+        args.add(toMember(mirrorEncoding, memberId));
+        args.addAll(fields);
+        return Long.valueOf(1).equals(stringRedisTemplate.execute(TOGGLE_WITH_MIRROR_SCRIPT,
+                List.of(key, mirrorKey, streamKey), args.toArray()));
+    }
+
+    public void deleteKeysAndAppendToStream(List<String> keys, String streamKey, List<String> fields) {
+        List<String> scriptKeys = new ArrayList<>(keys);
+        scriptKeys.add(streamKey);
+        stringRedisTemplate.execute(DELETE_KEYS_AND_APPEND_SCRIPT, scriptKeys, fields.toArray());
+    }
+
+    /**
+     * 스트림의 가장 오래된 레코드부터 count 개를 읽는다.
+     */
+    public List<MapRecord<String, Object, Object>> readStream(String streamKey, int count) {
+        List<MapRecord<String, Object, Object>> records = stringRedisTemplate.opsForStream()
+                .range(streamKey, Range.unbounded(), Limit.limit().count(count));
+        return records == null ? List.of() : records;
+    }
+
+    /**
+     * 스트림에서 afterRecordId 이후에 target 에 기록된 좋아요 변경을 keyPrefixesByEncoding 의 키에 순서대로 다시 적용한다.
+     * 스크립트 하나로 적용하므로 그 사이의 다른 변경과 섞이지 않는다. 적용한 기록 수를 반환한다.
+     */
+    public Long replayStream(String streamKey, String afterRecordId, String target,
+                             Map<LikeEncoding, String> keyPrefixesByEncoding) {
+        List<String> args = new ArrayList<>(List.of(afterRecordId, target));
+        keyPrefixesByEncoding.forEach((encoding, keyPrefix) -> {
+            args.add(keyPrefix);
+            args.add(encoding.name());
+        });
+        return stringRedisTemplate.execute(REPLAY_STREAM_SCRIPT, List.of(streamKey), args.toArray());
+    }
+
+    public void deleteFromStream(String streamKey, List<RecordId> recordIds) {
+        stringRedisTemplate.opsForStream().delete(streamKey, recordIds.toArray(RecordId[]::new));
+    }
+
+    /**
+     * 한 번의 파이프라인으로 Set 들에 value 들을 넣는다. keysToReset 은 넣기 전에 지운다.
+     */
+    public void addValuesToSets(Map<String, List<String>> valuesByKey, Collection<String> keysToReset) {
+        redisTemplate.executePipelined(new SessionCallback<>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+                RedisOperations<String, String> redisOperations = (RedisOperations<String, String>) operations;
+                keysToReset.forEach(redisOperations::delete);
+                valuesByKey.forEach((key, values) ->
+                        redisOperations.opsForSet().add(key, values.toArray(String[]::new)));
+                return null;
+            }
+        });
+    }
+
+    public void addNumbersToSets(Map<String, List<Long>> numbersByKey, Collection<String> keysToReset) {
+        stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            keysToReset.forEach(key -> connection.keyCommands().del(toBytes(key)));
+            numbersByKey.forEach((key, numbers) -> connection.setCommands().sAdd(toBytes(key),
+                    numbers.stream().map(number -> toBytes(String.valueOf(number))).toArray(byte[][]::new)));
+            return null;
+        });
+    }
+
+    public void setBitsOfKeys(Map<String, List<Long>> offsetsByKey, Collection<String> keysToReset) {
+        stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            keysToReset.forEach(key -> connection.keyCommands().del(toBytes(key)));
+            offsetsByKey.forEach((key, offsets) ->
+                    offsets.forEach(offset -> connection.stringCommands().setBit(toBytes(key), offset, true)));
+            return null;
+        });
+    }
+
+    public boolean setIfAbsent(String key, String value, Duration timeToLive) {
+        return Boolean.TRUE.equals(stringRedisTemplate.opsForValue().setIfAbsent(key, value, timeToLive));
+    }
+
+    public boolean existsKey(String key) {
+        return Boolean.TRUE.equals(stringRedisTemplate.hasKey(key));
+    }
+
+    public String getValue(String key) {
+        return stringRedisTemplate.opsForValue().get(key);
+    }
+
+    public boolean deleteKeyIfValueEquals(String key, String value) {
+        return Long.valueOf(1).equals(
+                stringRedisTemplate.execute(DELETE_IF_VALUE_EQUALS_SCRIPT, List.of(key), value));
+    }
+
+    public Long getCount(String key) {
+        String value = stringRedisTemplate.opsForValue().get(key);
+        return value == null ? null : Long.valueOf(value);
+    }
+
+    public void setCount(String key, long count, Duration timeToLive) {
+        stringRedisTemplate.opsForValue().set(key, String.valueOf(count), timeToLive);
+    }
+
+    /**
+     * 키가 있을 때만 카운터를 delta 만큼 변경한다. 음수가 되면 키를 지워 다시 계산하게 한다.
+     */
+    public void incrementCountIfExists(String key, long delta) {
+        stringRedisTemplate.execute(INCREMENT_IF_EXISTS_SCRIPT, List.of(key), String.valueOf(delta));
+    }
+
+    public void deleteKey(String key) {
+        stringRedisTemplate.delete(key);
+    }
+
+    public void publish(String channel, String message) {
+        stringRedisTemplate.convertAndSend(channel, message);
+    }
+
+    private boolean toggle(RedisScript<Long> script, String key, String member, String streamKey, List<String> fields) {
+        List<String> args = new ArrayList<>(fields.size() + 1);
+        args.add(member);
+        args.addAll(fields);
+        return Long.valueOf(1).equals(stringRedisTemplate.execute(script, List.of(key, streamKey), args.toArray()));
+    }
+
+    /**
+     * 스크립트는 문자열로 인자를 넘기므로, redisTemplate 으로 저장한 Set 과 같도록 JSON 으로 직렬화한다.
+     */
+    @SuppressWarnings("unchecked")
+    private String serializeValue(String value) {
+        byte[] bytes = ((RedisSerializer<Object>) redisTemplate.getValueSerializer()).serialize(value);
+        return bytes == null ? value : new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private String toMember(LikeEncoding encoding, long memberId) {
+        return encoding == LikeEncoding.SET ? serializeValue(String.valueOf(memberId)) : String.valueOf(memberId);
+    }
+
+    private byte[] toBytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
     }
 }
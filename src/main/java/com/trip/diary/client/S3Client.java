@@ -2,7 +2,9 @@ package com.trip.diary.client;
 
 import com.amazonaws.services.s3.AmazonS3;
 import com.amazonaws.services.s3.model.DeleteObjectRequest;
+import com.amazonaws.services.s3.model.ObjectMetadata;
 import com.amazonaws.services.s3.model.PutObjectRequest;
+import com.amazonaws.services.s3.model.S3Object;
 import com.trip.diary.exception.ErrorCode;
 import com.trip.diary.exception.FileException;
 import com.trip.diary.util.FilePathUtil;
@@ -12,8 +14,14 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.File;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
 
 @Component
 @Slf4j
@@ -23,19 +31,67 @@ public class S3Client implements FileUploadClient {
     @Value("${cloud.aws.s3.bucket}")
     private String bucket;
     private final AmazonS3 amazonS3;
+    private static final String HASH_ALGORITHM = "SHA-256";
 
+    /**
+     * 파일 내용의 해시로 경로를 만든다. 같은 내용의 파일은 같은 경로가 된다.
+     */
     @Override
-    public String upload(MultipartFile multipartFile, String domain) {
-        String fileName = FilePathUtil.createFileName(multipartFile.getOriginalFilename());
-        String filePath = FilePathUtil.createFilePath(domain);
-        try {
-            File file = File.createTempFile("image", fileName);
-            multipartFile.transferTo(file);
-            amazonS3.putObject(new PutObjectRequest(bucket, filePath + fileName, file));
+    public String createFilePath(MultipartFile multipartFile, String domain) {
+        return FilePathUtil.createContentAddressedFilePath(domain) + FilePathUtil.createContentAddressedFileName(
+                getContentHash(multipartFile), multipartFile.getOriginalFilename());
+    }
+
+    /**
+     * 같은 내용의 파일이 이미 있으면 업로드하지 않는다.
+     */
+    @Override
+    public void uploadIfAbsent(MultipartFile multipartFile, String filePath) {
+        if (amazonS3.doesObjectExist(bucket, filePath)) {
+            return;
+        }
+
+        ObjectMetadata metadata = new ObjectMetadata();
+        metadata.setContentLength(multipartFile.getSize());
+        metadata.setContentType(multipartFile.getContentType());
+
+        try (InputStream inputStream = multipartFile.getInputStream()) {
+            amazonS3.putObject(new PutObjectRequest(bucket, filePath, inputStream, metadata));
         } catch (IOException e) {
             throw new FileException(ErrorCode.UPLOAD_FAILED);
         }
-        return filePath + fileName;
+    }
+
+    @Override
+    public void upload(byte[] bytes, String contentType, String filePath) {
+        ObjectMetadata metadata = new ObjectMetadata();
+        metadata.setContentLength(bytes.length);
+        metadata.setContentType(contentType);
+        amazonS3.putObject(new PutObjectRequest(bucket, filePath, new ByteArrayInputStream(bytes), metadata));
+    }
+
+    @Override
+    public byte[] download(String filePath) {
+        try (S3Object s3Object = amazonS3.getObject(bucket, filePath)) {
+            return s3Object.getObjectContent().readAllBytes();
+        } catch (IOException e) {
+            throw new FileException(ErrorCode.DOWNLOAD_FAILED);
+        }
+    }
+
+    @Override
+    public boolean exists(String filePath) {
+        return amazonS3.doesObjectExist(bucket, filePath);
+    }
+
+    private String getContentHash(MultipartFile multipartFile) {
+        try (DigestInputStream digestInputStream = new DigestInputStream(
+                multipartFile.getInputStream(), MessageDigest.getInstance(HASH_ALGORITHM))) {
+            digestInputStream.transferTo(OutputStream.nullOutputStream());
+            return HexFormat.of().formatHex(digestInputStream.getMessageDigest().digest());
+        } catch (IOException | NoSuchAlgorithmException e) {
+            throw new FileException(ErrorCode.UPLOAD_FAILED);
+        }
     }
 
     @Override
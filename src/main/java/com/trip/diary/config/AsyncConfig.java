@@ -1,16 +1,21 @@
 package com.trip.diary.config;
 
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
 
+@Slf4j
 @EnableAsync
 @Configuration
 public class AsyncConfig {
     @Bean
+    @Primary
     public Executor executor(){
         int processorSize = Runtime.getRuntime().availableProcessors();
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
@@ -20,4 +25,46 @@ public class AsyncConfig {
         executor.initialize();
         return executor;
     }
+
+    @Bean
+    public Executor imageUploadExecutor() {
+        int processorSize = Runtime.getRuntime().availableProcessors();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("image-upload-");
+        executor.setCorePoolSize(processorSize * 2);
+        executor.setMaxPoolSize(processorSize * 4);
+        executor.setQueueCapacity(processorSize * 20);
+        // 큐가 가득 차면 요청 스레드에서 직접 업로드해 순차 업로드로 degrade 된다
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    @Bean
+    public Executor imageResizeExecutor() {
+        int processorSize = Runtime.getRuntime().availableProcessors();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("image-resize-");
+        executor.setCorePoolSize(Math.max(1, processorSize / 2));
+        executor.setMaxPoolSize(processorSize);
+        executor.setQueueCapacity(processorSize * 50);
+        // 커밋 뒤에 요청하므로 거절 예외가 커밋한 요청을 실패시키지 않도록 버린다. 리사이즈는 다시 만들 수 있다
+        executor.setRejectedExecutionHandler((task, pool) -> log.warn("image resize rejected : queue is full"));
+        executor.initialize();
+        return executor;
+    }
+
+    @Bean
+    public Executor searchReindexExecutor() {
+        int processorSize = Runtime.getRuntime().availableProcessors();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("search-reindex-");
+        executor.setCorePoolSize(processorSize);
+        executor.setMaxPoolSize(processorSize);
+        executor.setQueueCapacity(processorSize);
+        // 큐가 가득 차면 커서를 읽는 스레드가 직접 적재해 읽는 속도를 늦춘다
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        return executor;
+    }
 }
@@ -1,12 +1,14 @@
 package com.trip.diary.config;
 
-import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
@@ -16,9 +18,15 @@ import java.time.Duration;
 @Configuration
 @EnableCaching
 public class CacheConfig {
+    private static final String CACHE_INVALIDATION_CHANNEL = "CACHE_INVALIDATION";
+    private static final Duration LOCAL_CACHE_TIME_TO_LIVE = Duration.ofSeconds(30);
+    private static final long LOCAL_CACHE_MAXIMUM_SIZE = 10_000;
+
     @Bean
-    public CacheManager cacheManager(RedisConnectionFactory redisConnectionFactory) {
-        return RedisCacheManager.RedisCacheManagerBuilder
+    public TwoLevelCacheManager cacheManager(RedisConnectionFactory redisConnectionFactory,
+                                             StringRedisTemplate stringRedisTemplate,
+                                             RedisMessageListenerContainer redisMessageListenerContainer) {
+        RedisCacheManager redisCacheManager = RedisCacheManager.RedisCacheManagerBuilder
                 .fromConnectionFactory(redisConnectionFactory)
                 .cacheDefaults(
                         RedisCacheConfiguration
@@ -33,5 +41,11 @@ public class CacheConfig {
                                                 SerializationPair
                                                 .fromSerializer(new GenericJackson2JsonRedisSerializer())))
                 .build();
+        redisCacheManager.initializeCaches();
+
+        TwoLevelCacheManager cacheManager = new TwoLevelCacheManager(redisCacheManager, stringRedisTemplate,
+                CACHE_INVALIDATION_CHANNEL, LOCAL_CACHE_TIME_TO_LIVE, LOCAL_CACHE_MAXIMUM_SIZE);
+        redisMessageListenerContainer.addMessageListener(cacheManager, new ChannelTopic(CACHE_INVALIDATION_CHANNEL));
+        return cacheManager;
     }
 }
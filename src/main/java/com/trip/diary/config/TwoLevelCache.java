@@ -0,0 +1,113 @@
+package com.trip.diary.config;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.function.BiConsumer;
+
+/**
+ * 프로세스 내 로컬 캐시(L1)를 Redis 캐시(L2) 앞에 두는 캐시.
+ * evict 시에는 다른 노드의 L1 도 지울 수 있도록 무효화 메시지를 발행한다.
+ */
+public class TwoLevelCache implements Cache {
+    private final String name;
+    private final com.github.benmanes.caffeine.cache.Cache<String, Object> localCache;
+    private final Cache redisCache;
+    private final BiConsumer<String, String> evictionPublisher;
+
+    public TwoLevelCache(String name,
+                         com.github.benmanes.caffeine.cache.Cache<String, Object> localCache,
+                         Cache redisCache,
+                         BiConsumer<String, String> evictionPublisher) {
+        this.name = name;
+        this.localCache = localCache;
+        this.redisCache = redisCache;
+        this.evictionPublisher = evictionPublisher;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return redisCache.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        Object localValue = localCache.getIfPresent(toLocalKey(key));
+        if (Objects.nonNull(localValue)) {
+            return new SimpleValueWrapper(localValue);
+        }
+
+        ValueWrapper valueWrapper = redisCache.get(key);
+        if (Objects.nonNull(valueWrapper) && Objects.nonNull(valueWrapper.get())) {
+            localCache.put(toLocalKey(key), valueWrapper.get());
+        }
+        return valueWrapper;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper valueWrapper = get(key);
+        Object value = Objects.isNull(valueWrapper) ? null : valueWrapper.get();
+        if (Objects.nonNull(value) && Objects.nonNull(type) && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        Object localValue = localCache.getIfPresent(toLocalKey(key));
+        if (Objects.nonNull(localValue)) {
+            return (T) localValue;
+        }
+
+        T value = redisCache.get(key, valueLoader);
+        if (Objects.nonNull(value)) {
+            localCache.put(toLocalKey(key), value);
+        }
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        redisCache.put(key, value);
+        if (Objects.nonNull(value)) {
+            localCache.put(toLocalKey(key), value);
+        }
+    }
+
+    @Override
+    public void evict(Object key) {
+        redisCache.evict(key);
+        evictLocal(toLocalKey(key));
+        evictionPublisher.accept(name, toLocalKey(key));
+    }
+
+    @Override
+    public void clear() {
+        redisCache.clear();
+        clearLocal();
+        evictionPublisher.accept(name, "");
+    }
+
+    public void evictLocal(String localKey) {
+        localCache.invalidate(localKey);
+    }
+
+    public void clearLocal() {
+        localCache.invalidateAll();
+    }
+
+    private String toLocalKey(Object key) {
+        return String.valueOf(key);
+    }
+}
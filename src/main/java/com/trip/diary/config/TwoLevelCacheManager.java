@@ -0,0 +1,85 @@
+package com.trip.diary.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Redis 캐시 매니저가 만든 캐시마다 로컬 캐시를 붙이고,
+ * 다른 노드가 발행한 무효화 메시지를 받아 로컬 캐시를 지운다.
+ */
+public class TwoLevelCacheManager implements CacheManager, MessageListener {
+    private static final String KEY_DELIMITER = "::";
+    private final CacheManager redisCacheManager;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final String invalidationChannel;
+    private final Duration localTimeToLive;
+    private final long localMaximumSize;
+    private final ConcurrentMap<String, TwoLevelCache> caches = new ConcurrentHashMap<>();
+
+    public TwoLevelCacheManager(CacheManager redisCacheManager, StringRedisTemplate stringRedisTemplate,
+                                String invalidationChannel, Duration localTimeToLive, long localMaximumSize) {
+        this.redisCacheManager = redisCacheManager;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.invalidationChannel = invalidationChannel;
+        this.localTimeToLive = localTimeToLive;
+        this.localMaximumSize = localMaximumSize;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        return caches.computeIfAbsent(name, cacheName -> {
+            Cache redisCache = redisCacheManager.getCache(cacheName);
+            if (Objects.isNull(redisCache)) {
+                return null;
+            }
+            return new TwoLevelCache(cacheName,
+                    Caffeine.newBuilder()
+                            .expireAfterWrite(localTimeToLive)
+                            .maximumSize(localMaximumSize)
+                            .build(),
+                    redisCache,
+                    this::publishEviction);
+        });
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return redisCacheManager.getCacheNames();
+    }
+
+    private void publishEviction(String cacheName, String key) {
+        stringRedisTemplate.convertAndSend(invalidationChannel, cacheName + KEY_DELIMITER + key);
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int delimiterIndex = body.indexOf(KEY_DELIMITER);
+        if (delimiterIndex < 0) {
+            return;
+        }
+
+        TwoLevelCache cache = caches.get(body.substring(0, delimiterIndex));
+        if (Objects.isNull(cache)) {
+            return;
+        }
+
+        String key = body.substring(delimiterIndex + KEY_DELIMITER.length());
+        if (key.isEmpty()) {
+            cache.clearLocal();
+        } else {
+            cache.evictLocal(key);
+        }
+    }
+}
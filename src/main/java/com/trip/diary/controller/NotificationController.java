@@ -1,16 +1,19 @@
 package com.trip.diary.controller;
 
+import com.trip.diary.dto.CheckNotificationsForm;
 import com.trip.diary.dto.DeleteNotificationsForm;
 import com.trip.diary.dto.NotificationDto;
 import com.trip.diary.security.MemberPrincipal;
 import com.trip.diary.service.NotificationService;
+import com.trip.diary.service.NotificationStreamService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
-
-import java.util.List;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @RestController
 @Slf4j
@@ -18,10 +21,22 @@ import java.util.List;
 @RequestMapping("/notifications")
 public class NotificationController {
     private final NotificationService notificationService;
+    private final NotificationStreamService notificationStreamService;
 
     @GetMapping
-    private ResponseEntity<List<NotificationDto>> readNotifications(@AuthenticationPrincipal MemberPrincipal principal) {
-        return ResponseEntity.ok(notificationService.readNotifications(principal.getMember()));
+    private ResponseEntity<Slice<NotificationDto>> readNotifications(@RequestParam(required = false) Long cursorId,
+                                                                     @AuthenticationPrincipal MemberPrincipal principal) {
+        return ResponseEntity.ok(notificationService.readNotifications(cursorId, principal.getMember()));
+    }
+
+    @GetMapping(value = "/subscribe", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    private SseEmitter subscribe(@AuthenticationPrincipal MemberPrincipal principal) {
+        return notificationStreamService.subscribe(principal.getMember().getId());
+    }
+
+    @GetMapping("/unread-count")
+    private ResponseEntity<Long> countUnreadNotifications(@AuthenticationPrincipal MemberPrincipal principal) {
+        return ResponseEntity.ok(notificationService.countUnreadNotifications(principal.getMember()));
     }
 
     @PutMapping("/{notificationId}")
@@ -32,9 +47,14 @@ public class NotificationController {
     }
 
     @PutMapping
-    private ResponseEntity<Void> checkUnreadNotifications(@AuthenticationPrincipal MemberPrincipal principal) {
-        notificationService.checkUnreadNotifications(principal.getMember());
-        return ResponseEntity.ok().build();
+    private ResponseEntity<Integer> checkUnreadNotifications(@AuthenticationPrincipal MemberPrincipal principal) {
+        return ResponseEntity.ok(notificationService.checkUnreadNotifications(principal.getMember()));
+    }
+
+    @PutMapping("/selected")
+    private ResponseEntity<Integer> checkNotifications(@RequestBody CheckNotificationsForm form,
+                                                       @AuthenticationPrincipal MemberPrincipal principal) {
+        return ResponseEntity.ok(notificationService.checkNotifications(form.getNotificationIds(), principal.getMember()));
     }
 
     @DeleteMapping("/{notificationId}")
@@ -45,9 +65,8 @@ public class NotificationController {
     }
 
     @DeleteMapping
-    private ResponseEntity<Void> deleteNotifications(@RequestBody DeleteNotificationsForm form,
-                                                     @AuthenticationPrincipal MemberPrincipal principal) {
-        notificationService.deleteNotifications(form.getNotificationIds(), principal.getMember());
-        return ResponseEntity.ok().build();
+    private ResponseEntity<Integer> deleteNotifications(@RequestBody DeleteNotificationsForm form,
+                                                        @AuthenticationPrincipal MemberPrincipal principal) {
+        return ResponseEntity.ok(notificationService.deleteNotifications(form.getNotificationIds(), principal.getMember()));
     }
 }
@@ -0,0 +1,14 @@
+package com.trip.diary.domain.constants;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum ImageVariant {
+    SMALL(320, "_small"),
+    MEDIUM(1080, "_medium");
+
+    private final int maxWidth;
+    private final String suffix;
+}
@@ -0,0 +1,13 @@
+package com.trip.diary.domain.constants;
+
+/**
+ * 좋아요를 Redis 에 저장하는 방식.
+ */
+public enum LikeEncoding {
+    // 멤버 아이디를 JSON 문자열로 저장하는 기존 방식. 좋아요마다 수십 바이트를 쓴다
+    SET,
+    // 멤버 아이디를 숫자 문자열로 저장해 작은 Set 은 intset 으로 인코딩되어 좋아요마다 몇 바이트만 쓴다
+    INTEGER_SET,
+    // 멤버 아이디를 오프셋으로 쓰는 비트맵. 좋아요 수와 관계없이 (가장 큰 멤버 아이디 / 8) 바이트를 쓴다
+    BITMAP
+}
@@ -0,0 +1,8 @@
+package com.trip.diary.domain.constants;
+
+/**
+ * 좋아요 저널에 기록되는 변경. CLEAR 는 게시글/댓글이 지워져 모든 좋아요를 지우는 경우다.
+ */
+public enum LikeOperation {
+    LIKE, UNLIKE, CLEAR
+}
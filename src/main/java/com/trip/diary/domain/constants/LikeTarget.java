@@ -0,0 +1,5 @@
+package com.trip.diary.domain.constants;
+
+public enum LikeTarget {
+    POST, COMMENT
+}
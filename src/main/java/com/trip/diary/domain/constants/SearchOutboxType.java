@@ -0,0 +1,15 @@
+package com.trip.diary.domain.constants;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public enum SearchOutboxType {
+    TRIP_SAVE(true), TRIP_UPDATE(true), LOCATION_ADD(true), LOCATION_REMOVE(true), BOOKMARK_UPDATE(true),
+    MEMBER_SAVE(false), MEMBER_TRIP_ADD(false), MEMBER_TRIP_REMOVE(false),
+    // 증분 동기화가 참여한 여행 기록장까지 MySQL 에서 다시 읽어 멤버 도큐먼트 전체를 바로잡을 때 쓴다
+    MEMBER_RESYNC(false);
+
+    private final boolean tripDocument;
+}
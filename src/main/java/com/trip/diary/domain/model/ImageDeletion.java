@@ -0,0 +1,27 @@
+package com.trip.diary.domain.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 삭제 예약된 이미지. 같은 내용의 이미지를 업로드하면 deleteAfter 가 미뤄진다.
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+public class ImageDeletion {
+    @Id
+    private String imagePath;
+
+    @Column(nullable = false)
+    private LocalDateTime deleteAfter;
+}
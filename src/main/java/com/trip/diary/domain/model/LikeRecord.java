@@ -0,0 +1,35 @@
+package com.trip.diary.domain.model;
+
+import com.trip.diary.domain.constants.LikeTarget;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.experimental.SuperBuilder;
+
+/**
+ * Redis 의 좋아요를 잃어도 다시 만들 수 있도록 저널을 모아 저장한 좋아요.
+ * 유니크 키 순서대로 읽으면 같은 대상의 좋아요가 연속해서 나온다.
+ */
+@Getter
+@SuperBuilder
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_like_record_target_member",
+        columnNames = {"target", "targetId", "memberId"}))
+public class LikeRecord extends BaseEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private LikeTarget target;
+
+    @Column(nullable = false)
+    private Long targetId;
+
+    @Column(nullable = false)
+    private Long memberId;
+}
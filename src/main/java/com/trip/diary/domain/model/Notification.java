@@ -2,18 +2,29 @@ package com.trip.diary.domain.model;
 
 import com.trip.diary.domain.constants.NotificationType;
 import jakarta.persistence.*;
+import com.trip.diary.domain.vo.NotificationMessageVo;
 import lombok.AllArgsConstructor;
+import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.experimental.SuperBuilder;
 
 import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Objects;
+import java.util.Set;
 
 @Getter
 @SuperBuilder
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_notification_member_id_id", columnList = "member_id, id"),
+        @Index(name = "idx_notification_group_key", columnList = "groupKey"),
+        @Index(name = "idx_notification_created_at", columnList = "createdAt")
+})
 public class Notification extends BaseEntity {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -28,10 +39,50 @@ public class Notification extends BaseEntity {
 
     private LocalDateTime readAt;
 
+    // 같은 게시물/댓글에 대한 알림을 하나로 합치기 위한 키
+    private String groupKey;
+
+    // 합쳐진 알림을 보낸 회원 수. 같은 회원이 여러 번 보내도 한 명으로 센다
+    @Builder.Default
+    private int groupCount = 1;
+
+    // 합쳐진 알림을 보낸 회원 아이디를 쉼표로 이어 둔다
+    @Column(columnDefinition = "text")
+    private String senderIds;
+
+    @Transient
+    private NotificationMessageVo messageVo;
+
+    // createdAt 기준 파티션 테이블은 외래 키를 가질 수 없다 (resources/sql/notification-partition.sql)
     @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
     private Member member;
 
+    public void setId(Long id) {
+        this.id = id;
+    }
+
     public void setReadAt() {
         this.readAt = LocalDateTime.now();
     }
+
+    public Notification mergeGroup(Notification previous) {
+        Set<String> mergedSenderIds = splitSenderIds(previous.getSenderIds());
+        mergedSenderIds.addAll(splitSenderIds(senderIds));
+        return setSenderIds(String.join(",", mergedSenderIds));
+    }
+
+    public Notification setSenderIds(String senderIds) {
+        this.senderIds = senderIds;
+        this.groupCount = Math.max(1, splitSenderIds(senderIds).size());
+        this.message = messageVo.render(groupCount);
+        return this;
+    }
+
+    private static Set<String> splitSenderIds(String senderIds) {
+        if (Objects.isNull(senderIds) || senderIds.isEmpty()) {
+            return new LinkedHashSet<>();
+        }
+        return new LinkedHashSet<>(Arrays.asList(senderIds.split(",")));
+    }
 }
@@ -1,16 +1,20 @@
 package com.trip.diary.domain.model;
 
+import com.trip.diary.domain.constants.ImageVariant;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.experimental.SuperBuilder;
 
+import java.util.Objects;
+
 @Getter
 @SuperBuilder
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
+@Table(indexes = @Index(name = "idx_post_image_image_path", columnList = "imagePath"))
 public class PostImage extends BaseEntity {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -19,10 +23,26 @@ public class PostImage extends BaseEntity {
     @Column(nullable = false)
     private String imagePath;
 
+    private String smallImagePath;
+
+    private String mediumImagePath;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "post_id")
     private Post post;
 
+    public String getVariantImagePath(ImageVariant variant) {
+        String variantPath = switch (variant) {
+            case SMALL -> smallImagePath;
+            case MEDIUM -> mediumImagePath;
+        };
+        return Objects.isNull(variantPath) ? imagePath : variantPath;
+    }
+
+    public boolean isResized() {
+        return Objects.nonNull(smallImagePath) && Objects.nonNull(mediumImagePath);
+    }
+
     public static PostImage of(String imagePath, Post post) {
         return PostImage.builder()
                 .post(post)
@@ -0,0 +1,73 @@
+package com.trip.diary.domain.model;
+
+import com.trip.diary.domain.constants.SearchOutboxType;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.experimental.SuperBuilder;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * 엘라스틱서치에 반영할 도큐먼트 변경. 도메인 변경과 같은 트랜잭션에서 저장된다.
+ */
+@Getter
+@SuperBuilder
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+public class SearchOutbox extends BaseEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private SearchOutboxType type;
+
+    @Column(nullable = false)
+    private Long documentId;
+
+    // 추가/삭제할 로케이션 이름 또는 여행 기록장 아이디
+    private String payload;
+
+    private int attempts;
+
+    private LocalDateTime nextAttemptAt;
+
+    // 릴레이가 가져가 엘라스틱서치에 보내는 중이면 이 시각까지 다른 릴레이가 가져가지 않는다
+    private LocalDateTime claimedUntil;
+
+    public static SearchOutbox of(SearchOutboxType type, Long documentId) {
+        return of(type, documentId, null);
+    }
+
+    public static SearchOutbox of(SearchOutboxType type, Long documentId, Object payload) {
+        return SearchOutbox.builder()
+                .type(type)
+                .documentId(documentId)
+                .payload(payload == null ? null : String.valueOf(payload))
+                .nextAttemptAt(LocalDateTime.now())
+                .build();
+    }
+
+    public Long getPayloadAsLong() {
+        return Long.valueOf(payload);
+    }
+
+    public void retryAfter(Duration backoff) {
+        this.attempts++;
+        this.nextAttemptAt = LocalDateTime.now().plus(backoff);
+        this.claimedUntil = null;
+    }
+
+    public void claim(LocalDateTime claimedUntil) {
+        this.claimedUntil = claimedUntil;
+    }
+
+    public boolean isClaimedAt(LocalDateTime now) {
+        return claimedUntil != null && claimedUntil.isAfter(now);
+    }
+}
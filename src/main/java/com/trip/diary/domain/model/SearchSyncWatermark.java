@@ -0,0 +1,29 @@
+package com.trip.diary.domain.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 인덱스 별로 어느 시각에 바뀐 행까지 증분 동기화했는지 기록한다.
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+public class SearchSyncWatermark {
+    @Id
+    private String indexName;
+
+    private LocalDateTime syncedUntil;
+
+    public void setSyncedUntil(LocalDateTime syncedUntil) {
+        this.syncedUntil = syncedUntil;
+    }
+}
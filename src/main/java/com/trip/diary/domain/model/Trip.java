@@ -6,6 +6,7 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.BatchSize;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -15,6 +16,7 @@ import java.util.List;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
+@Table(indexes = @Index(name = "idx_trip_updated_at", columnList = "updatedAt"))
 public class Trip extends BaseEntity {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -29,14 +31,19 @@ public class Trip extends BaseEntity {
 
     private boolean isPrivate;
 
+    private long countOfBookmark;
+
     @ManyToOne
     @JoinColumn(name = "leader_id")
     private Member leader;
 
+    // 목록을 TripDto 로 만들 때 트립마다 따로 읽지 않고 IN 쿼리로 묶어서 읽는다
     @OneToMany(mappedBy = "trip")
+    @BatchSize(size = 100)
     private List<Participant> participants;
 
     @OneToMany(mappedBy = "trip", fetch = FetchType.LAZY)
+    @BatchSize(size = 100)
     private List<Location> locations;
 
     public void update(UpdateTripForm form) {
@@ -5,16 +5,23 @@ import com.trip.diary.domain.model.Member;
 import com.trip.diary.domain.model.Trip;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.Optional;
+import java.util.Set;
 
 @Repository
 public interface BookmarkRepository extends JpaRepository<Bookmark, Long> {
     Optional<Bookmark> findByTripAndMember(Trip trip, Member member);
 
+    @EntityGraph(attributePaths = {"trip", "trip.leader"})
     Slice<Bookmark> findByMember(Member member, Pageable pageable);
 
-    boolean existsByTrip_IdAndMember(Long tripId, Member member);
+    @Query("select b.trip.id from Bookmark b where b.member = :member and b.trip.id in :tripIds")
+    Set<Long> findBookmarkedTripIds(@Param("member") Member member, @Param("tripIds") Collection<Long> tripIds);
 }
@@ -1,34 +1,42 @@
 package com.trip.diary.domain.repository;
 
 import com.trip.diary.client.RedisClient;
-import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
+import com.trip.diary.domain.constants.LikeEncoding;
+import com.trip.diary.domain.constants.LikeTarget;
+import com.trip.diary.domain.vo.LikeStatusVo;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.Map;
+
 @Repository
-@Slf4j
-@RequiredArgsConstructor
-public class CommentLikeRedisRepository {
-    private final RedisClient redisClient;
+public class CommentLikeRedisRepository extends LikeRedisRepository {
     private final static String COMMENT_LIKE_KEY = "COMMENT_LIKE";
 
-    public void save(Long commentId, Long userId) {
-        redisClient.addValueToSet(COMMENT_LIKE_KEY + commentId, String.valueOf(userId));
+    public CommentLikeRedisRepository(RedisClient redisClient,
+                                      @Value("${like.encoding:SET}") LikeEncoding encoding,
+                                      @Value("${like.mirror-encoding:#{null}}") LikeEncoding mirrorEncoding) {
+        super(redisClient, encoding, mirrorEncoding, LikeTarget.COMMENT, COMMENT_LIKE_KEY);
     }
 
-    public boolean existsByCommentIdAndUserId(Long commentId, Long userId) {
-        return redisClient.isValueExistInSet(COMMENT_LIKE_KEY + commentId, String.valueOf(userId));
+    public boolean toggle(Long commentId, Long userId) {
+        return toggleLike(commentId, userId);
     }
 
-    public void delete(Long commentId, Long userId) {
-        redisClient.removeValueToSet(COMMENT_LIKE_KEY + commentId, String.valueOf(userId));
+    public boolean existsByCommentIdAndUserId(Long commentId, Long userId) {
+        return existsLike(commentId, userId);
     }
 
     public Long countByCommentId(Long commentId) {
-        return redisClient.getSizeOfSet(COMMENT_LIKE_KEY + commentId);
+        return countLikes(commentId);
     }
 
     public void deleteAllByCommentId(Long commentId) {
-        redisClient.removeKeyToSet(COMMENT_LIKE_KEY + commentId);
+        deleteAllLikes(commentId);
+    }
+
+    public Map<Long, LikeStatusVo> findLikeStatusesByCommentIdsAndUserId(List<Long> commentIds, Long userId) {
+        return findLikeStatuses(commentIds, userId);
     }
 }
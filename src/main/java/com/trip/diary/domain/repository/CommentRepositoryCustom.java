@@ -0,0 +1,29 @@
+package com.trip.diary.domain.repository;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import com.trip.diary.domain.model.Comment;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+import static com.trip.diary.domain.model.QComment.comment;
+import static com.trip.diary.domain.model.QMember.member;
+
+@Repository
+@RequiredArgsConstructor
+public class CommentRepositoryCustom {
+    private final JPAQueryFactory jpaQueryFactory;
+
+    /**
+     * 게시물의 댓글과 대댓글을 작성자와 함께 한 번의 쿼리로 조회한다.
+     * 트리 구성은 parentComment 의 id 로 메모리에서 한다.
+     */
+    public List<Comment> findAllWithMemberByPostId(Long postId) {
+        return jpaQueryFactory.selectFrom(comment)
+                .join(comment.member, member).fetchJoin()
+                .where(comment.post.id.eq(postId))
+                .orderBy(comment.id.asc())
+                .fetch();
+    }
+}
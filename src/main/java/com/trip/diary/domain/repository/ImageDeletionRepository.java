@@ -0,0 +1,43 @@
+package com.trip.diary.domain.repository;
+
+import com.trip.diary.domain.model.ImageDeletion;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ImageDeletionRepository extends JpaRepository<ImageDeletion, String> {
+    /**
+     * 이미 예약되어 있으면 더 늦은 시각으로 맞춘다.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "insert into image_deletion (image_path, delete_after) values (:imagePath, :deleteAfter) " +
+            "on duplicate key update delete_after = greatest(delete_after, :deleteAfter)", nativeQuery = true)
+    void schedule(@Param("imagePath") String imagePath, @Param("deleteAfter") LocalDateTime deleteAfter);
+
+    /**
+     * 삭제하는 트랜잭션이 행을 잠그고 있으면 끝날 때까지 기다린다.
+     */
+    @Transactional
+    @Modifying
+    @Query("update ImageDeletion d set d.deleteAfter = :deleteAfter " +
+            "where d.imagePath = :imagePath and d.deleteAfter < :deleteAfter")
+    int postpone(@Param("imagePath") String imagePath, @Param("deleteAfter") LocalDateTime deleteAfter);
+
+    @Query("select d.imagePath from ImageDeletion d where d.deleteAfter <= :now order by d.deleteAfter")
+    List<String> findImagePathsToDelete(@Param("now") LocalDateTime now, Pageable pageable);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<ImageDeletion> findByImagePathAndDeleteAfterLessThanEqual(String imagePath, LocalDateTime now);
+}
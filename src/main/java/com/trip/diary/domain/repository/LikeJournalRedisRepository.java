@@ -0,0 +1,71 @@
+package com.trip.diary.domain.repository;
+
+import com.trip.diary.client.RedisClient;
+import com.trip.diary.domain.constants.LikeOperation;
+import com.trip.diary.domain.constants.LikeTarget;
+import com.trip.diary.domain.vo.LikeJournalVo;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * 좋아요 변경을 순서대로 쌓는 Redis 스트림. 기록은 LikeRedisRepository 의 스크립트가 좋아요 변경과 함께 한다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class LikeJournalRedisRepository {
+    public static final String LIKE_JOURNAL_KEY = "LIKE_JOURNAL";
+    public static final String TARGET_FIELD = "target";
+    public static final String TARGET_ID_FIELD = "targetId";
+    public static final String MEMBER_ID_FIELD = "memberId";
+    public static final String OPERATION_FIELD = "operation";
+    private static final String LOCK_KEY = "LIKE_JOURNAL_LOCK";
+    private final RedisClient redisClient;
+
+    public List<LikeJournalVo> findOldest(int count) {
+        return redisClient.readStream(LIKE_JOURNAL_KEY, count).stream()
+                .map(this::toLikeJournal)
+                .collect(Collectors.toList());
+    }
+
+    public void deleteAll(List<LikeJournalVo> journals) {
+        redisClient.deleteFromStream(LIKE_JOURNAL_KEY, journals.stream()
+                .map(journal -> RecordId.of(journal.getRecordId()))
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * 저널은 순서대로 반영해야 하므로 여러 서버 중 하나만 반영하도록 잠근다.
+     * 이미 잠겨 있으면 빈 값을, 아니면 풀 때 쓸 토큰을 반환한다.
+     */
+    public Optional<String> lock(Duration timeToLive) {
+        String token = UUID.randomUUID().toString();
+        return redisClient.setIfAbsent(LOCK_KEY, token, timeToLive) ? Optional.of(token) : Optional.empty();
+    }
+
+    /**
+     * 잠금이 만료되어 다른 서버가 다시 잡았을 수 있으므로 자기 토큰일 때만 푼다.
+     */
+    public void unlock(String token) {
+        redisClient.deleteKeyIfValueEquals(LOCK_KEY, token);
+    }
+
+    private LikeJournalVo toLikeJournal(MapRecord<String, Object, Object> record) {
+        Map<Object, Object> fields = record.getValue();
+        Object memberId = fields.get(MEMBER_ID_FIELD);
+        return new LikeJournalVo(record.getId().getValue(),
+                LikeTarget.valueOf(String.valueOf(fields.get(TARGET_FIELD))),
+                Long.valueOf(String.valueOf(fields.get(TARGET_ID_FIELD))),
+                Objects.isNull(memberId) ? null : Long.valueOf(String.valueOf(memberId)),
+                LikeOperation.valueOf(String.valueOf(fields.get(OPERATION_FIELD))));
+    }
+}
@@ -0,0 +1,80 @@
+package com.trip.diary.domain.repository;
+
+import com.trip.diary.domain.constants.LikeTarget;
+import com.trip.diary.domain.model.LikeRecord;
+import com.trip.diary.domain.vo.LikeJournalVo;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * 좋아요 저널을 JDBC 배치로 반영한다. 같은 저널을 두 번 반영해도 결과가 같도록 insert ignore 로 저장한다.
+ */
+@Repository
+public class LikeRecordBulkRepository {
+    private static final String INSERT_SQL =
+            "insert ignore into like_record (target, target_id, member_id, created_at, updated_at) " +
+                    "values (?, ?, ?, ?, ?)";
+    private static final String DELETE_SQL =
+            "delete from like_record where target = ? and target_id = ? and member_id = ?";
+    private static final String DELETE_BY_TARGET_SQL =
+            "delete from like_record where target = ? and target_id = ?";
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate streamingJdbcTemplate;
+
+    public LikeRecordBulkRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.streamingJdbcTemplate = new JdbcTemplate(Objects.requireNonNull(jdbcTemplate.getDataSource()));
+        // MySQL 드라이버는 fetch size 가 Integer.MIN_VALUE 일 때만 결과를 모두 올리지 않고 스트리밍한다
+        this.streamingJdbcTemplate.setFetchSize(Integer.MIN_VALUE);
+    }
+
+    public void saveAll(List<LikeRecord> likes) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_SQL, likes, likes.size(),
+                (ps, like) -> {
+                    ps.setString(1, like.getTarget().name());
+                    ps.setLong(2, like.getTargetId());
+                    ps.setLong(3, like.getMemberId());
+                    ps.setTimestamp(4, now);
+                    ps.setTimestamp(5, now);
+                });
+    }
+
+    public void deleteAll(List<LikeJournalVo> unlikes) {
+        jdbcTemplate.batchUpdate(DELETE_SQL, unlikes, unlikes.size(),
+                (ps, unlike) -> {
+                    ps.setString(1, unlike.getTarget().name());
+                    ps.setLong(2, unlike.getTargetId());
+                    ps.setLong(3, unlike.getMemberId());
+                });
+    }
+
+    public void deleteAllByTargets(List<LikeJournalVo> clears) {
+        jdbcTemplate.batchUpdate(DELETE_BY_TARGET_SQL, clears, clears.size(),
+                (ps, clear) -> {
+                    ps.setString(1, clear.getTarget().name());
+                    ps.setLong(2, clear.getTargetId());
+                });
+    }
+
+    /**
+     * 유니크 키 순서로 한 행씩 읽어 넘기므로 같은 대상의 좋아요는 연속해서 나온다.
+     */
+    public void findAllByTarget(LikeTarget target, Consumer<LikeRecord> consumer) {
+        streamingJdbcTemplate.query(
+                "select target_id, member_id from like_record where target = ? order by target_id, member_id",
+                rs -> {
+                    consumer.accept(LikeRecord.builder()
+                            .target(target)
+                            .targetId(rs.getLong(1))
+                            .memberId(rs.getLong(2))
+                            .build());
+                }, target.name());
+    }
+}
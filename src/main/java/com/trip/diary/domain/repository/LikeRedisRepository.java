@@ -0,0 +1,225 @@
+package com.trip.diary.domain.repository;
+
+import com.trip.diary.client.RedisClient;
+import com.trip.diary.domain.constants.LikeEncoding;
+import com.trip.diary.domain.constants.LikeOperation;
+import com.trip.diary.domain.constants.LikeTarget;
+import com.trip.diary.domain.vo.LikeStatusVo;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static com.trip.diary.domain.repository.LikeJournalRedisRepository.*;
+
+/**
+ * 게시글/댓글 좋아요를 대상 아이디마다 하나의 키에 저장한다.
+ * 저장 방식은 like.encoding 으로 고르며, 방식마다 키 이름이 달라 서로 섞이지 않는다.
+ * 방식을 바꾸는 동안에는 like.mirror-encoding 의 키에도 같은 변경을 쓰고, 읽기는 like.encoding 의 키로만 한다.
+ * 좋아요를 바꿀 때는 같은 스크립트에서 저널에 기록하므로, MySQL 에 반영되지 않은 변경도 잃지 않는다.
+ */
+public abstract class LikeRedisRepository {
+    private static final String INTEGER_SET_KEY_SUFFIX = "_IDS";
+    private static final String BITMAP_KEY_SUFFIX = "_BITS";
+    private final RedisClient redisClient;
+    private final LikeEncoding encoding;
+    private final LikeEncoding mirrorEncoding;
+    private final LikeTarget target;
+    private final String keyPrefix;
+
+    protected LikeRedisRepository(RedisClient redisClient, LikeEncoding encoding, LikeEncoding mirrorEncoding,
+                                  LikeTarget target, String keyPrefix) {
+        if (encoding == mirrorEncoding) {
+            throw new IllegalArgumentException("like.mirror-encoding must differ from like.encoding: " + encoding);
+        }
+        this.redisClient = redisClient;
+        this.encoding = encoding;
+        this.mirrorEncoding = mirrorEncoding;
+        this.target = target;
+        this.keyPrefix = keyPrefix;
+    }
+
+    /**
+     * 좋아요를 누르거나 취소하고 저널에 남기는 것을 한 번의 왕복으로 한다. 좋아요를 누른 것이면 true 를 반환한다.
+     */
+    protected boolean toggleLike(Long targetId, Long userId) {
+        String key = getKey(targetId);
+        List<String> fields = List.of(TARGET_FIELD, target.name(),
+                TARGET_ID_FIELD, String.valueOf(targetId),
+                MEMBER_ID_FIELD, String.valueOf(userId));
+        if (Objects.nonNull(mirrorEncoding)) {
+            return redisClient.toggleWithMirror(key, encoding, getKey(mirrorEncoding, targetId), mirrorEncoding,
+                    userId, LIKE_JOURNAL_KEY, fields);
+        }
+        return switch (encoding) {
+            case SET -> redisClient.toggleValueInSet(key, String.valueOf(userId), LIKE_JOURNAL_KEY, fields);
+            case INTEGER_SET -> redisClient.toggleNumberInSet(key, userId, LIKE_JOURNAL_KEY, fields);
+            case BITMAP -> redisClient.toggleBit(key, userId, LIKE_JOURNAL_KEY, fields);
+        };
+    }
+
+    protected boolean existsLike(Long targetId, Long userId) {
+        String key = getKey(targetId);
+        return switch (encoding) {
+            case SET -> redisClient.isValueExistInSet(key, String.valueOf(userId));
+            case INTEGER_SET -> redisClient.isNumberExistInSet(key, userId);
+            case BITMAP -> redisClient.getBit(key, userId);
+        };
+    }
+
+    protected Long countLikes(Long targetId) {
+        String key = getKey(targetId);
+        return encoding == LikeEncoding.BITMAP ? redisClient.getBitCount(key) : redisClient.getSizeOfSet(key);
+    }
+
+    protected void deleteAllLikes(Long targetId) {
+        redisClient.deleteKeysAndAppendToStream(getEncodings().stream()
+                .map(writeEncoding -> getKey(writeEncoding, targetId))
+                .collect(Collectors.toList()), LIKE_JOURNAL_KEY, List.of(
+                TARGET_FIELD, target.name(),
+                TARGET_ID_FIELD, String.valueOf(targetId),
+                OPERATION_FIELD, LikeOperation.CLEAR.name()));
+    }
+
+    protected Map<Long, LikeStatusVo> findLikeStatuses(List<Long> targetIds, Long userId) {
+        Map<Long, LikeStatusVo> likeStatuses = new HashMap<>();
+        if (targetIds.isEmpty()) {
+            return likeStatuses;
+        }
+
+        List<String> keys = targetIds.stream().map(this::getKey).collect(Collectors.toList());
+        List<Object> results = switch (encoding) {
+            case SET -> redisClient.getSizeAndValueExistenceOfSets(keys, String.valueOf(userId));
+            case INTEGER_SET -> redisClient.getSizeAndNumberExistenceOfSets(keys, userId);
+            case BITMAP -> redisClient.getBitCountAndBitOfKeys(keys, userId);
+        };
+        for (int i = 0; i < targetIds.size(); i++) {
+            Long count = (Long) results.get(i * 2);
+            likeStatuses.put(targetIds.get(i), new LikeStatusVo(count == null ? 0L : count,
+                    Boolean.TRUE.equals(results.get(i * 2 + 1))));
+        }
+        return likeStatuses;
+    }
+
+    /**
+     * like.encoding 의 키를 like.mirror-encoding 의 키로 복사하고, 복사한 좋아요 수를 반환한다.
+     * 모든 서버가 두 방식에 함께 쓰게 된 뒤에 실행해야, 그 전에 한쪽에만 쓰인 변경까지 맞춰진다.
+     * 키마다 스크립트 하나로 대상 키를 다시 만들므로 복사하는 도중의 변경도 잃지 않는다.
+     * 비트맵은 Set 으로 복사할 수 없으므로 트래픽을 멈추고 MySQL 에서 다시 채운다.
+     */
+    public long copyToMirror() {
+        if (Objects.isNull(mirrorEncoding)) {
+            return 0;
+        }
+        if (encoding == LikeEncoding.BITMAP) {
+            throw new IllegalStateException("bitmap likes can not be copied to " + mirrorEncoding);
+        }
+
+        AtomicLong countOfLikes = new AtomicLong();
+        String keyPrefixOfEncoding = getKeyPrefix(encoding);
+        redisClient.scanKeys(keyPrefixOfEncoding + "[0-9]*", key -> {
+            Long targetId = Long.valueOf(key.substring(keyPrefixOfEncoding.length()));
+            Long count = redisClient.copySet(key, getKey(mirrorEncoding, targetId), mirrorEncoding);
+            countOfLikes.addAndGet(count == null ? 0 : count);
+        });
+
+        // 복사하기 전에 좋아요가 모두 취소되어 원래 키가 없어진 대상의 키를 지운다
+        String keyPrefixOfMirror = getKeyPrefix(mirrorEncoding);
+        redisClient.scanKeys(keyPrefixOfMirror + "[0-9]*", mirrorKey -> {
+            Long targetId = Long.valueOf(mirrorKey.substring(keyPrefixOfMirror.length()));
+            if (!redisClient.existsKey(getKey(targetId))) {
+                redisClient.copySet(getKey(targetId), mirrorKey, mirrorEncoding);
+            }
+        });
+        return countOfLikes.get();
+    }
+
+    /**
+     * like.encoding 의 키를 SCAN 으로 모두 읽어 대상 아이디와 좋아요한 멤버 아이디를 넘긴다.
+     */
+    public void findAll(BiConsumer<Long, List<Long>> consumer) {
+        String keyPrefixOfEncoding = getKeyPrefix(encoding);
+        redisClient.scanKeys(keyPrefixOfEncoding + "[0-9]*", key -> {
+            Long targetId = Long.valueOf(key.substring(keyPrefixOfEncoding.length()));
+            List<Long> memberIds = switch (encoding) {
+                case SET -> redisClient.getValuesOfSet(key).stream().map(Long::valueOf).toList();
+                case INTEGER_SET -> redisClient.getNumbersOfSet(key);
+                case BITMAP -> redisClient.getBitOffsets(key);
+            };
+            consumer.accept(targetId, memberIds);
+        });
+    }
+
+    /**
+     * MySQL 에서 읽은 좋아요를 한 번의 파이프라인으로 채운다. 옮기는 중이면 두 방식의 키를 모두 채운다.
+     * targetIdsToReset 의 키는 채우기 전에 지워 MySQL 에 없는 좋아요가 남지 않게 한다.
+     */
+    public void rebuild(Map<Long, List<Long>> memberIdsByTargetId, Collection<Long> targetIdsToReset) {
+        for (LikeEncoding writeEncoding : getEncodings()) {
+            List<String> keysToReset = targetIdsToReset.stream()
+                    .map(targetId -> getKey(writeEncoding, targetId))
+                    .collect(Collectors.toList());
+            switch (writeEncoding) {
+                case SET -> redisClient.addValuesToSets(
+                        toKeys(writeEncoding, memberIdsByTargetId, String::valueOf), keysToReset);
+                case INTEGER_SET -> redisClient.addNumbersToSets(
+                        toKeys(writeEncoding, memberIdsByTargetId, Long::valueOf), keysToReset);
+                case BITMAP -> redisClient.setBitsOfKeys(
+                        toKeys(writeEncoding, memberIdsByTargetId, Long::valueOf), keysToReset);
+            }
+        }
+    }
+
+    /**
+     * 다시 채우는 동안 들어온 좋아요 변경은 다시 채운 키에 덮여 사라질 수 있으므로,
+     * 저널에서 afterRecordId 이후의 이 대상 기록을 모든 방식의 키에 다시 적용한다. 적용한 기록 수를 반환한다.
+     */
+    public long replayJournal(String afterRecordId) {
+        Map<LikeEncoding, String> keyPrefixesByEncoding = new EnumMap<>(LikeEncoding.class);
+        getEncodings().forEach(writeEncoding -> keyPrefixesByEncoding.put(writeEncoding, getKeyPrefix(writeEncoding)));
+        Long count = redisClient.replayStream(LIKE_JOURNAL_KEY, afterRecordId, target.name(), keyPrefixesByEncoding);
+        return count == null ? 0 : count;
+    }
+
+    public LikeTarget getTarget() {
+        return target;
+    }
+
+    public LikeEncoding getEncoding() {
+        return encoding;
+    }
+
+    private List<LikeEncoding> getEncodings() {
+        return Objects.isNull(mirrorEncoding) ? List.of(encoding) : List.of(encoding, mirrorEncoding);
+    }
+
+    private <T> Map<String, List<T>> toKeys(LikeEncoding writeEncoding, Map<Long, List<Long>> memberIdsByTargetId,
+                                            Function<Long, T> mapper) {
+        return memberIdsByTargetId.entrySet().stream()
+                .collect(Collectors.toMap(entry -> getKey(writeEncoding, entry.getKey()),
+                        entry -> entry.getValue().stream().map(mapper).collect(Collectors.toList())));
+    }
+
+    private String getKey(Long targetId) {
+        return getKey(encoding, targetId);
+    }
+
+    private String getKey(LikeEncoding keyEncoding, Long targetId) {
+        return getKeyPrefix(keyEncoding) + targetId;
+    }
+
+    private String getKeyPrefix(LikeEncoding keyEncoding) {
+        return switch (keyEncoding) {
+            case SET -> keyPrefix;
+            case INTEGER_SET -> keyPrefix + INTEGER_SET_KEY_SUFFIX;
+            case BITMAP -> keyPrefix + BITMAP_KEY_SUFFIX;
+        };
+    }
+}
@@ -2,9 +2,17 @@ package com.trip.diary.domain.repository;
 
 import com.trip.diary.domain.model.Location;
 import com.trip.diary.domain.model.Trip;
+import com.trip.diary.domain.vo.LocationGalleryVo;
+import com.trip.diary.domain.vo.LocationNameVo;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,4 +21,27 @@ public interface LocationRepository extends JpaRepository<Location, Long> {
     Optional<Location> findFirstByTripOrderByIdDesc(Trip trip);
 
     List<Location> findByTripOrderByIdDesc(Trip trip);
+
+    /**
+     * 엔티티를 만들지 않고 로케이션, 기록, 이미지, 작성자를 한 번에 읽는다.
+     * 기록이 생성/수정/삭제되거나 이미지 크기 변환이 끝나면 캐시를 지운다.
+     */
+    @Cacheable(key = "#tripId", value = "LocationGallery")
+    @Query("select new com.trip.diary.domain.vo.LocationGalleryVo(" +
+            "l.id, l.name, p.id, coalesce(pi.smallImagePath, pi.imagePath), m.profilePath) " +
+            "from Location l left join l.posts p left join p.images pi left join p.member m " +
+            "where l.trip.id = :tripId order by l.id, p.id, pi.id")
+    List<LocationGalleryVo> findGalleryByTripId(@Param("tripId") Long tripId);
+
+    @Query("select new com.trip.diary.domain.vo.LocationNameVo(l.trip.id, l.name) " +
+            "from Location l where l.trip.id in :tripIds order by l.id")
+    List<LocationNameVo> findNamesByTripIds(@Param("tripIds") Collection<Long> tripIds);
+
+    @Transactional
+    @Modifying
+    @Query("update Location l set l.thumbnailPath = :thumbnailPath " +
+            "where l.id = :id and l.thumbnailPath = :imagePath")
+    int updateThumbnailPath(@Param("id") Long id,
+                            @Param("imagePath") String imagePath,
+                            @Param("thumbnailPath") String thumbnailPath);
 }
@@ -0,0 +1,99 @@
+package com.trip.diary.domain.repository;
+
+import com.trip.diary.domain.model.Notification;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.IncorrectResultSizeDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCallback;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+public class NotificationBulkRepository {
+    private static final String INSERT_SQL =
+            "insert into notification " +
+                    "(type, message, redirect_path, group_key, group_count, sender_ids, member_id, created_at, updated_at) " +
+                    "values (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    public static final String FUTURE_PARTITION = "p_future";
+    private static final DateTimeFormatter PARTITION_NAME_FORMAT = DateTimeFormatter.ofPattern("yyyyMM");
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * IDENTITY 전략이라 JPA 로는 배치 insert 가 되지 않아 JDBC 배치로 저장한다.
+     * MySQL 에서는 rewriteBatchedStatements 옵션으로 다중 행 insert 로 실행된다.
+     * 저장 직후 SSE 로 발행하므로 생성된 아이디를 저장한 순서대로 알림에 채운다.
+     */
+    public void saveAll(List<Notification> notifications) {
+        jdbcTemplate.execute(
+                (Connection connection) -> connection.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS),
+                (PreparedStatementCallback<Void>) ps -> {
+                    for (Notification notification : notifications) {
+                        Timestamp createdAt = Timestamp.valueOf(notification.getCreatedAt());
+                        ps.setString(1, notification.getType().name());
+                        ps.setString(2, notification.getMessage());
+                        ps.setString(3, notification.getRedirectPath());
+                        ps.setString(4, notification.getGroupKey());
+                        ps.setInt(5, notification.getGroupCount());
+                        ps.setString(6, notification.getSenderIds());
+                        ps.setLong(7, notification.getMember().getId());
+                        ps.setTimestamp(8, createdAt);
+                        ps.setTimestamp(9, createdAt);
+                        ps.addBatch();
+                    }
+                    ps.executeBatch();
+
+                    try (ResultSet generatedKeys = ps.getGeneratedKeys()) {
+                        int countOfKeys = 0;
+                        while (countOfKeys < notifications.size() && generatedKeys.next()) {
+                            notifications.get(countOfKeys++).setId(generatedKeys.getLong(1));
+                        }
+                        if (countOfKeys != notifications.size()) {
+                            throw new IncorrectResultSizeDataAccessException(notifications.size(), countOfKeys);
+                        }
+                    }
+                    return null;
+                });
+    }
+
+    /**
+     * 파티션 테이블이 아니거나 MySQL 이 아니면 빈 목록을 반환한다.
+     */
+    public List<String> findPartitionNames() {
+        try {
+            return jdbcTemplate.queryForList(
+                    "select partition_name from information_schema.partitions " +
+                            "where table_schema = database() and table_name = 'notification' " +
+                            "and partition_name is not null order by partition_ordinal_position",
+                    String.class);
+        } catch (DataAccessException e) {
+            return List.of();
+        }
+    }
+
+    /**
+     * 마지막 파티션(p_future)을 나눠 해당 월의 파티션을 추가한다.
+     */
+    public void addMonthlyPartition(YearMonth month) {
+        jdbcTemplate.execute("alter table notification reorganize partition " + FUTURE_PARTITION + " into (" +
+                "partition " + getPartitionName(month) +
+                " values less than (to_days('" + month.plusMonths(1).atDay(1) + "')), " +
+                "partition " + FUTURE_PARTITION + " values less than maxvalue)");
+    }
+
+    public void dropPartition(String partitionName) {
+        jdbcTemplate.execute("alter table notification drop partition " + partitionName);
+    }
+
+    public static String getPartitionName(YearMonth month) {
+        return "p" + month.format(PARTITION_NAME_FORMAT);
+    }
+}
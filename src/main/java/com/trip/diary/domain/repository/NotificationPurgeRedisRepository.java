@@ -0,0 +1,31 @@
+package com.trip.diary.domain.repository;
+
+import com.trip.diary.client.RedisClient;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * 알림 정리는 파티션 DDL 을 실행하므로 여러 서버 중 하나만 실행하도록 잠근다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class NotificationPurgeRedisRepository {
+    private static final String LOCK_KEY = "NOTIFICATION_PURGE_LOCK";
+    private final RedisClient redisClient;
+
+    /**
+     * 이미 잠겨 있으면 빈 값을, 아니면 풀 때 쓸 토큰을 반환한다.
+     */
+    public Optional<String> lock(Duration timeToLive) {
+        String token = UUID.randomUUID().toString();
+        return redisClient.setIfAbsent(LOCK_KEY, token, timeToLive) ? Optional.of(token) : Optional.empty();
+    }
+
+    public void unlock(String token) {
+        redisClient.deleteKeyIfValueEquals(LOCK_KEY, token);
+    }
+}
@@ -3,21 +3,50 @@ package com.trip.diary.domain.repository;
 import com.trip.diary.domain.model.Member;
 import com.trip.diary.domain.model.Notification;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
-import java.util.Set;
 
 @Repository
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
-    List<Notification> findByMember(Member member);
+    Optional<Notification> findByIdAndMember(Long id, Member member);
 
-    Optional<Notification> findByIdAndMemberAndReadAtIsNull(Long id, Member member);
+    long countByMember_IdAndReadAtIsNullAndCreatedAtGreaterThanEqual(Long memberId, LocalDateTime createdAt);
 
-    Optional<Notification> findByIdAndMember(Long id, Member member);
+    long countByIdInAndMember_IdAndReadAtIsNull(Collection<Long> ids, Long memberId);
+
+    boolean existsByIdInAndMember_IdNot(Collection<Long> ids, Long memberId);
+
+    @Query("select n from Notification n " +
+            "where n.groupKey in :groupKeys and n.readAt is null and n.createdAt >= :createdAt")
+    List<Notification> findUnreadByGroupKeysCreatedAfter(@Param("groupKeys") Collection<String> groupKeys,
+                                                         @Param("createdAt") LocalDateTime createdAt);
+
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("update Notification n set n.readAt = :readAt " +
+            "where n.member.id = :memberId and n.readAt is null")
+    int updateReadAtByMemberId(@Param("memberId") Long memberId,
+                               @Param("readAt") LocalDateTime readAt);
 
-    List<Notification> findByMemberAndReadAtIsNull(Member member);
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("update Notification n set n.readAt = :readAt " +
+            "where n.member.id = :memberId and n.id in :ids and n.readAt is null")
+    int updateReadAtByIdsAndMemberId(@Param("ids") Collection<Long> ids,
+                                     @Param("memberId") Long memberId,
+                                     @Param("readAt") LocalDateTime readAt);
 
-    List<Notification> findByIdIn(Set<Long> ids);
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("delete from Notification n where n.member.id = :memberId and n.id in :ids")
+    int deleteByIdsAndMemberId(@Param("ids") Collection<Long> ids,
+                               @Param("memberId") Long memberId);
 }
@@ -0,0 +1,54 @@
+package com.trip.diary.domain.repository;
+
+import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import com.trip.diary.domain.model.Notification;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+
+import static com.trip.diary.domain.model.QNotification.notification;
+
+@Repository
+@RequiredArgsConstructor
+public class NotificationRepositoryCustom {
+    private final JPAQueryFactory jpaQueryFactory;
+
+    /**
+     * 커서(마지막으로 받은 알림 id) 이전의 알림을 최신순으로 조회한다.
+     * 다음 페이지 존재 여부 확인을 위해 limit 보다 하나 더 조회한다.
+     */
+    public List<Notification> findByMemberIdBeforeCursor(Long memberId, Long cursorId,
+                                                         LocalDateTime createdAfter, int limit) {
+        return jpaQueryFactory.selectFrom(notification)
+                .where(notification.member.id.eq(memberId),
+                        notification.createdAt.goe(createdAfter),
+                        idLessThan(cursorId))
+                .orderBy(notification.id.desc())
+                .limit(limit + 1L)
+                .fetch();
+    }
+
+    public List<Long> findIdsCreatedBefore(LocalDateTime createdAt, int limit) {
+        return jpaQueryFactory.select(notification.id)
+                .from(notification)
+                .where(notification.createdAt.lt(createdAt))
+                .limit(limit)
+                .fetch();
+    }
+
+    public List<Long> findReadIdsCreatedBefore(LocalDateTime createdAt, int limit) {
+        return jpaQueryFactory.select(notification.id)
+                .from(notification)
+                .where(notification.createdAt.lt(createdAt), notification.readAt.isNotNull())
+                .limit(limit)
+                .fetch();
+    }
+
+    private BooleanExpression idLessThan(Long cursorId) {
+        return Objects.isNull(cursorId) ? null : notification.id.lt(cursorId);
+    }
+}
@@ -0,0 +1,37 @@
+package com.trip.diary.domain.repository;
+
+import com.trip.diary.client.RedisClient;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.util.Optional;
+
+@Repository
+@RequiredArgsConstructor
+public class NotificationUnreadCountRedisRepository {
+    private final RedisClient redisClient;
+    private final static String UNREAD_COUNT_KEY = "NOTIFICATION_UNREAD_COUNT";
+    // 카운터가 어긋나더라도 하루 안에는 DB 기준으로 다시 맞춰진다
+    private final static Duration UNREAD_COUNT_TIME_TO_LIVE = Duration.ofDays(1);
+
+    public Optional<Long> findByMemberId(Long memberId) {
+        return Optional.ofNullable(redisClient.getCount(UNREAD_COUNT_KEY + memberId));
+    }
+
+    public void save(Long memberId, long count) {
+        redisClient.setCount(UNREAD_COUNT_KEY + memberId, count, UNREAD_COUNT_TIME_TO_LIVE);
+    }
+
+    public void increase(Long memberId, long count) {
+        redisClient.incrementCountIfExists(UNREAD_COUNT_KEY + memberId, count);
+    }
+
+    public void decrease(Long memberId, long count) {
+        redisClient.incrementCountIfExists(UNREAD_COUNT_KEY + memberId, -count);
+    }
+
+    public void deleteByMemberId(Long memberId) {
+        redisClient.deleteKey(UNREAD_COUNT_KEY + memberId);
+    }
+}
@@ -5,11 +5,16 @@ import com.trip.diary.domain.model.Member;
 import com.trip.diary.domain.model.Participant;
 import com.trip.diary.domain.model.Trip;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Repository
 public interface ParticipantRepository extends JpaRepository<Participant, Long> {
@@ -22,5 +27,12 @@ public interface ParticipantRepository extends JpaRepository<Participant, Long>
 
     Optional<Participant> findByTripAndMemberAndType(Trip trip, Member member, ParticipantType type);
 
+    @EntityGraph(attributePaths = {"trip", "trip.leader"})
     List<Participant> findByMemberAndType(Member member, ParticipantType type);
+
+    @Query("select p.trip.id from Participant p " +
+            "where p.member = :member and p.type = :type and p.trip.id in :tripIds")
+    Set<Long> findTripIdsByMemberAndType(@Param("member") Member member,
+                                         @Param("type") ParticipantType type,
+                                         @Param("tripIds") Collection<Long> tripIds);
 }
@@ -2,8 +2,28 @@ package com.trip.diary.domain.repository;
 
 import com.trip.diary.domain.model.PostImage;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
 
 @Repository
 public interface PostImageRepository extends JpaRepository<PostImage, Long> {
+    List<PostImage> findByPost_Id(Long postId);
+
+    @Transactional
+    @Modifying
+    @Query("update PostImage pi set pi.smallImagePath = :smallImagePath, pi.mediumImagePath = :mediumImagePath " +
+            "where pi.imagePath = :imagePath")
+    int updateResizedImagePaths(@Param("imagePath") String imagePath,
+                                @Param("smallImagePath") String smallImagePath,
+                                @Param("mediumImagePath") String mediumImagePath);
+
+    @Query("select distinct pi.imagePath from PostImage pi where pi.imagePath in :imagePaths")
+    Set<String> findReferencedImagePaths(@Param("imagePaths") Collection<String> imagePaths);
 }
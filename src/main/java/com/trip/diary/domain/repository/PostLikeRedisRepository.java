@@ -1,34 +1,42 @@
 package com.trip.diary.domain.repository;
 
 import com.trip.diary.client.RedisClient;
-import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
+import com.trip.diary.domain.constants.LikeEncoding;
+import com.trip.diary.domain.constants.LikeTarget;
+import com.trip.diary.domain.vo.LikeStatusVo;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.Map;
+
 @Repository
-@Slf4j
-@RequiredArgsConstructor
-public class PostLikeRedisRepository {
-    private final RedisClient redisClient;
+public class PostLikeRedisRepository extends LikeRedisRepository {
     private final static String POST_LIKE_KEY = "POST_LIKE";
 
-    public void save(Long postId, Long userId) {
-        redisClient.addValueToSet(POST_LIKE_KEY + postId, String.valueOf(userId));
+    public PostLikeRedisRepository(RedisClient redisClient,
+                                   @Value("${like.encoding:SET}") LikeEncoding encoding,
+                                   @Value("${like.mirror-encoding:#{null}}") LikeEncoding mirrorEncoding) {
+        super(redisClient, encoding, mirrorEncoding, LikeTarget.POST, POST_LIKE_KEY);
     }
 
-    public boolean existsByPostIdAndUserId(Long postId, Long userId) {
-        return redisClient.isValueExistInSet(POST_LIKE_KEY + postId, String.valueOf(userId));
+    public boolean toggle(Long postId, Long userId) {
+        return toggleLike(postId, userId);
     }
 
-    public void delete(Long postId, Long userId) {
-        redisClient.removeValueToSet(POST_LIKE_KEY + postId, String.valueOf(userId));
+    public boolean existsByPostIdAndUserId(Long postId, Long userId) {
+        return existsLike(postId, userId);
     }
 
     public Long countByPostId(Long postId) {
-        return redisClient.getSizeOfSet(POST_LIKE_KEY + postId);
+        return countLikes(postId);
     }
 
     public void deleteAllByPostId(Long postId) {
-        redisClient.removeKeyToSet(POST_LIKE_KEY + postId);
+        deleteAllLikes(postId);
+    }
+
+    public Map<Long, LikeStatusVo> findLikeStatusesByPostIdsAndUserId(List<Long> postIds, Long userId) {
+        return findLikeStatuses(postIds, userId);
     }
 }
@@ -0,0 +1,41 @@
+package com.trip.diary.domain.repository;
+
+import com.trip.diary.client.RedisClient;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * 모든 서버의 아웃박스 릴레이를 함께 멈추기 위한 표시.
+ * 멈춘 서버가 죽어도 릴레이가 영원히 멈추지 않도록 만료 시간을 둔다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class SearchOutboxPauseRedisRepository {
+    private static final String PAUSE_KEY = "SEARCH_OUTBOX_RELAY_PAUSE";
+    private final RedisClient redisClient;
+
+    /**
+     * 이미 멈춰 있으면 빈 값을, 아니면 다시 시작할 때 쓸 토큰을 반환한다.
+     */
+    public Optional<String> pause(Duration timeToLive) {
+        String token = UUID.randomUUID().toString();
+        return redisClient.setIfAbsent(PAUSE_KEY, token, timeToLive) ? Optional.of(token) : Optional.empty();
+    }
+
+    public boolean isPaused() {
+        return redisClient.existsKey(PAUSE_KEY);
+    }
+
+    public boolean isPausedBy(String token) {
+        return Objects.equals(redisClient.getValue(PAUSE_KEY), token);
+    }
+
+    public void resume(String token) {
+        redisClient.deleteKeyIfValueEquals(PAUSE_KEY, token);
+    }
+}
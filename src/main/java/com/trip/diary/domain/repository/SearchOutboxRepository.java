@@ -0,0 +1,22 @@
+package com.trip.diary.domain.repository;
+
+import com.trip.diary.domain.model.SearchOutbox;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface SearchOutboxRepository extends JpaRepository<SearchOutbox, Long> {
+    // 여러 인스턴스의 릴레이가 같은 변경을 동시에 가져가지 않도록 가져가는 짧은 트랜잭션 동안만 행 잠금을 건다
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select o from SearchOutbox o order by o.id")
+    List<SearchOutbox> findOldestForUpdate(Pageable pageable);
+
+    Optional<SearchOutbox> findFirstByOrderByIdAsc();
+}
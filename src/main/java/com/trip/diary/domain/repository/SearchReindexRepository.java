@@ -0,0 +1,184 @@
+package com.trip.diary.domain.repository;
+
+import com.trip.diary.domain.constants.SearchOutboxType;
+import com.trip.diary.elasticsearch.model.MemberDocument;
+import com.trip.diary.elasticsearch.model.TripDocument;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * 검색 인덱스를 MySQL 과 맞추기 위해 테이블에서 바로 도큐먼트를 만든다.
+ * 전체를 읽을 때는 JDBC 커서로 한 행씩 읽어 바로 넘기므로 테이블 크기와 관계없이 메모리를 일정하게 쓴다.
+ */
+@Repository
+public class SearchReindexRepository {
+    // 트립 PK 순서로 조인하므로 정렬 없이 같은 트립의 로케이션이 연속해서 나온다
+    private static final String TRIP_SQL =
+            "select t.id, t.title, t.description, t.is_private, t.count_of_bookmark, l.name " +
+                    "from trip t left join location l on l.trip_id = t.id " +
+                    "where t.deleted_at is null %s order by t.id";
+    private static final String MEMBER_SQL =
+            "select m.id, m.nickname, m.profile_path, p.trip_id " +
+                    "from member m left join participant p on p.member_id = m.id " +
+                    "%s order by m.id";
+    // 로케이션/참여자가 바뀌어도 트립/멤버의 updated_at 은 바뀌지 않으므로 함께 본다
+    private static final String UPDATED_TRIP_ID_SQL =
+            "select id from trip where updated_at > ? and updated_at <= ? " +
+                    "union select trip_id from location where updated_at > ? and updated_at <= ?";
+    private static final String UPDATED_MEMBER_ID_SQL =
+            "select id from member where updated_at > ? and updated_at <= ? " +
+                    "union select member_id from participant where updated_at > ? and updated_at <= ?";
+    private final JdbcTemplate jdbcTemplate;
+
+    public SearchReindexRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = new JdbcTemplate(Objects.requireNonNull(jdbcTemplate.getDataSource()));
+        // MySQL 드라이버는 fetch size 가 Integer.MIN_VALUE 일 때만 결과를 모두 올리지 않고 스트리밍한다
+        this.jdbcTemplate.setFetchSize(Integer.MIN_VALUE);
+    }
+
+    public List<Long> findSearchOutboxIds() {
+        return jdbcTemplate.queryForList("select id from search_outbox", Long.class);
+    }
+
+    public Set<Long> findSearchOutboxDocumentIds(Collection<SearchOutboxType> types) {
+        return new HashSet<>(jdbcTemplate.queryForList(
+                "select distinct document_id from search_outbox where type in (" + getPlaceholders(types.size()) + ")",
+                Long.class, types.stream().map(Enum::name).toArray()));
+    }
+
+    public List<Long> findTripIdsUpdatedBetween(LocalDateTime from, LocalDateTime to) {
+        return findIdsUpdatedBetween(UPDATED_TRIP_ID_SQL, from, to);
+    }
+
+    public List<Long> findMemberIdsUpdatedBetween(LocalDateTime from, LocalDateTime to) {
+        return findIdsUpdatedBetween(UPDATED_MEMBER_ID_SQL, from, to);
+    }
+
+    /**
+     * 표본 조사를 위해 아이디 범위 안에서 임의로 고른 아이디 중 존재하는 것을 반환한다.
+     */
+    public List<Long> findRandomTripIds(int size) {
+        return findRandomIds("trip", size);
+    }
+
+    public List<Long> findRandomMemberIds(int size) {
+        return findRandomIds("member", size);
+    }
+
+    public List<TripDocument> findTripDocumentsByIds(Collection<Long> tripIds) {
+        List<TripDocument> tripDocuments = new ArrayList<>();
+        if (!tripIds.isEmpty()) {
+            queryTripDocuments(String.format(TRIP_SQL, "and t.id in (" + getPlaceholders(tripIds.size()) + ")"),
+                    tripIds.toArray(), tripDocuments::add);
+        }
+        return tripDocuments;
+    }
+
+    public List<MemberDocument> findMemberDocumentsByIds(Collection<Long> memberIds) {
+        List<MemberDocument> memberDocuments = new ArrayList<>();
+        if (!memberIds.isEmpty()) {
+            queryMemberDocuments(String.format(MEMBER_SQL, "where m.id in (" + getPlaceholders(memberIds.size()) + ")"),
+                    memberIds.toArray(), memberDocuments::add);
+        }
+        return memberDocuments;
+    }
+
+    public void streamTripDocuments(Consumer<TripDocument> consumer) {
+        queryTripDocuments(String.format(TRIP_SQL, ""), new Object[0], consumer);
+    }
+
+    public void streamMemberDocuments(Consumer<MemberDocument> consumer) {
+        queryMemberDocuments(String.format(MEMBER_SQL, ""), new Object[0], consumer);
+    }
+
+    private List<Long> findIdsUpdatedBetween(String sql, LocalDateTime from, LocalDateTime to) {
+        Timestamp fromTimestamp = Timestamp.valueOf(from);
+        Timestamp toTimestamp = Timestamp.valueOf(to);
+        return jdbcTemplate.queryForList(sql, Long.class, fromTimestamp, toTimestamp, fromTimestamp, toTimestamp);
+    }
+
+    private List<Long> findRandomIds(String tableName, int size) {
+        Map<String, Object> range = jdbcTemplate.queryForMap(
+                "select min(id) as min_id, max(id) as max_id from " + tableName);
+        if (Objects.isNull(range.get("min_id"))) {
+            return List.of();
+        }
+
+        long minId = ((Number) range.get("min_id")).longValue();
+        long maxId = ((Number) range.get("max_id")).longValue();
+        Object[] candidateIds = ThreadLocalRandom.current()
+                .longs(size, minId, maxId + 1)
+                .distinct()
+                .boxed()
+                .toArray();
+        return jdbcTemplate.queryForList("select id from " + tableName +
+                " where id in (" + getPlaceholders(candidateIds.length) + ")", Long.class, candidateIds);
+    }
+
+    private String getPlaceholders(int size) {
+        return String.join(", ", Collections.nCopies(size, "?"));
+    }
+
+    private void queryTripDocuments(String sql, Object[] args, Consumer<TripDocument> consumer) {
+        AtomicReference<TripDocument> current = new AtomicReference<>();
+        jdbcTemplate.query(sql, rs -> {
+            long tripId = rs.getLong("id");
+            TripDocument tripDocument = current.get();
+            if (Objects.isNull(tripDocument) || tripDocument.getId() != tripId) {
+                if (Objects.nonNull(tripDocument)) {
+                    consumer.accept(tripDocument);
+                }
+                tripDocument = TripDocument.builder()
+                        .id(tripId)
+                        .title(rs.getString("title"))
+                        .description(rs.getString("description"))
+                        .isPrivate(rs.getBoolean("is_private"))
+                        .countOfBookmark(rs.getLong("count_of_bookmark"))
+                        .build();
+                current.set(tripDocument);
+            }
+
+            String locationName = rs.getString("name");
+            if (Objects.nonNull(locationName)) {
+                tripDocument.getLocations().add(new TripDocument.Location(locationName));
+            }
+        }, args);
+        if (Objects.nonNull(current.get())) {
+            consumer.accept(current.get());
+        }
+    }
+
+    private void queryMemberDocuments(String sql, Object[] args, Consumer<MemberDocument> consumer) {
+        AtomicReference<MemberDocument> current = new AtomicReference<>();
+        jdbcTemplate.query(sql, rs -> {
+            long memberId = rs.getLong("id");
+            MemberDocument memberDocument = current.get();
+            if (Objects.isNull(memberDocument) || memberDocument.getId() != memberId) {
+                if (Objects.nonNull(memberDocument)) {
+                    consumer.accept(memberDocument);
+                }
+                memberDocument = MemberDocument.builder()
+                        .id(memberId)
+                        .nickname(rs.getString("nickname"))
+                        .profileUrl(rs.getString("profile_path"))
+                        .build();
+                current.set(memberDocument);
+            }
+
+            long tripId = rs.getLong("trip_id");
+            if (!rs.wasNull()) {
+                memberDocument.getTrips().add(new MemberDocument.Trip(tripId));
+            }
+        }, args);
+        if (Objects.nonNull(current.get())) {
+            consumer.accept(current.get());
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.trip.diary.domain.repository;
+
+import com.trip.diary.domain.model.SearchSyncWatermark;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface SearchSyncWatermarkRepository extends JpaRepository<SearchSyncWatermark, String> {
+}
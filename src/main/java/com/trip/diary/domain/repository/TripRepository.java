@@ -2,8 +2,14 @@ package com.trip.diary.domain.repository;
 
 import com.trip.diary.domain.model.Trip;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface TripRepository extends JpaRepository<Trip, Long> {
+    @Modifying
+    @Query("update Trip t set t.countOfBookmark = t.countOfBookmark + :delta where t.id = :id")
+    int updateCountOfBookmark(@Param("id") Long id, @Param("delta") long delta);
 }
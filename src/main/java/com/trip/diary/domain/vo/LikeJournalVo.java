@@ -0,0 +1,17 @@
+package com.trip.diary.domain.vo;
+
+import com.trip.diary.domain.constants.LikeOperation;
+import com.trip.diary.domain.constants.LikeTarget;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class LikeJournalVo {
+    private String recordId;
+    private LikeTarget target;
+    private Long targetId;
+    // CLEAR 이면 null
+    private Long memberId;
+    private LikeOperation operation;
+}
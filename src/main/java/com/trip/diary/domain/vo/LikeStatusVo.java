@@ -0,0 +1,15 @@
+package com.trip.diary.domain.vo;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class LikeStatusVo {
+    private long countOfLikes;
+    private boolean isReaderLiked;
+
+    public static LikeStatusVo empty() {
+        return new LikeStatusVo(0L, false);
+    }
+}
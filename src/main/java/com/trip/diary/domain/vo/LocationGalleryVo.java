@@ -0,0 +1,19 @@
+package com.trip.diary.domain.vo;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 로케이션 갤러리를 만들기 위한 한 행으로, 이미지 하나마다 한 행이 나온다.
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class LocationGalleryVo {
+    private Long locationId;
+    private String name;
+    private Long postId;
+    private String imagePath;
+    private String authorProfilePath;
+}
@@ -0,0 +1,16 @@
+package com.trip.diary.domain.vo;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 검색 도큐먼트에 넣을 여행 기록장의 로케이션 이름 하나.
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class LocationNameVo {
+    private Long tripId;
+    private String name;
+}
@@ -0,0 +1,21 @@
+package com.trip.diary.domain.vo;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 알림 메시지를 보낸 사람 수에 맞게 다시 만들 수 있도록 보낸 사람 앞뒤 문구를 나눠 둔다.
+ */
+@Getter
+@AllArgsConstructor
+public class NotificationMessageVo {
+    private String prefix;
+    private String senderNickname;
+    private String suffix;
+
+    public String render(int countOfSenders) {
+        return prefix + senderNickname + "님" +
+                (countOfSenders > 1 ? " 외 " + (countOfSenders - 1) + "명" : "") +
+                "이 " + suffix;
+    }
+}
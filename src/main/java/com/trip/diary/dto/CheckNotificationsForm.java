@@ -0,0 +1,17 @@
+package com.trip.diary.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.HashSet;
+import java.util.Set;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CheckNotificationsForm {
+    Set<Long> notificationIds = new HashSet<>();
+}
@@ -0,0 +1,26 @@
+package com.trip.diary.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class DriftReportDto {
+    private String indexName;
+    private int countOfSamples;
+    private List<Long> mismatchedIds;
+
+    public double getMismatchRate() {
+        return countOfSamples == 0 ? 0 : (double) mismatchedIds.size() / countOfSamples;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %d/%d mismatched (%.2f%%) %s", indexName, mismatchedIds.size(),
+                countOfSamples, getMismatchRate() * 100, mismatchedIds);
+    }
+}
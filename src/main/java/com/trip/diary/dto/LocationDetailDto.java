@@ -1,15 +1,12 @@
 package com.trip.diary.dto;
 
-import com.trip.diary.domain.model.Location;
+import com.trip.diary.domain.vo.LocationGalleryVo;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 
-import java.util.ArrayList;
-import java.util.HashSet;
-import java.util.List;
-import java.util.Set;
+import java.util.*;
 
 @AllArgsConstructor
 @NoArgsConstructor
@@ -31,20 +28,26 @@ public class LocationDetailDto {
         private String imagePath;
     }
 
-    public static LocationDetailDto of(Location location) {
-        LocationDetailDto dto = LocationDetailDto.builder()
-                .id(location.getId())
-                .name(location.getName())
-                .build();
-        location.getPosts()
-                .forEach(post -> {
-                    dto.posts.addAll(
-                            post.getImages().stream()
-                            .map(image ->
-                                    new PostDto(post.getId(), image.getImagePath()))
-                                    .toList());
-                    dto.profilePaths.add(post.getMember().getProfilePath());
-                });
-        return dto;
+    /**
+     * 로케이션 순서로 정렬된 갤러리 행을 로케이션 별로 묶는다.
+     */
+    public static List<LocationDetailDto> from(List<LocationGalleryVo> rows) {
+        Map<Long, LocationDetailDto> dtos = new LinkedHashMap<>();
+        for (LocationGalleryVo row : rows) {
+            LocationDetailDto dto = dtos.computeIfAbsent(row.getLocationId(), locationId ->
+                    LocationDetailDto.builder()
+                            .id(locationId)
+                            .name(row.getName())
+                            .build());
+            if (Objects.isNull(row.getPostId())) {
+                continue;
+            }
+
+            dto.profilePaths.add(row.getAuthorProfilePath());
+            if (Objects.nonNull(row.getImagePath())) {
+                dto.posts.add(new PostDto(row.getPostId(), row.getImagePath()));
+            }
+        }
+        return new ArrayList<>(dtos.values());
     }
 }
@@ -0,0 +1,13 @@
+package com.trip.diary.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationPushDto {
+    private Long memberId;
+    private NotificationDto notification;
+}
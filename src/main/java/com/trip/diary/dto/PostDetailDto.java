@@ -1,7 +1,7 @@
 package com.trip.diary.dto;
 
+import com.trip.diary.domain.constants.ImageVariant;
 import com.trip.diary.domain.model.Post;
-import com.trip.diary.domain.model.PostImage;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -75,7 +75,7 @@ public class PostDetailDto {
                 .content(post.getContent())
                 .countOfLikes(countOfLikes)
                 .imagePaths(post.getImages().stream()
-                        .map(PostImage::getImagePath)
+                        .map(image -> image.getVariantImagePath(ImageVariant.MEDIUM))
                         .collect(Collectors.toList()))
                 .locationId(post.getLocation().getId())
                 .locationName(post.getLocation().getName())
@@ -0,0 +1,24 @@
+package com.trip.diary.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReindexResultDto {
+    private String indexName;
+    private long countOfDocuments;
+    private long elapsedMillis;
+
+    public double getDocsPerSecond() {
+        return elapsedMillis == 0 ? countOfDocuments : countOfDocuments * 1000.0 / elapsedMillis;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %d docs in %d ms (%.1f docs/sec)",
+                indexName, countOfDocuments, elapsedMillis, getDocsPerSecond());
+    }
+}
@@ -5,7 +5,6 @@ import com.trip.diary.domain.constants.ParticipantType;
 import com.trip.diary.domain.model.Bookmark;
 import com.trip.diary.domain.model.Location;
 import com.trip.diary.domain.model.Trip;
-import com.trip.diary.domain.vo.TripBookmarkVo;
 import com.trip.diary.elasticsearch.model.TripDocument;
 import com.trip.diary.util.TimeUtil;
 import lombok.AllArgsConstructor;
@@ -69,20 +68,10 @@ public class TripDto {
                 .title(document.getTitle())
                 .description(document.getDescription())
                 .isBookmarked(isBookmarked)
+                .countOfBookmark(document.getCountOfBookmark())
                 .locations(document.getLocations().stream()
                         .map(TripDocument.Location::getName)
                         .collect(Collectors.toSet()))
                 .build();
     }
-
-    public static TripDto of(TripBookmarkVo vo, List<String> locations, boolean isBookmarked) {
-        return TripDto.builder()
-                .id(vo.getTripId())
-                .title(vo.getTitle())
-                .description(vo.getDescription())
-                .isBookmarked(isBookmarked)
-                .countOfBookmark(vo.getCountOfBookmarked())
-                .locations(Set.copyOf(locations))
-                .build();
-    }
 }
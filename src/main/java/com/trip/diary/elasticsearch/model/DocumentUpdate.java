@@ -0,0 +1,37 @@
+package com.trip.diary.elasticsearch.model;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Map;
+
+/**
+ * bulk 요청에 담을 도큐먼트 변경 하나.
+ * 전체 도큐먼트 upsert, 일부 필드 수정, 스크립트 수정 중 하나다.
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class DocumentUpdate {
+    private final Long id;
+
+    private final BaseDocument document;
+
+    private final Map<String, Object> fields;
+
+    private final String script;
+
+    private final Map<String, Object> params;
+
+    public static DocumentUpdate upsert(BaseDocument document) {
+        return new DocumentUpdate(document.getId(), document, null, null, null);
+    }
+
+    public static DocumentUpdate partial(Long id, Map<String, Object> fields) {
+        return new DocumentUpdate(id, null, fields, null, null);
+    }
+
+    public static DocumentUpdate script(Long id, String script, Map<String, Object> params) {
+        return new DocumentUpdate(id, null, null, script, params);
+    }
+}
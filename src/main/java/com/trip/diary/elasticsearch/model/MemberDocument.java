@@ -12,6 +12,9 @@ import org.springframework.data.elasticsearch.annotations.FieldType;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
 
 @Getter
 @SuperBuilder
@@ -19,6 +22,18 @@ import java.util.List;
 @NoArgsConstructor
 @Document(indexName = "members")
 public class MemberDocument extends BaseDocument {
+    // 같은 변경이 여러 번 반영되어도 중복으로 추가하지 않는다
+    private static final String ADD_TRIP_SCRIPT =
+            "if (ctx._source.trips == null) { ctx._source.trips = []; } " +
+                    "for (def trip : ctx._source.trips) { " +
+                    "if (trip.id == params.tripId) { ctx.op = 'noop'; return; } } " +
+                    "ctx._source.trips.add(['id': params.tripId]);";
+    private static final String REMOVE_TRIP_SCRIPT =
+            "def trips = ctx._source.trips; " +
+                    "if (trips != null) { for (int i = 0; i < trips.size(); i++) { " +
+                    "if (trips[i].id == params.tripId) { trips.remove(i); return; } } } " +
+                    "ctx.op = 'noop';";
+
     private String nickname;
 
     private String profileUrl;
@@ -42,19 +57,32 @@ public class MemberDocument extends BaseDocument {
                 .build();
     }
 
-    public void addTripId(Long tripId) {
-        trips.add(new Trip(tripId));
+    public static DocumentUpdate getAddTripUpdate(Long memberId, Long tripId) {
+        return DocumentUpdate.script(memberId, ADD_TRIP_SCRIPT, Map.of("tripId", tripId));
     }
 
-    public void removeTripId(Long tripId) {
-        trips.stream()
-                .filter(trip -> trip.getId().equals(tripId))
-                .findAny()
-                .ifPresent(trip -> trips.remove(trip));
+    public static DocumentUpdate getRemoveTripUpdate(Long memberId, Long tripId) {
+        return DocumentUpdate.script(memberId, REMOVE_TRIP_SCRIPT, Map.of("tripId", tripId));
     }
 
     public boolean isInvitedInTrip(Long tripId) {
         return trips.stream()
                 .anyMatch(trip -> trip.getId().equals(tripId));
     }
+
+    /**
+     * MySQL 에서 만든 도큐먼트와 내용이 같은지 비교한다. 여행 기록장 순서는 무시한다.
+     */
+    public boolean hasSameContent(MemberDocument other) {
+        return Objects.equals(nickname, other.nickname)
+                && Objects.equals(profileUrl, other.profileUrl)
+                && getSortedTripIds().equals(other.getSortedTripIds());
+    }
+
+    private List<Long> getSortedTripIds() {
+        return Objects.requireNonNullElse(trips, List.<Trip>of()).stream()
+                .map(Trip::getId)
+                .sorted()
+                .collect(Collectors.toList());
+    }
 }
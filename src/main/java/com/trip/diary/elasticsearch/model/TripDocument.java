@@ -11,7 +11,11 @@ import org.springframework.data.elasticsearch.annotations.Field;
 import org.springframework.data.elasticsearch.annotations.FieldType;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
 
 @Getter
 @SuperBuilder
@@ -26,6 +30,9 @@ public class TripDocument extends BaseDocument {
     @Field(type = FieldType.Boolean)
     private boolean isPrivate;
 
+    @Field(type = FieldType.Long)
+    private long countOfBookmark;
+
     @Field(type = FieldType.Nested)
     @Builder.Default
     private List<Location> locations = new ArrayList<>();
@@ -37,29 +44,57 @@ public class TripDocument extends BaseDocument {
         private String name;
     }
 
-    public static TripDocument from(Trip trip) {
+    public static TripDocument from(Trip trip, List<String> locationNames) {
         return TripDocument.builder()
                 .id(trip.getId())
                 .title(trip.getTitle())
                 .isPrivate(trip.isPrivate())
                 .description(trip.getDescription())
+                .countOfBookmark(trip.getCountOfBookmark())
+                .locations(locationNames.stream().map(Location::new).collect(Collectors.toList()))
                 .build();
     }
 
-    public void addLocation(String locationName) {
-        locations.add(new Location(locationName));
+    public static DocumentUpdate getUpdate(Trip trip) {
+        Map<String, Object> fields = new HashMap<>();
+        fields.put("title", trip.getTitle());
+        fields.put("description", trip.getDescription());
+        fields.put("isPrivate", trip.isPrivate());
+        return DocumentUpdate.partial(trip.getId(), fields);
+    }
+
+    /**
+     * 증감 대신 MySQL 의 현재 값을 보내므로 같은 변경이 여러 번 반영되어도 결과가 같다.
+     */
+    public static DocumentUpdate getBookmarkUpdate(Trip trip) {
+        return DocumentUpdate.partial(trip.getId(), Map.of("countOfBookmark", trip.getCountOfBookmark()));
+    }
+
+    /**
+     * 추가/삭제된 로케이션 하나 대신 MySQL 의 현재 로케이션 목록으로 덮어쓰므로
+     * 같은 변경이 여러 번 반영되어도 결과가 같다.
+     */
+    public static DocumentUpdate getLocationsUpdate(Long tripId, List<String> locationNames) {
+        return DocumentUpdate.partial(tripId, Map.of("locations", locationNames.stream()
+                .map(locationName -> Map.of("name", locationName))
+                .collect(Collectors.toList())));
     }
 
-    public void removeLocation(String locationName) {
-        locations.stream()
-                .filter(location -> location.getName().equals(locationName))
-                .findFirst()
-                .ifPresent(location -> locations.remove(location));
+    /**
+     * MySQL 에서 만든 도큐먼트와 내용이 같은지 비교한다. 로케이션 순서는 무시한다.
+     */
+    public boolean hasSameContent(TripDocument other) {
+        return Objects.equals(title, other.title)
+                && Objects.equals(description, other.description)
+                && isPrivate == other.isPrivate
+                && countOfBookmark == other.countOfBookmark
+                && getSortedLocationNames().equals(other.getSortedLocationNames());
     }
 
-    public void update(Trip trip) {
-        this.title = trip.getTitle();
-        this.description = trip.getDescription();
-        this.isPrivate = trip.isPrivate();
+    private List<String> getSortedLocationNames() {
+        return Objects.requireNonNullElse(locations, List.<Location>of()).stream()
+                .map(Location::getName)
+                .sorted()
+                .collect(Collectors.toList());
     }
 }
@@ -24,4 +24,10 @@ public interface TripSearchRepository extends ElasticsearchRepository<TripDocume
             "    {\"term\": {\"locations.name\": \"?0\"}}],\n" +
             "    \"filter\": [{\"term\": {\"isPrivate\": false}}]}}")
     Page<TripDocument> findByLocationsName(String locationName, Pageable pageable);
+
+    @Query("{\"bool\": { \"should\": [ \n" +
+            "    {\"wildcard\": { \"title\": { \"value\": \"*?0*\"}}},\n" +
+            "    {\"match_phrase\": {\"description\": \"?0\"}}],\n" +
+            "    \"filter\": [{\"term\": {\"isPrivate\": false}}], \"minimum_should_match\": 1}}")
+    Page<TripDocument> findByKeywordOrderByBookmark(String keyword, Pageable pageable);
 }
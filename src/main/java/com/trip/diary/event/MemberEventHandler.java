@@ -1,21 +1,22 @@
 package com.trip.diary.event;
 
+import com.trip.diary.domain.model.SearchOutbox;
+import com.trip.diary.domain.repository.SearchOutboxRepository;
 import com.trip.diary.event.dto.MemberRegisterEvent;
-import com.trip.diary.service.MemberSearchService;
 import lombok.RequiredArgsConstructor;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.event.TransactionPhase;
 import org.springframework.transaction.event.TransactionalEventListener;
 
+import static com.trip.diary.domain.constants.SearchOutboxType.MEMBER_SAVE;
+
 @Component
 @RequiredArgsConstructor
 public class MemberEventHandler {
-    private final MemberSearchService memberSearchService;
+    private final SearchOutboxRepository searchOutboxRepository;
 
-    @Async
-    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
     public void handleMemberRegisterEvent(MemberRegisterEvent event) {
-        memberSearchService.save(event.getMember());
+        searchOutboxRepository.save(SearchOutbox.of(MEMBER_SAVE, event.getMember().getId()));
     }
 }
@@ -0,0 +1,34 @@
+package com.trip.diary.event;
+
+import com.trip.diary.domain.repository.NotificationUnreadCountRedisRepository;
+import com.trip.diary.event.dto.NotificationCreateEvent;
+import com.trip.diary.event.dto.NotificationUnreadCountEvent;
+import com.trip.diary.service.NotificationBatchWriter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Component
+@RequiredArgsConstructor
+public class NotificationEventHandler {
+    private final NotificationBatchWriter notificationBatchWriter;
+    private final NotificationUnreadCountRedisRepository notificationUnreadCountRedisRepository;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void handleNotificationCreateEvent(NotificationCreateEvent event) {
+        notificationBatchWriter.enqueue(event.getNotifications());
+    }
+
+    /**
+     * 롤백되면 카운터를 바꾸지 않도록 커밋된 뒤에 반영한다.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void handleNotificationUnreadCountEvent(NotificationUnreadCountEvent event) {
+        if (event.isReset()) {
+            notificationUnreadCountRedisRepository.save(event.getMemberId(), 0);
+        } else {
+            notificationUnreadCountRedisRepository.decrease(event.getMemberId(), event.getCountOfRead());
+        }
+    }
+}
@@ -1,21 +1,50 @@
 package com.trip.diary.event;
 
 import com.trip.diary.event.dto.ImageDeleteEvent;
+import com.trip.diary.event.dto.ImageResizeEvent;
+import com.trip.diary.event.dto.PostChangeEvent;
+import com.trip.diary.service.PostImageService;
 import com.trip.diary.util.ImageManager;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.CacheManager;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.event.TransactionPhase;
 import org.springframework.transaction.event.TransactionalEventListener;
 
+import java.util.Optional;
+
 @Component
 @RequiredArgsConstructor
 public class PostEventHandler {
     private final ImageManager imageManager;
+    private final PostImageService postImageService;
+    private final CacheManager cacheManager;
+    private static final String LOCATION_GALLERY_CACHE_NAME = "LocationGallery";
 
     @Async
     @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
     public void deleteImageInStorage(ImageDeleteEvent event) {
         imageManager.deleteImages(event.getImagePaths());
     }
+
+    @Async("imageResizeExecutor")
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void createResizedImages(ImageResizeEvent event) {
+        postImageService.createResizedImages(event.getPostId(), event.getLocationId());
+        evict(event.getTripId());
+    }
+
+    /**
+     * 커밋된 뒤에 지워야 지우는 사이에 커밋 전 데이터로 캐시가 다시 채워지지 않는다.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void evictLocationGallery(PostChangeEvent event) {
+        evict(event.getTripId());
+    }
+
+    private void evict(Long tripId) {
+        Optional.ofNullable(cacheManager.getCache(LOCATION_GALLERY_CACHE_NAME))
+                .ifPresent(cache -> cache.evict(tripId));
+    }
 }
@@ -1,54 +1,69 @@
 package com.trip.diary.event;
 
+import com.trip.diary.domain.model.SearchOutbox;
+import com.trip.diary.domain.repository.SearchOutboxRepository;
 import com.trip.diary.event.dto.*;
-import com.trip.diary.service.MemberSearchService;
-import com.trip.diary.service.TripSearchService;
 import lombok.RequiredArgsConstructor;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.event.TransactionPhase;
 import org.springframework.transaction.event.TransactionalEventListener;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static com.trip.diary.domain.constants.SearchOutboxType.*;
+
+/**
+ * 도큐먼트 변경을 커밋 직전에 같은 트랜잭션으로 아웃박스에 기록한다.
+ * 엘라스틱서치 반영은 {@link com.trip.diary.service.SearchOutboxRelay} 가 맡는다.
+ */
 @Component
 @RequiredArgsConstructor
 public class TripEventHandler {
-    private final MemberSearchService memberSearchService;
-    private final TripSearchService tripSearchService;
+    private final SearchOutboxRepository searchOutboxRepository;
 
-    @Async
-    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
     public void handleTripCreateEvent(TripCreateEvent event) {
-        tripSearchService.save(event.getTrip());
-        memberSearchService.addTripToMemberDocuments(event.getParticipantsIds(), event.getTrip().getId());
+        List<SearchOutbox> outboxes = new ArrayList<>();
+        outboxes.add(SearchOutbox.of(TRIP_SAVE, event.getTrip().getId()));
+        outboxes.addAll(getMemberTripAddOutboxes(event.getParticipantsIds(), event.getTrip().getId()));
+        searchOutboxRepository.saveAll(outboxes);
     }
 
-    @Async
-    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
     public void handleTripUpdateEvent(TripUpdateEvent event) {
-        tripSearchService.update(event.getTrip());
+        searchOutboxRepository.save(SearchOutbox.of(TRIP_UPDATE, event.getTrip().getId()));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void handleTripBookmarkEvent(TripBookmarkEvent event) {
+        searchOutboxRepository.save(SearchOutbox.of(BOOKMARK_UPDATE, event.getTripId()));
     }
 
-    @Async
-    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
     public void handleTripInviteEvent(TripInviteEvent event) {
-        memberSearchService.addTripToMemberDocuments(event.getParticipantsIds(), event.getTripId());
+        searchOutboxRepository.saveAll(getMemberTripAddOutboxes(event.getParticipantsIds(), event.getTripId()));
     }
 
-    @Async
-    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
     public void handleTripKickOutEvent(TripKickOutEvent event) {
-        memberSearchService.removeTripToMemberDocument(event.getMemberId(), event.getTripId());
+        searchOutboxRepository.save(SearchOutbox.of(MEMBER_TRIP_REMOVE, event.getMemberId(), event.getTripId()));
     }
 
-    @Async
-    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
     public void handleLocationCreateEvent(LocationCreateEvent event) {
-        tripSearchService.addLocationToTripDocument(event.getTripId(), event.getLocationName());
+        searchOutboxRepository.save(SearchOutbox.of(LOCATION_ADD, event.getTripId(), event.getLocationName()));
     }
 
-    @Async
-    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
     public void handleLocationDeleteEvent(LocationDeleteEvent event) {
-        tripSearchService.removeToTripDocument(event.getTripId(), event.getLocationName());
+        searchOutboxRepository.save(SearchOutbox.of(LOCATION_REMOVE, event.getTripId(), event.getLocationName()));
+    }
+
+    private List<SearchOutbox> getMemberTripAddOutboxes(Set<Long> participantsIds, Long tripId) {
+        return participantsIds.stream()
+                .map(participantId -> SearchOutbox.of(MEMBER_TRIP_ADD, participantId, tripId))
+                .toList();
     }
 }
@@ -0,0 +1,12 @@
+package com.trip.diary.event.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class ImageResizeEvent {
+    private Long postId;
+    private Long locationId;
+    private Long tripId;
+}
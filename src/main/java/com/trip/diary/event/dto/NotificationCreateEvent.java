@@ -0,0 +1,13 @@
+package com.trip.diary.event.dto;
+
+import com.trip.diary.domain.model.Notification;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class NotificationCreateEvent {
+    private List<Notification> notifications;
+}
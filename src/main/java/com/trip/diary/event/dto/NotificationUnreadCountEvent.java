@@ -0,0 +1,23 @@
+package com.trip.diary.event.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 커밋된 뒤에 안 읽은 알림 수 카운터를 바꾼다. reset 이면 0 으로 맞춘다.
+ */
+@Getter
+@AllArgsConstructor
+public class NotificationUnreadCountEvent {
+    private Long memberId;
+    private long countOfRead;
+    private boolean reset;
+
+    public static NotificationUnreadCountEvent decrease(Long memberId, long countOfRead) {
+        return new NotificationUnreadCountEvent(memberId, countOfRead, false);
+    }
+
+    public static NotificationUnreadCountEvent reset(Long memberId) {
+        return new NotificationUnreadCountEvent(memberId, 0, true);
+    }
+}
@@ -0,0 +1,10 @@
+package com.trip.diary.event.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class PostChangeEvent {
+    private Long tripId;
+}
@@ -24,7 +24,9 @@ public enum ErrorCode {
     NOT_POST_OWNER(HttpStatus.BAD_REQUEST, "해당 기록에 대한 작성자가 아닙니다."),
     NOT_INVITED_TRIP(HttpStatus.BAD_REQUEST, "초대받은 여행 기록장이 아닙니다."),
     CAN_NOT_RE_COMMENT_TO_RE_COMMENT(HttpStatus.BAD_REQUEST, "대댓글에 대댓글을 달 수 없습니다."),
-    UPLOAD_FAILED(HttpStatus.BAD_REQUEST, "업로드에 실패했습니다.")
+    UPLOAD_FAILED(HttpStatus.BAD_REQUEST, "업로드에 실패했습니다."),
+    DOWNLOAD_FAILED(HttpStatus.BAD_REQUEST, "다운로드에 실패했습니다."),
+    RESIZE_FAILED(HttpStatus.BAD_REQUEST, "이미지 변환에 실패했습니다.")
     ;
     private final HttpStatus httpStatus;
     private final String detail;
@@ -1,5 +1,6 @@
 package com.trip.diary.security;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -33,9 +34,10 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
         String token = resolveTokenFromRequest(request);
 
-        if (StringUtils.hasText(token) && tokenProvider.validateToken(token)) {
-            SecurityContextHolder.getContext()
-                    .setAuthentication(generateAuthentication(token));
+        if (StringUtils.hasText(token)) {
+            tokenProvider.getVerifiedClaims(token)
+                    .ifPresent(claims -> SecurityContextHolder.getContext()
+                            .setAuthentication(generateAuthentication(claims)));
         }
 
         filterChain.doFilter(request, response);
@@ -49,8 +51,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         return null;
     }
 
-    public Authentication generateAuthentication(String token) {
-        UserDetails userDetails = userDetailsService.loadUserByUsername(tokenProvider.getUsername(token));
+    public Authentication generateAuthentication(Claims claims) {
+        // 회원 정보가 담기기 전에 발급된 토큰만 DB 에서 조회
+        UserDetails userDetails = tokenProvider.hasMemberClaims(claims) ?
+                new MemberPrincipal(tokenProvider.getMember(claims)) :
+                userDetailsService.loadUserByUsername(claims.getSubject());
         return new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
     }
 }
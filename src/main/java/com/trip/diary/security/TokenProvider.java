@@ -1,16 +1,30 @@
 package com.trip.diary.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.trip.diary.domain.constants.MemberType;
+import com.trip.diary.domain.model.Member;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.impl.TextCodec;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Date;
+import java.util.HexFormat;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 @Component
 @Slf4j
@@ -18,34 +32,99 @@ import java.util.Date;
 public class TokenProvider {
     @Value("${spring.jwt.secret}")
     private String secretKey;
+    private byte[] signingKey;
     private static final long TOKEN_AVAILABLE_TIME = 1000 * 60 * 60;
+    private static final long VERIFIED_TOKEN_CACHE_MAXIMUM_SIZE = 10_000;
+    private static final String KEY_MEMBER_ID = "memberId";
+    private static final String KEY_NICKNAME = "nickname";
+    private static final String KEY_PROFILE_PATH = "profilePath";
+    private static final String KEY_MEMBER_TYPE = "type";
 
-    public String generateToken(String username) {
+    // 서명 검증을 마친 토큰의 클레임을 토큰 만료 시각까지 보관
+    private final Cache<String, Claims> verifiedClaims = Caffeine.newBuilder()
+            .maximumSize(VERIFIED_TOKEN_CACHE_MAXIMUM_SIZE)
+            .expireAfter(new Expiry<String, Claims>() {
+                @Override
+                public long expireAfterCreate(String key, Claims claims, long currentTime) {
+                    long remainingMillis = claims.getExpiration().getTime() - System.currentTimeMillis();
+                    return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMillis, 0));
+                }
+
+                @Override
+                public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+                    return currentDuration;
+                }
+
+                @Override
+                public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+                    return currentDuration;
+                }
+            })
+            .build();
+
+    @PostConstruct
+    void init() {
+        signingKey = TextCodec.BASE64.decode(secretKey);
+    }
+
+    public String generateToken(Member member) {
         Date now = new Date();
 
         return Jwts.builder()
-                .setSubject(username)
+                .setSubject(member.getUsername())
+                .claim(KEY_MEMBER_ID, member.getId())
+                .claim(KEY_NICKNAME, member.getNickname())
+                .claim(KEY_PROFILE_PATH, member.getProfilePath())
+                .claim(KEY_MEMBER_TYPE, member.getType().name())
                 .setIssuedAt(now)
                 .setExpiration(new Date(now.getTime() + TOKEN_AVAILABLE_TIME))
-                .signWith(SignatureAlgorithm.HS256, secretKey)
+                .signWith(SignatureAlgorithm.HS256, signingKey)
                 .compact();
     }
 
-    public boolean validateToken(String token) {
+    /**
+     * 토큰을 한 번만 파싱해 만료되지 않은 경우 클레임을 반환한다.
+     * 이미 검증한 토큰은 서명 검증 없이 캐시에서 반환한다.
+     */
+    public Optional<Claims> getVerifiedClaims(String token) {
         if (!StringUtils.hasText(token)) {
-            return false;
+            return Optional.empty();
+        }
+
+        String tokenDigest = digest(token);
+        Claims cachedClaims = verifiedClaims.getIfPresent(tokenDigest);
+        if (Objects.nonNull(cachedClaims)) {
+            return Optional.of(cachedClaims);
         }
+
         Claims claims = parseClaims(token);
-        return claims.getExpiration().after(new Date());
+        if (!claims.getExpiration().after(new Date())) {
+            return Optional.empty();
+        }
+        verifiedClaims.put(tokenDigest, claims);
+        return Optional.of(claims);
+    }
+
+    public boolean hasMemberClaims(Claims claims) {
+        return claims.containsKey(KEY_MEMBER_ID);
     }
 
-    public String getUsername(String token) {
-        return parseClaims(token).getSubject();
+    /**
+     * 클레임만으로 회원 정보를 구성한다. 영속 상태가 아닌 식별자 참조용 객체이다.
+     */
+    public Member getMember(Claims claims) {
+        return Member.builder()
+                .id(claims.get(KEY_MEMBER_ID, Long.class))
+                .username(claims.getSubject())
+                .nickname(claims.get(KEY_NICKNAME, String.class))
+                .profilePath(claims.get(KEY_PROFILE_PATH, String.class))
+                .type(MemberType.valueOf(claims.get(KEY_MEMBER_TYPE, String.class)))
+                .build();
     }
 
     private Claims parseClaims(String token) {
         try {
-            return Jwts.parser().setSigningKey(secretKey)
+            return Jwts.parser().setSigningKey(signingKey)
                     .parseClaimsJws(token)
                     .getBody();
         } catch (ExpiredJwtException e) {
@@ -53,4 +132,13 @@ public class TokenProvider {
         }
     }
 
+    private String digest(String token) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256")
+                    .digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
 }
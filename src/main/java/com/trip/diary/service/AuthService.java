@@ -63,6 +63,6 @@ public class AuthService {
             throw new MemberException(ErrorCode.PASSWORD_UNMATCHED);
         }
 
-        return new TokenDto(tokenProvider.generateToken(form.getUsername()));
+        return new TokenDto(tokenProvider.generateToken(member));
     }
 }
@@ -7,14 +7,18 @@ import com.trip.diary.domain.repository.BookmarkRepository;
 import com.trip.diary.domain.repository.ParticipantRepository;
 import com.trip.diary.domain.repository.TripRepository;
 import com.trip.diary.dto.TripDto;
+import com.trip.diary.event.dto.TripBookmarkEvent;
 import com.trip.diary.exception.TripException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.SliceImpl;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import static com.trip.diary.domain.constants.Constants.BOOKMARK_PAGE_SIZE;
@@ -27,30 +31,52 @@ public class BookmarkService {
     private final TripRepository tripRepository;
     private final ParticipantRepository participantRepository;
     private final BookmarkRepository bookmarkRepository;
+    private final ApplicationEventPublisher applicationEventPublisher;
 
+    /**
+     * 북마크 수는 트립에 따로 세어 두고, 검색 인덱스에는 아웃박스로 반영한다.
+     */
+    @Transactional
     public void bookmark(Long tripId, Member member) {
         Trip trip = tripRepository.findById(tripId)
                 .orElseThrow(() -> new TripException(NOT_FOUND_TRIP));
 
         bookmarkRepository.findByTripAndMember(trip, member)
-                .ifPresentOrElse(bookmarkRepository::delete,
-                        () -> bookmarkRepository.save(Bookmark.builder()
-                                .trip(trip)
-                                .member(member)
-                                .build()));
+                .ifPresentOrElse(bookmark -> {
+                    bookmarkRepository.delete(bookmark);
+                    tripRepository.updateCountOfBookmark(tripId, -1);
+                }, () -> {
+                    bookmarkRepository.save(Bookmark.builder()
+                            .trip(trip)
+                            .member(member)
+                            .build());
+                    tripRepository.updateCountOfBookmark(tripId, 1);
+                });
+        applicationEventPublisher.publishEvent(new TripBookmarkEvent(tripId));
     }
 
     @Transactional
     public Slice<TripDto> readBookmarks(int page, Member member) {
         Slice<Bookmark> bookmarkSlice = bookmarkRepository
                 .findByMember(member, PageRequest.of(page, BOOKMARK_PAGE_SIZE));
+        Set<Long> readableTripIds = findReadablePrivateTripIds(bookmarkSlice.getContent(), member);
         return new SliceImpl<>(bookmarkSlice.stream()
-                .filter(bookmark -> isMemberHaveReadAuthority(bookmark.getTrip(), member))
+                .filter(bookmark -> !bookmark.getTrip().isPrivate()
+                        || readableTripIds.contains(bookmark.getTrip().getId()))
                 .map(TripDto::of)
                 .collect(Collectors.toList()), bookmarkSlice.getPageable(), bookmarkSlice.hasNext());
     }
 
-    private boolean isMemberHaveReadAuthority(Trip trip, Member member) {
-        return (!trip.isPrivate() || participantRepository.existsByTripAndMemberAndType(trip, member, ACCEPTED));
+    /**
+     * 비공개 트립의 읽기 권한을 트립마다 묻지 않고 한 번에 조회한다.
+     */
+    private Set<Long> findReadablePrivateTripIds(List<Bookmark> bookmarks, Member member) {
+        List<Long> privateTripIds = bookmarks.stream()
+                .map(Bookmark::getTrip)
+                .filter(Trip::isPrivate)
+                .map(Trip::getId)
+                .collect(Collectors.toList());
+        return privateTripIds.isEmpty() ? Set.of()
+                : participantRepository.findTripIdsByMemberAndType(member, ACCEPTED, privateTripIds);
     }
 }
@@ -6,8 +6,10 @@ import com.trip.diary.domain.model.Post;
 import com.trip.diary.domain.model.Trip;
 import com.trip.diary.domain.repository.CommentLikeRedisRepository;
 import com.trip.diary.domain.repository.CommentRepository;
+import com.trip.diary.domain.repository.CommentRepositoryCustom;
 import com.trip.diary.domain.repository.ParticipantRepository;
 import com.trip.diary.domain.repository.PostRepository;
+import com.trip.diary.domain.vo.LikeStatusVo;
 import com.trip.diary.dto.CommentDto;
 import com.trip.diary.dto.CreateCommentForm;
 import com.trip.diary.exception.CommentException;
@@ -18,6 +20,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.stream.Collectors;
 
@@ -28,6 +31,7 @@ import static com.trip.diary.exception.ErrorCode.*;
 @AllArgsConstructor
 public class CommentService {
     private final CommentRepository commentRepository;
+    private final CommentRepositoryCustom commentRepositoryCustom;
     private final PostRepository postRepository;
     private final ParticipantRepository participantRepository;
     private final CommentLikeRedisRepository commentLikeRedisRepository;
@@ -54,7 +58,7 @@ public class CommentService {
                                               Member sender, Long receiverId) {
         if (!Objects.equals(sender.getId(), receiverId)) {
             notificationService.notifyComment(tripTitle, locationName, postId,
-                    sender.getNickname(), receiverId);
+                    sender.getId(), sender.getNickname(), receiverId);
         }
     }
 
@@ -87,7 +91,7 @@ public class CommentService {
         }
 
         validationMemberHaveWriteAuthority(comment.getPost().getTrip(), member);
-        sendNotificationToCommentWriter(comment.getPost().getTrip().getTitle(),
+        sendNotificationToCommentWriter(comment.getPost().getTrip().getTitle(), comment.getId(),
                 comment.getContent(), comment.getPost().getId(), member, comment.getMember().getId());
 
         return CommentDto.of(commentRepository.save(
@@ -99,11 +103,11 @@ public class CommentService {
                         .build()));
     }
 
-    private void sendNotificationToCommentWriter(String tripTitle, String commentContent, Long postId,
+    private void sendNotificationToCommentWriter(String tripTitle, Long commentId, String commentContent, Long postId,
                                               Member sender, Long receiverId) {
         if (!Objects.equals(sender.getId(), receiverId)) {
-            notificationService.notifyReComment(tripTitle, commentContent, postId,
-                    sender.getNickname(), receiverId);
+            notificationService.notifyReComment(tripTitle, commentId, commentContent, postId,
+                    sender.getId(), sender.getNickname(), receiverId);
         }
     }
 
@@ -114,26 +118,49 @@ public class CommentService {
 
         validationMemberHaveReadAuthority(post.getTrip(), member);
 
-        return commentRepository.findByPostAndParentCommentIsNull(post).stream()
-                .map(comment -> getCommentDto(comment, member.getId()))
+        List<Comment> comments = commentRepositoryCustom.findAllWithMemberByPostId(post.getId());
+        Map<Long, List<Comment>> reCommentsByParentId = comments.stream()
+                .filter(comment -> Objects.nonNull(comment.getParentComment()))
+                .collect(Collectors.groupingBy(comment -> comment.getParentComment().getId()));
+        Map<Long, LikeStatusVo> likeStatuses = commentLikeRedisRepository.findLikeStatusesByCommentIdsAndUserId(
+                getLikeableCommentIds(comments), member.getId());
+
+        return comments.stream()
+                .filter(comment -> Objects.isNull(comment.getParentComment()))
+                .map(comment -> getCommentDto(comment,
+                        reCommentsByParentId.getOrDefault(comment.getId(), List.of()),
+                        member.getId(), likeStatuses))
                 .collect(Collectors.toList());
     }
 
-    private CommentDto getCommentDto(Comment comment, Long readerId) {
-        return Objects.isNull(comment.getDeletedAt()) ?
-                CommentDto.of(comment,
-                        getReCommentDto(comment.getReComments(), readerId),
-                        readerId,
-                        commentLikeRedisRepository.countByCommentId(comment.getId()),
-                        commentLikeRedisRepository.existsByCommentIdAndUserId(comment.getId(), readerId))
-                : CommentDto.blind(getReCommentDto(comment.getReComments(), readerId));
+    private List<Long> getLikeableCommentIds(List<Comment> comments) {
+        return comments.stream()
+                .filter(comment -> Objects.isNull(comment.getDeletedAt()))
+                .map(Comment::getId)
+                .collect(Collectors.toList());
+    }
+
+    private CommentDto getCommentDto(Comment comment, List<Comment> reComments,
+                                     Long readerId, Map<Long, LikeStatusVo> likeStatuses) {
+        if (Objects.nonNull(comment.getDeletedAt())) {
+            return CommentDto.blind(getReCommentDto(reComments, readerId, likeStatuses));
+        }
+        LikeStatusVo likeStatus = likeStatuses.getOrDefault(comment.getId(), LikeStatusVo.empty());
+        return CommentDto.of(comment,
+                getReCommentDto(reComments, readerId, likeStatuses),
+                readerId,
+                likeStatus.getCountOfLikes(),
+                likeStatus.isReaderLiked());
     }
 
-    private List<CommentDto> getReCommentDto(List<Comment> reComments, Long readerId) {
+    private List<CommentDto> getReCommentDto(List<Comment> reComments, Long readerId,
+                                             Map<Long, LikeStatusVo> likeStatuses) {
         return reComments.stream()
-                .map(comment -> CommentDto.of(comment, readerId,
-                        commentLikeRedisRepository.countByCommentId(comment.getId()),
-                        commentLikeRedisRepository.existsByCommentIdAndUserId(comment.getId(), readerId)))
+                .map(comment -> {
+                    LikeStatusVo likeStatus = likeStatuses.getOrDefault(comment.getId(), LikeStatusVo.empty());
+                    return CommentDto.of(comment, readerId,
+                            likeStatus.getCountOfLikes(), likeStatus.isReaderLiked());
+                })
                 .collect(Collectors.toList());
     }
 
@@ -168,10 +195,6 @@ public class CommentService {
 
         validationMemberHaveWriteAuthority(comment.getPost().getTrip(), member);
 
-        if (commentLikeRedisRepository.existsByCommentIdAndUserId(commentId, member.getId())) {
-            commentLikeRedisRepository.delete(commentId, member.getId());
-        } else {
-            commentLikeRedisRepository.save(commentId, member.getId());
-        }
+        commentLikeRedisRepository.toggle(commentId, member.getId());
     }
 }
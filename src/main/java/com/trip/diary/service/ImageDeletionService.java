@@ -0,0 +1,65 @@
+package com.trip.diary.service;
+
+import com.trip.diary.domain.model.ImageDeletion;
+import com.trip.diary.domain.repository.ImageDeletionRepository;
+import com.trip.diary.domain.repository.PostImageRepository;
+import com.trip.diary.util.ImageManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 유예 기간이 지난 삭제 예약 이미지를 아무 기록도 참조하지 않을 때만 지운다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ImageDeletionService {
+    private static final int BATCH_SIZE = 100;
+    private final ImageDeletionRepository imageDeletionRepository;
+    private final PostImageRepository postImageRepository;
+    private final ImageManager imageManager;
+    private final TransactionTemplate transactionTemplate;
+
+    @Scheduled(fixedDelayString = "${image.deletion.delay:60000}")
+    public void deleteExpiredImages() {
+        List<String> imagePaths = imageDeletionRepository.findImagePathsToDelete(
+                LocalDateTime.now(), PageRequest.of(0, BATCH_SIZE));
+        for (String imagePath : imagePaths) {
+            try {
+                transactionTemplate.execute(status -> {
+                    deleteIfUnreferenced(imagePath);
+                    return null;
+                });
+            } catch (RuntimeException e) {
+                // 예약은 롤백되어 남아 있으므로 다음 주기에 다시 지운다
+                log.warn("failed to delete image {}", imagePath, e);
+            }
+        }
+    }
+
+    /**
+     * 예약 행을 잠근 채로 참조를 확인하고 지운다. 그동안 같은 이미지를 업로드하는 요청은 삭제를 미루려다 기다리고,
+     * 삭제가 끝난 뒤 이미지가 없는 것을 보고 다시 업로드한다.
+     */
+    private void deleteIfUnreferenced(String imagePath) {
+        Optional<ImageDeletion> optionalImageDeletion =
+                imageDeletionRepository.findByImagePathAndDeleteAfterLessThanEqual(imagePath, LocalDateTime.now());
+        if (optionalImageDeletion.isEmpty()) {
+            // 그 사이에 다른 인스턴스가 지웠거나 업로드로 미뤄졌다
+            return;
+        }
+
+        if (postImageRepository.findReferencedImagePaths(List.of(imagePath)).isEmpty()) {
+            imageManager.deleteImageInStorage(imagePath);
+        }
+        imageDeletionRepository.delete(optionalImageDeletion.get());
+    }
+}
@@ -0,0 +1,23 @@
+package com.trip.diary.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * --like.backfill.run-on-startup=true 로 실행하면 시작할 때 Redis 에만 있는 좋아요를 MySQL 로 옮긴다.
+ * 쓰기 지연 반영을 처음 배포한 뒤 한 번만 실행한다.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "like.backfill.run-on-startup", havingValue = "true")
+public class LikeBackfillRunner implements ApplicationRunner {
+    private final LikeWriteBehindService likeWriteBehindService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        likeWriteBehindService.backfill();
+    }
+}
@@ -0,0 +1,37 @@
+package com.trip.diary.service;
+
+import com.trip.diary.domain.repository.CommentLikeRedisRepository;
+import com.trip.diary.domain.repository.PostLikeRedisRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * --like.migration.run-on-startup=true 로 실행하면 like.encoding 의 좋아요를 like.mirror-encoding 의 키로 복사한다.
+ * 서버를 하나씩 바꾸는 동안에도 좋아요를 잃지 않도록 다음 순서로 저장 방식을 바꾼다.
+ * 1. like.encoding 은 그대로 두고 like.mirror-encoding 에 새 방식을 설정해 모든 서버를 배포한다.
+ * 2. 모든 서버가 두 방식에 함께 쓰게 된 뒤 이 러너를 한 번 실행해, 그 전에 한쪽에만 쓰인 좋아요를 맞춘다.
+ * 3. like.encoding 과 like.mirror-encoding 을 서로 바꿔 배포한다. 아직 바뀌지 않은 서버도 두 방식에 함께 쓴다.
+ * 4. like.mirror-encoding 을 지우고 배포한다. 이전 방식의 키는 그 뒤에 지워도 된다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "like.migration.run-on-startup", havingValue = "true")
+public class LikeMigrationRunner implements ApplicationRunner {
+    private final PostLikeRedisRepository postLikeRedisRepository;
+    private final CommentLikeRedisRepository commentLikeRedisRepository;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long startedAt = System.currentTimeMillis();
+        long countOfPostLikes = postLikeRedisRepository.copyToMirror();
+        long countOfCommentLikes = commentLikeRedisRepository.copyToMirror();
+        log.info("copied likes from {} : {} post likes, {} comment likes in {} ms",
+                postLikeRedisRepository.getEncoding(), countOfPostLikes, countOfCommentLikes,
+                System.currentTimeMillis() - startedAt);
+    }
+}
@@ -0,0 +1,22 @@
+package com.trip.diary.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * --like.rebuild.run-on-startup=true 로 실행하면 시작할 때 MySQL 의 좋아요로 Redis 를 다시 채운다.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "like.rebuild.run-on-startup", havingValue = "true")
+public class LikeRebuildRunner implements ApplicationRunner {
+    private final LikeWriteBehindService likeWriteBehindService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        likeWriteBehindService.rebuild();
+    }
+}
@@ -0,0 +1,273 @@
+package com.trip.diary.service;
+
+import com.trip.diary.domain.constants.LikeOperation;
+import com.trip.diary.domain.constants.LikeTarget;
+import com.trip.diary.domain.model.LikeRecord;
+import com.trip.diary.domain.repository.CommentLikeRedisRepository;
+import com.trip.diary.domain.repository.LikeJournalRedisRepository;
+import com.trip.diary.domain.repository.LikeRecordBulkRepository;
+import com.trip.diary.domain.repository.LikeRedisRepository;
+import com.trip.diary.domain.repository.PostLikeRedisRepository;
+import com.trip.diary.domain.vo.LikeJournalVo;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * 요청 스레드는 Redis 의 좋아요와 저널만 바꾸고, 백그라운드에서 저널을 모아 MySQL 에 반영한다.
+ * Redis 를 잃으면 MySQL 에서 다시 만든다. 처음 도입할 때는 Redis 에만 있던 좋아요를 MySQL 로 한 번 옮긴다.
+ */
+@Slf4j
+@Service
+public class LikeWriteBehindService {
+    private static final int BATCH_SIZE = 1000;
+    private static final int MAX_BATCHES_PER_FLUSH = 20;
+    private static final int REBUILD_CHUNK_SIZE = 10_000;
+    // 한 번에 반영하는 최대 배치 수를 처리하기에 충분히 길게 잡는다
+    private static final Duration LOCK_TIME_TO_LIVE = Duration.ofMinutes(1);
+    // 다시 채우거나 옮기는 동안에는 다른 서버가 저널을 반영하지 않도록 끝날 때까지 잠가 둔다
+    private static final Duration EXCLUSIVE_LOCK_TIME_TO_LIVE = Duration.ofHours(1);
+    // 반영한 저널이 없으면 스트림의 처음부터 다시 적용한다
+    private static final String FIRST_RECORD_ID = "0-0";
+    private final LikeJournalRedisRepository likeJournalRedisRepository;
+    private final LikeRecordBulkRepository likeRecordBulkRepository;
+    private final PostLikeRedisRepository postLikeRedisRepository;
+    private final CommentLikeRedisRepository commentLikeRedisRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Timer flushTimer;
+
+    public LikeWriteBehindService(LikeJournalRedisRepository likeJournalRedisRepository,
+                                  LikeRecordBulkRepository likeRecordBulkRepository,
+                                  PostLikeRedisRepository postLikeRedisRepository,
+                                  CommentLikeRedisRepository commentLikeRedisRepository,
+                                  TransactionTemplate transactionTemplate,
+                                  MeterRegistry meterRegistry) {
+        this.likeJournalRedisRepository = likeJournalRedisRepository;
+        this.likeRecordBulkRepository = likeRecordBulkRepository;
+        this.postLikeRedisRepository = postLikeRedisRepository;
+        this.commentLikeRedisRepository = commentLikeRedisRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.flushTimer = Timer.builder("like.write-behind.flush")
+                .description("좋아요 저널 배치 반영 소요 시간")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 저널을 오래된 것부터 반영하고 지운다. 반영한 뒤 지우기 전에 실패하면 다음에 다시 반영하는데,
+     * 저장과 삭제가 모두 멱등이고 순서대로 반영하므로 결과는 같다.
+     */
+    @Scheduled(fixedDelayString = "${like.write-behind.delay:1000}")
+    public void flush() {
+        Optional<String> token = likeJournalRedisRepository.lock(LOCK_TIME_TO_LIVE);
+        if (token.isEmpty()) {
+            return;
+        }
+
+        try {
+            for (int i = 0; i < MAX_BATCHES_PER_FLUSH; i++) {
+                if (flushBatch().size() < BATCH_SIZE) {
+                    return;
+                }
+            }
+        } catch (DataAccessException | TransactionException e) {
+            // 저널은 지우지 않았으므로 다음 주기에 다시 반영한다
+            log.error("failed to write like journals", e);
+        } finally {
+            likeJournalRedisRepository.unlock(token.get());
+        }
+    }
+
+    /**
+     * MySQL 의 좋아요로 Redis 를 다시 채운다. Redis 를 잃은 뒤 트래픽을 받기 전에 실행한다.
+     * MySQL 에 좋아요가 있는 대상의 키만 다시 만들고, 그 외의 키는 건드리지 않는다.
+     * 잠금은 다른 서버의 반영만 막으므로, 다시 채우는 동안 들어온 변경은 채운 뒤 저널에서 다시 적용한다.
+     */
+    public void rebuild() {
+        long startedAt = System.currentTimeMillis();
+        runWithDrainedJournal(lastDrainedRecordId -> {
+            long countOfPostLikes = rebuild(postLikeRedisRepository);
+            long countOfCommentLikes = rebuild(commentLikeRedisRepository);
+            long countOfReplayed = postLikeRedisRepository.replayJournal(lastDrainedRecordId)
+                    + commentLikeRedisRepository.replayJournal(lastDrainedRecordId);
+            log.info("rebuilt likes as {} : {} post likes, {} comment likes, {} replayed journals in {} ms",
+                    postLikeRedisRepository.getEncoding(), countOfPostLikes, countOfCommentLikes, countOfReplayed,
+                    System.currentTimeMillis() - startedAt);
+        });
+    }
+
+    /**
+     * 쓰기 지연 반영을 도입하기 전에 Redis 에만 쌓인 좋아요를 MySQL 에 한 번 옮긴다.
+     * insert ignore 로 저장하므로 이미 반영된 좋아요는 그대로 두고, MySQL 에만 있는 좋아요는 지우지 않는다.
+     */
+    public void backfill() {
+        long startedAt = System.currentTimeMillis();
+        runWithDrainedJournal(lastDrainedRecordId -> {
+            long countOfPostLikes = backfill(postLikeRedisRepository);
+            long countOfCommentLikes = backfill(commentLikeRedisRepository);
+            log.info("backfilled likes from {} : {} post likes, {} comment likes in {} ms",
+                    postLikeRedisRepository.getEncoding(), countOfPostLikes, countOfCommentLikes,
+                    System.currentTimeMillis() - startedAt);
+        });
+    }
+
+    /**
+     * 저널을 잠그고 빌 때까지 반영한 뒤, 마지막으로 반영한 기록의 아이디로 task 를 실행한다.
+     * 잠그지 못하거나 반영에 실패하면 task 를 실행하지 않고 예외를 던진다.
+     * task 가 끝날 때까지 잠금을 쥐고 있으므로 그 사이의 변경은 task 가 끝난 뒤에 순서대로 반영된다.
+     */
+    private void runWithDrainedJournal(Consumer<String> task) {
+        String token = likeJournalRedisRepository.lock(EXCLUSIVE_LOCK_TIME_TO_LIVE)
+                .orElseThrow(() -> new IllegalStateException("like journal is locked by another server"));
+        try {
+            String lastDrainedRecordId = FIRST_RECORD_ID;
+            for (List<LikeJournalVo> journals = flushBatch(); !journals.isEmpty(); journals = flushBatch()) {
+                lastDrainedRecordId = journals.get(journals.size() - 1).getRecordId();
+            }
+            task.accept(lastDrainedRecordId);
+        } finally {
+            likeJournalRedisRepository.unlock(token);
+        }
+    }
+
+    /**
+     * 가장 오래된 저널을 한 배치 반영하고 지운 뒤, 반영한 저널을 반환한다.
+     */
+    private List<LikeJournalVo> flushBatch() {
+        List<LikeJournalVo> journals = likeJournalRedisRepository.findOldest(BATCH_SIZE);
+        if (journals.isEmpty()) {
+            return journals;
+        }
+
+        flushTimer.record(() -> write(journals));
+        likeJournalRedisRepository.deleteAll(journals);
+        return journals;
+    }
+
+    private void write(List<LikeJournalVo> journals) {
+        // 같은 대상과 멤버의 변경은 마지막 것만 반영하고, CLEAR 는 그 전의 변경을 모두 덮는다
+        Map<String, LikeJournalVo> clears = new LinkedHashMap<>();
+        Map<String, Map<Long, LikeJournalVo>> latestByTarget = new LinkedHashMap<>();
+        for (LikeJournalVo journal : journals) {
+            String targetKey = journal.getTarget() + ":" + journal.getTargetId();
+            if (journal.getOperation() == LikeOperation.CLEAR) {
+                clears.put(targetKey, journal);
+                latestByTarget.remove(targetKey);
+                continue;
+            }
+            latestByTarget.computeIfAbsent(targetKey, key -> new LinkedHashMap<>())
+                    .put(journal.getMemberId(), journal);
+        }
+
+        Map<LikeOperation, List<LikeJournalVo>> latestByOperation = latestByTarget.values().stream()
+                .flatMap(latestByMember -> latestByMember.values().stream())
+                .collect(Collectors.groupingBy(LikeJournalVo::getOperation));
+        transactionTemplate.execute(status -> {
+            likeRecordBulkRepository.deleteAllByTargets(new ArrayList<>(clears.values()));
+            likeRecordBulkRepository.deleteAll(latestByOperation.getOrDefault(LikeOperation.UNLIKE, List.of()));
+            likeRecordBulkRepository.saveAll(latestByOperation.getOrDefault(LikeOperation.LIKE, List.of()).stream()
+                    .map(like -> toLikeRecord(like.getTarget(), like.getTargetId(), like.getMemberId()))
+                    .collect(Collectors.toList()));
+            return null;
+        });
+    }
+
+    private long rebuild(LikeRedisRepository likeRedisRepository) {
+        LikeTarget target = likeRedisRepository.getTarget();
+        RebuildChunk chunk = new RebuildChunk(likeRedisRepository);
+        likeRecordBulkRepository.findAllByTarget(target, like -> {
+            chunk.add(like);
+            if (chunk.size() >= REBUILD_CHUNK_SIZE) {
+                chunk.flush();
+            }
+        });
+        chunk.flush();
+        return chunk.countOfLikes;
+    }
+
+    private long backfill(LikeRedisRepository likeRedisRepository) {
+        LikeTarget target = likeRedisRepository.getTarget();
+        List<LikeRecord> likes = new ArrayList<>();
+        AtomicLong countOfLikes = new AtomicLong();
+        likeRedisRepository.findAll((targetId, memberIds) -> {
+            memberIds.forEach(memberId -> likes.add(toLikeRecord(target, targetId, memberId)));
+            if (likes.size() >= REBUILD_CHUNK_SIZE) {
+                countOfLikes.addAndGet(saveAll(likes));
+            }
+        });
+        countOfLikes.addAndGet(saveAll(likes));
+        return countOfLikes.get();
+    }
+
+    private int saveAll(List<LikeRecord> likes) {
+        int countOfLikes = likes.size();
+        if (countOfLikes > 0) {
+            transactionTemplate.execute(status -> {
+                likeRecordBulkRepository.saveAll(likes);
+                return null;
+            });
+            likes.clear();
+        }
+        return countOfLikes;
+    }
+
+    private LikeRecord toLikeRecord(LikeTarget target, Long targetId, Long memberId) {
+        return LikeRecord.builder()
+                .target(target)
+                .targetId(targetId)
+                .memberId(memberId)
+                .build();
+    }
+
+    /**
+     * 대상 아이디 순서로 읽은 좋아요를 모았다가 파이프라인 한 번으로 채운다.
+     * 앞 청크에서 이어지는 대상의 키는 이미 지웠으므로 다시 지우지 않는다.
+     */
+    private static class RebuildChunk {
+        private final LikeRedisRepository likeRedisRepository;
+        private final Map<Long, List<Long>> memberIdsByTargetId = new LinkedHashMap<>();
+        private Long lastTargetId;
+        private Long lastFlushedTargetId;
+        private int size;
+        private long countOfLikes;
+
+        private RebuildChunk(LikeRedisRepository likeRedisRepository) {
+            this.likeRedisRepository = likeRedisRepository;
+        }
+
+        private void add(LikeRecord like) {
+            memberIdsByTargetId.computeIfAbsent(like.getTargetId(), targetId -> new ArrayList<>())
+                    .add(like.getMemberId());
+            lastTargetId = like.getTargetId();
+            size++;
+        }
+
+        private int size() {
+            return size;
+        }
+
+        private void flush() {
+            if (memberIdsByTargetId.isEmpty()) {
+                return;
+            }
+
+            Set<Long> targetIdsToReset = new HashSet<>(memberIdsByTargetId.keySet());
+            targetIdsToReset.remove(lastFlushedTargetId);
+            likeRedisRepository.rebuild(memberIdsByTargetId, targetIdsToReset);
+            lastFlushedTargetId = lastTargetId;
+            countOfLikes += size;
+            memberIdsByTargetId.clear();
+            size = 0;
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.trip.diary.service;
 
 import com.trip.diary.domain.model.Member;
 import com.trip.diary.domain.model.Trip;
+import com.trip.diary.domain.repository.LocationRepository;
 import com.trip.diary.domain.repository.ParticipantRepository;
 import com.trip.diary.domain.repository.TripRepository;
 import com.trip.diary.dto.LocationDetailDto;
@@ -23,16 +24,15 @@ import static com.trip.diary.exception.ErrorCode.NOT_AUTHORITY_READ_TRIP;
 public class LocationService {
     private final TripRepository tripRepository;
     private final ParticipantRepository participantRepository;
+    private final LocationRepository locationRepository;
 
-    @Transactional
     public List<LocationDetailDto> readLocationDetails(Long tripId, Member member) {
         Trip trip = tripRepository.findById(tripId)
                 .orElseThrow(() -> new TripException(ErrorCode.NOT_FOUND_TRIP));
 
         validationMemberHaveReadAuthority(trip, member);
 
-        return trip.getLocations().stream()
-                .map(LocationDetailDto::of).collect(Collectors.toList());
+        return LocationDetailDto.from(locationRepository.findGalleryByTripId(tripId));
     }
 
     @Transactional
@@ -2,41 +2,73 @@ package com.trip.diary.service;
 
 import com.trip.diary.client.ElasticSearchClient;
 import com.trip.diary.domain.model.Member;
+import com.trip.diary.domain.model.SearchOutbox;
+import com.trip.diary.domain.repository.MemberRepository;
+import com.trip.diary.domain.repository.SearchReindexRepository;
 import com.trip.diary.dto.MemberDto;
+import com.trip.diary.elasticsearch.model.DocumentUpdate;
 import com.trip.diary.elasticsearch.model.MemberDocument;
 import com.trip.diary.elasticsearch.repository.MemberSearchRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
-import java.util.Objects;
-import java.util.Set;
+import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import static com.trip.diary.domain.constants.SearchOutboxType.MEMBER_RESYNC;
+import static com.trip.diary.domain.constants.SearchOutboxType.MEMBER_SAVE;
+
 @Service
 @RequiredArgsConstructor
 public class MemberSearchService {
     private final MemberSearchRepository memberSearchRepository;
+    private final MemberRepository memberRepository;
+    private final SearchReindexRepository searchReindexRepository;
     private final ElasticSearchClient elasticSearchClient;
     private static final String INDEX_NAME_OF_MEMBER = "members";
 
-    public void save(Member member) {
-        elasticSearchClient.save(MemberDocument.from(member));
-    }
+    /**
+     * 아웃박스에 쌓인 변경을 순서대로 한 번의 bulk 요청으로 보낸다.
+     * 여행 기록장 추가/삭제는 스크립트로 보내 도큐먼트를 읽지 않고 엘라스틱서치에서 바로 반영한다.
+     * 추가 스크립트는 이미 있는 여행 기록장을 건너뛰어 같은 아웃박스가 다시 반영되어도 결과가 같다.
+     * 다시 맞추는 변경은 릴레이가 반영하는 시점의 MySQL 을 읽으므로 앞선 변경을 덮어쓰지 않는다.
+     */
+    public void apply(List<SearchOutbox> outboxes) {
+        if (outboxes.isEmpty()) {
+            return;
+        }
 
-    public void addTripToMemberDocuments(Set<Long> participantsIds, Long tripId) {
-        elasticSearchClient.update(INDEX_NAME_OF_MEMBER,
-                memberSearchRepository.findByIdIn(participantsIds).stream()
-                        .peek(memberDocument -> memberDocument.addTripId(tripId))
-                        .collect(Collectors.toList()));
-    }
+        Map<Long, Member> members = memberRepository.findAllById(outboxes.stream()
+                        .filter(outbox -> outbox.getType() == MEMBER_SAVE)
+                        .map(SearchOutbox::getDocumentId)
+                        .collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(Member::getId, Function.identity()));
+
+        Set<Long> resyncMemberIds = outboxes.stream()
+                .filter(outbox -> outbox.getType() == MEMBER_RESYNC)
+                .map(SearchOutbox::getDocumentId)
+                .collect(Collectors.toSet());
+        Map<Long, MemberDocument> resyncDocuments = resyncMemberIds.isEmpty() ? Map.of()
+                : searchReindexRepository.findMemberDocumentsByIds(resyncMemberIds).stream()
+                .collect(Collectors.toMap(MemberDocument::getId, Function.identity()));
 
-    public void removeTripToMemberDocument(Long memberId, Long tripId) {
-        memberSearchRepository.findById(memberId)
-                .ifPresent(memberDocument -> {
-                    memberDocument.removeTripId(tripId);
-                    elasticSearchClient.update(INDEX_NAME_OF_MEMBER, memberDocument);
-                });
+        List<DocumentUpdate> updates = new ArrayList<>();
+        for (SearchOutbox outbox : outboxes) {
+            Long memberId = outbox.getDocumentId();
+            switch (outbox.getType()) {
+                case MEMBER_SAVE -> Optional.ofNullable(members.get(memberId))
+                        .ifPresent(member -> updates.add(DocumentUpdate.upsert(MemberDocument.from(member))));
+                case MEMBER_TRIP_ADD ->
+                        updates.add(MemberDocument.getAddTripUpdate(memberId, outbox.getPayloadAsLong()));
+                case MEMBER_TRIP_REMOVE ->
+                        updates.add(MemberDocument.getRemoveTripUpdate(memberId, outbox.getPayloadAsLong()));
+                case MEMBER_RESYNC -> Optional.ofNullable(resyncDocuments.get(memberId))
+                        .ifPresent(memberDocument -> updates.add(DocumentUpdate.upsert(memberDocument)));
+                default -> throw new IllegalArgumentException("not a member document outbox: " + outbox.getType());
+            }
+        }
+        elasticSearchClient.bulkUpdate(INDEX_NAME_OF_MEMBER, updates);
     }
 
     public List<MemberDto> searchAddableMembers(String keyword, Member member) {
@@ -0,0 +1,205 @@
+package com.trip.diary.service;
+
+import com.trip.diary.domain.model.Notification;
+import com.trip.diary.domain.repository.NotificationBulkRepository;
+import com.trip.diary.domain.repository.NotificationRepository;
+import com.trip.diary.domain.repository.NotificationUnreadCountRedisRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 요청 스레드는 알림을 큐에 넣기만 하고, 백그라운드에서 여러 요청의 알림을 모아 한 번에 저장한다.
+ */
+@Slf4j
+@Service
+public class NotificationBatchWriter {
+    private static final int QUEUE_CAPACITY = 10_000;
+    private static final int MAX_BATCH_SIZE = 500;
+    private final BlockingQueue<Notification> queue = new LinkedBlockingQueue<>(QUEUE_CAPACITY);
+    private final NotificationBulkRepository notificationBulkRepository;
+    private final NotificationRepository notificationRepository;
+    private final NotificationUnreadCountRedisRepository notificationUnreadCountRedisRepository;
+    private final NotificationStreamService notificationStreamService;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration coalescingWindow;
+    private final Timer flushTimer;
+
+    public NotificationBatchWriter(NotificationBulkRepository notificationBulkRepository,
+                                   NotificationRepository notificationRepository,
+                                   NotificationUnreadCountRedisRepository notificationUnreadCountRedisRepository,
+                                   NotificationStreamService notificationStreamService,
+                                   TransactionTemplate transactionTemplate,
+                                   @Value("${notification.coalescing-window:10m}") Duration coalescingWindow,
+                                   MeterRegistry meterRegistry) {
+        this.notificationBulkRepository = notificationBulkRepository;
+        this.notificationRepository = notificationRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.coalescingWindow = coalescingWindow;
+        this.notificationUnreadCountRedisRepository = notificationUnreadCountRedisRepository;
+        this.notificationStreamService = notificationStreamService;
+        Gauge.builder("notification.write.queue.size", queue, Collection::size)
+                .description("저장 대기 중인 알림 수")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("notification.write.flush")
+                .description("알림 배치 저장 소요 시간")
+                .register(meterRegistry);
+    }
+
+    public void enqueue(List<Notification> notifications) {
+        List<Notification> overflow = new ArrayList<>();
+        for (Notification notification : notifications) {
+            if (!queue.offer(notification)) {
+                overflow.add(notification);
+            }
+        }
+
+        // 큐가 가득 차면 버리지 않고 호출한 스레드에서 바로 저장
+        if (!overflow.isEmpty()) {
+            log.warn("notification queue is full, write {} notifications directly", overflow.size());
+            write(overflow);
+        }
+    }
+
+    @Scheduled(fixedDelay = 200)
+    public void flush() {
+        List<Notification> batch = new ArrayList<>(MAX_BATCH_SIZE);
+        while (queue.drainTo(batch, MAX_BATCH_SIZE) > 0) {
+            flushTimer.record(() -> write(batch));
+            batch.clear();
+        }
+    }
+
+    @PreDestroy
+    public void flushRemaining() {
+        flush();
+    }
+
+    private void write(List<Notification> notifications) {
+        List<Notification> coalesced = coalesceInBatch(notifications);
+        try {
+            writeInTransaction(coalesced);
+        } catch (DataAccessException | TransactionException e) {
+            // 일부 행 때문에 배치 전체가 실패한 경우 한 건씩 다시 저장
+            log.warn("failed to write {} notifications in batch, retry one by one", coalesced.size(), e);
+            coalesced.forEach(this::writeOne);
+        }
+    }
+
+    private void writeOne(Notification notification) {
+        try {
+            writeInTransaction(List.of(notification));
+        } catch (DataAccessException | TransactionException e) {
+            log.error("failed to write notification to member {}", notification.getMember().getId(), e);
+        }
+    }
+
+    private void writeInTransaction(List<Notification> notifications) {
+        List<String> senderIds = notifications.stream()
+                .map(Notification::getSenderIds)
+                .collect(Collectors.toList());
+
+        List<Notification> replaced;
+        try {
+            replaced = transactionTemplate.execute(status -> {
+                List<Notification> replacedNotifications = replaceRecentGroups(notifications);
+                notificationBulkRepository.saveAll(notifications);
+                return replacedNotifications;
+            });
+        } catch (DataAccessException | TransactionException e) {
+            // 롤백되었으므로 이전 알림에서 합친 보낸 사람을 되돌린다
+            for (int i = 0; i < notifications.size(); i++) {
+                notifications.get(i).setId(null);
+                if (Objects.nonNull(notifications.get(i).getGroupKey())) {
+                    notifications.get(i).setSenderIds(senderIds.get(i));
+                }
+            }
+            throw e;
+        }
+        afterWrite(notifications, replaced);
+    }
+
+    /**
+     * 같은 배치 안에서 같은 그룹의 알림은 마지막 알림 하나로 합친다.
+     */
+    private List<Notification> coalesceInBatch(List<Notification> notifications) {
+        List<Notification> result = new ArrayList<>();
+        Map<String, Notification> latestByGroup = new LinkedHashMap<>();
+        for (Notification notification : notifications) {
+            if (Objects.isNull(notification.getGroupKey())) {
+                result.add(notification);
+                continue;
+            }
+            latestByGroup.merge(getGroupIdentifier(notification), notification,
+                    (previous, current) -> current.mergeGroup(previous));
+        }
+        result.addAll(latestByGroup.values());
+        return result;
+    }
+
+    /**
+     * 합치는 기간 안에 만들어진 안 읽은 같은 그룹의 알림을 지우고, 새 알림에 보낸 사람을 합친다.
+     * 새 알림으로 교체해야 알림함 맨 위로 올라온다.
+     */
+    private List<Notification> replaceRecentGroups(List<Notification> notifications) {
+        Map<String, Notification> pendingByGroup = notifications.stream()
+                .filter(notification -> Objects.nonNull(notification.getGroupKey()))
+                .collect(Collectors.toMap(this::getGroupIdentifier, Function.identity()));
+        if (pendingByGroup.isEmpty()) {
+            return List.of();
+        }
+
+        List<Notification> previousNotifications = notificationRepository.findUnreadByGroupKeysCreatedAfter(
+                        pendingByGroup.values().stream().map(Notification::getGroupKey).collect(Collectors.toSet()),
+                        LocalDateTime.now().minus(coalescingWindow)).stream()
+                .filter(previous -> pendingByGroup.containsKey(getGroupIdentifier(previous)))
+                .collect(Collectors.toList());
+        if (previousNotifications.isEmpty()) {
+            return List.of();
+        }
+
+        previousNotifications.forEach(previous ->
+                pendingByGroup.get(getGroupIdentifier(previous)).mergeGroup(previous));
+        notificationRepository.deleteAllByIdInBatch(previousNotifications.stream()
+                .map(Notification::getId)
+                .collect(Collectors.toList()));
+        return previousNotifications;
+    }
+
+    private String getGroupIdentifier(Notification notification) {
+        return notification.getMember().getId() + ":" + notification.getGroupKey();
+    }
+
+    private void afterWrite(List<Notification> notifications, List<Notification> replaced) {
+        notifications.stream()
+                .collect(Collectors.groupingBy(notification -> notification.getMember().getId(),
+                        Collectors.counting()))
+                .forEach(notificationUnreadCountRedisRepository::increase);
+        replaced.stream()
+                .collect(Collectors.groupingBy(notification -> notification.getMember().getId(),
+                        Collectors.counting()))
+                .forEach(notificationUnreadCountRedisRepository::decrease);
+        notificationStreamService.publish(notifications);
+    }
+}
@@ -0,0 +1,131 @@
+package com.trip.diary.service;
+
+import com.trip.diary.domain.repository.NotificationBulkRepository;
+import com.trip.diary.domain.repository.NotificationPurgeRedisRepository;
+import com.trip.diary.domain.repository.NotificationRepository;
+import com.trip.diary.domain.repository.NotificationRepositoryCustom;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * 오래된 알림을 정리한다.
+ * 읽은 알림은 보관 기간이 지나면, 모든 알림은 조회 기간이 지나면 삭제한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class NotificationRetentionService {
+    // 알림함과 안 읽은 알림 수는 이 기간의 알림만 조회해 최근 파티션만 읽는다
+    private static final Duration VISIBLE_PERIOD = Duration.ofDays(90);
+    private static final int PURGE_CHUNK_SIZE = 1000;
+    private static final DateTimeFormatter PARTITION_MONTH_FORMAT = DateTimeFormatter.ofPattern("yyyyMM");
+    private static final Pattern MONTHLY_PARTITION_NAME = Pattern.compile("p\\d{6}");
+    // 청크 삭제가 길어져도 다른 서버가 중간에 시작하지 않도록 충분히 길게 잡는다
+    private static final Duration LOCK_TIME_TO_LIVE = Duration.ofHours(1);
+    private final NotificationRepository notificationRepository;
+    private final NotificationRepositoryCustom notificationRepositoryCustom;
+    private final NotificationBulkRepository notificationBulkRepository;
+    private final NotificationPurgeRedisRepository notificationPurgeRedisRepository;
+    @Value("${notification.read-retention:30d}")
+    private Duration readRetention;
+
+    public static LocalDateTime getVisibleSince() {
+        return LocalDateTime.now().minus(VISIBLE_PERIOD);
+    }
+
+    @Scheduled(cron = "0 0 4 * * *")
+    public void purge() {
+        Optional<String> token = notificationPurgeRedisRepository.lock(LOCK_TIME_TO_LIVE);
+        if (token.isEmpty()) {
+            return;
+        }
+
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            maintainPartitions(now);
+
+            int countOfExpired = deleteInChunks(() -> notificationRepositoryCustom
+                    .findIdsCreatedBefore(now.minus(VISIBLE_PERIOD), PURGE_CHUNK_SIZE));
+            int countOfExpiredRead = deleteInChunks(() -> notificationRepositoryCustom
+                    .findReadIdsCreatedBefore(now.minus(readRetention), PURGE_CHUNK_SIZE));
+            log.info("purged {} expired notifications and {} expired read notifications",
+                    countOfExpired, countOfExpiredRead);
+        } finally {
+            notificationPurgeRedisRepository.unlock(token.get());
+        }
+    }
+
+    /**
+     * 한 번에 지우는 행 수를 제한해 긴 잠금과 큰 undo 로그를 피한다.
+     */
+    private int deleteInChunks(Supplier<List<Long>> idsSupplier) {
+        int countOfDeleted = 0;
+        List<Long> ids;
+        do {
+            ids = idsSupplier.get();
+            if (!ids.isEmpty()) {
+                notificationRepository.deleteAllByIdInBatch(ids);
+                countOfDeleted += ids.size();
+            }
+        } while (ids.size() == PURGE_CHUNK_SIZE);
+        return countOfDeleted;
+    }
+
+    /**
+     * 파티션 테이블인 경우 다음 달 파티션을 미리 만들고, 조회 기간이 지난 달의 파티션은 통째로 삭제한다.
+     */
+    private void maintainPartitions(LocalDateTime now) {
+        List<String> partitionNames = notificationBulkRepository.findPartitionNames();
+        if (partitionNames.isEmpty()) {
+            return;
+        }
+
+        YearMonth currentMonth = YearMonth.from(now);
+        for (YearMonth month : List.of(currentMonth, currentMonth.plusMonths(1))) {
+            String partitionName = NotificationBulkRepository.getPartitionName(month);
+            if (!partitionNames.contains(partitionName)) {
+                notificationBulkRepository.addMonthlyPartition(month);
+                log.info("added notification partition {}", partitionName);
+            }
+        }
+
+        LocalDate visibleSince = now.minus(VISIBLE_PERIOD).toLocalDate();
+        partitionNames.stream()
+                .filter(partitionName -> getPartitionMonth(partitionName)
+                        .filter(month -> !month.plusMonths(1).atDay(1).isAfter(visibleSince))
+                        .isPresent())
+                .forEach(partitionName -> {
+                    notificationBulkRepository.dropPartition(partitionName);
+                    log.info("dropped notification partition {}", partitionName);
+                });
+    }
+
+    /**
+     * pYYYYMM 형태의 월별 파티션만 달을 반환하고, p_future 나 직접 만든 파티션은 건드리지 않도록 빈 값을 반환한다.
+     */
+    private Optional<YearMonth> getPartitionMonth(String partitionName) {
+        if (!MONTHLY_PARTITION_NAME.matcher(partitionName).matches()) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(YearMonth.parse(partitionName.substring(1), PARTITION_MONTH_FORMAT));
+        } catch (DateTimeParseException e) {
+            log.warn("skipped notification partition {}", partitionName);
+            return Optional.empty();
+        }
+    }
+}
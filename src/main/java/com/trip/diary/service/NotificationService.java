@@ -3,16 +3,24 @@ package com.trip.diary.service;
 import com.trip.diary.domain.constants.NotificationType;
 import com.trip.diary.domain.model.Member;
 import com.trip.diary.domain.model.Notification;
-import com.trip.diary.domain.repository.MemberRepository;
 import com.trip.diary.domain.repository.NotificationRepository;
+import com.trip.diary.domain.repository.NotificationRepositoryCustom;
+import com.trip.diary.domain.repository.NotificationUnreadCountRedisRepository;
+import com.trip.diary.domain.vo.NotificationMessageVo;
 import com.trip.diary.dto.NotificationDto;
+import com.trip.diary.event.dto.NotificationCreateEvent;
+import com.trip.diary.event.dto.NotificationUnreadCountEvent;
 import com.trip.diary.exception.ErrorCode;
-import com.trip.diary.exception.MemberException;
 import com.trip.diary.exception.NotificationException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
@@ -21,105 +29,154 @@ import java.util.stream.Collectors;
 @Service
 @RequiredArgsConstructor
 public class NotificationService {
+    private static final int NOTIFICATION_PAGE_SIZE = 20;
     private final NotificationRepository notificationRepository;
-    private final MemberRepository memberRepository;
-
-    public List<NotificationDto> readNotifications(Member member) {
-        return notificationRepository.findByMember(member).stream()
+    private final NotificationRepositoryCustom notificationRepositoryCustom;
+    private final NotificationUnreadCountRedisRepository notificationUnreadCountRedisRepository;
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    public Slice<NotificationDto> readNotifications(Long cursorId, Member member) {
+        List<Notification> notifications = notificationRepositoryCustom
+                .findByMemberIdBeforeCursor(member.getId(), cursorId,
+                        NotificationRetentionService.getVisibleSince(), NOTIFICATION_PAGE_SIZE);
+        boolean hasNext = notifications.size() > NOTIFICATION_PAGE_SIZE;
+
+        return new SliceImpl<>(notifications.stream()
+                .limit(NOTIFICATION_PAGE_SIZE)
                 .map(NotificationDto::of)
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()), PageRequest.ofSize(NOTIFICATION_PAGE_SIZE), hasNext);
+    }
+
+    public long countUnreadNotifications(Member member) {
+        return notificationUnreadCountRedisRepository.findByMemberId(member.getId())
+                .orElseGet(() -> {
+                    long count = notificationRepository.countByMember_IdAndReadAtIsNullAndCreatedAtGreaterThanEqual(
+                            member.getId(), NotificationRetentionService.getVisibleSince());
+                    notificationUnreadCountRedisRepository.save(member.getId(), count);
+                    return count;
+                });
     }
 
+    @Transactional
     public void checkNotification(Long notificationId, Member member) {
-        notificationRepository.findByIdAndMemberAndReadAtIsNull(notificationId, member)
-                .orElseThrow(() -> new NotificationException(ErrorCode.NOT_FOUND_NOTIFICATION))
-                .setReadAt();
+        if (notificationRepository.updateReadAtByIdsAndMemberId(
+                Set.of(notificationId), member.getId(), LocalDateTime.now()) == 0) {
+            throw new NotificationException(ErrorCode.NOT_FOUND_NOTIFICATION);
+        }
+        applicationEventPublisher.publishEvent(NotificationUnreadCountEvent.decrease(member.getId(), 1));
     }
 
     @Transactional
-    public void checkUnreadNotifications(Member member) {
-        notificationRepository.findByMemberAndReadAtIsNull(member)
-                .forEach(Notification::setReadAt);
+    public int checkUnreadNotifications(Member member) {
+        int countOfChecked = notificationRepository.updateReadAtByMemberId(member.getId(), LocalDateTime.now());
+        applicationEventPublisher.publishEvent(NotificationUnreadCountEvent.reset(member.getId()));
+        return countOfChecked;
     }
 
     @Transactional
-    public void deleteNotification(Long notificationId, Member member) {
-        notificationRepository.delete(
-                notificationRepository.findByIdAndMember(notificationId, member)
-                        .orElseThrow(() -> new NotificationException(ErrorCode.NOT_FOUND_NOTIFICATION)));
+    public int checkNotifications(Set<Long> notificationIds, Member member) {
+        if (notificationIds.isEmpty()) {
+            return 0;
+        }
+        int countOfChecked = notificationRepository.updateReadAtByIdsAndMemberId(
+                notificationIds, member.getId(), LocalDateTime.now());
+        applicationEventPublisher.publishEvent(NotificationUnreadCountEvent.decrease(member.getId(), countOfChecked));
+        return countOfChecked;
     }
 
     @Transactional
-    public void deleteNotifications(Set<Long> notificationIds, Member member) {
-        notificationRepository.deleteAllInBatch(
-                notificationRepository.findByIdIn(notificationIds).stream()
-                        .peek(notification -> {
-                            if(!Objects.equals(notification.getMember().getId(), member.getId())){
-                                throw new NotificationException(ErrorCode.NOT_FOUND_NOTIFICATION);
-                            }
-                        }).collect(Collectors.toList())
-        );
+    public void deleteNotification(Long notificationId, Member member) {
+        Notification notification = notificationRepository.findByIdAndMember(notificationId, member)
+                .orElseThrow(() -> new NotificationException(ErrorCode.NOT_FOUND_NOTIFICATION));
+        notificationRepository.delete(notification);
+
+        if (Objects.isNull(notification.getReadAt())) {
+            applicationEventPublisher.publishEvent(NotificationUnreadCountEvent.decrease(member.getId(), 1));
+        }
     }
 
+    /**
+     * 회원 본인의 알림만 삭제한다. 다른 회원의 알림이 섞여 있으면 삭제하지 않고, 이미 삭제된 알림은 무시한다.
+     */
     @Transactional
+    public int deleteNotifications(Set<Long> notificationIds, Member member) {
+        if (notificationIds.isEmpty()) {
+            return 0;
+        }
+
+        if (notificationRepository.existsByIdInAndMember_IdNot(notificationIds, member.getId())) {
+            throw new NotificationException(ErrorCode.NOT_FOUND_NOTIFICATION);
+        }
+
+        long countOfUnread = notificationRepository
+                .countByIdInAndMember_IdAndReadAtIsNull(notificationIds, member.getId());
+        int countOfDeleted = notificationRepository.deleteByIdsAndMemberId(notificationIds, member.getId());
+        applicationEventPublisher.publishEvent(NotificationUnreadCountEvent.decrease(member.getId(), countOfUnread));
+        return countOfDeleted;
+    }
+
     public void notifyInvitation(String tripTitle, String senderNickname, Set<Long> targetMemberIds) {
-        notificationRepository.saveAll(
-                memberRepository.findAllByIdIn(targetMemberIds).stream()
-                        .map(targetMember -> Notification.builder()
-                                .message(getInvitationNoticeMessage(tripTitle, senderNickname))
+        LocalDateTime now = LocalDateTime.now();
+        NotificationMessageVo messageVo = getInvitationNoticeMessage(tripTitle, senderNickname);
+        applicationEventPublisher.publishEvent(new NotificationCreateEvent(
+                targetMemberIds.stream()
+                        .map(targetMemberId -> Notification.builder()
+                                .message(messageVo.render(1))
+                                .messageVo(messageVo)
                                 .redirectPath("/trips/invitations")
                                 .type(NotificationType.INVITE)
-                                .member(targetMember)
+                                .member(Member.builder().id(targetMemberId).build())
+                                .createdAt(now)
                                 .build()).collect(Collectors.toList())
-        );
+        ));
     }
 
-    private String getInvitationNoticeMessage(String tripTitle, String senderNickname) {
-        return "[" + tripTitle + "] " +
-                senderNickname + "님이 기록 공간에 초대했어요. 여기를 눌러 초대에 응답하세요.";
+    private NotificationMessageVo getInvitationNoticeMessage(String tripTitle, String senderNickname) {
+        return new NotificationMessageVo("[" + tripTitle + "] ",
+                senderNickname, "기록 공간에 초대했어요. 여기를 눌러 초대에 응답하세요.");
     }
 
-    @Transactional
     public void notifyComment(String tripTitle, String locationName, Long postId,
-                              String senderNickname, Long receiverId) {
-        Member receiver = memberRepository.findById(receiverId)
-                .orElseThrow(() -> new MemberException(ErrorCode.NOT_FOUND_MEMBER));
-
-        notificationRepository.save(
+                              Long senderId, String senderNickname, Long receiverId) {
+        NotificationMessageVo messageVo = getCommentNoticeMessage(tripTitle, locationName, senderNickname);
+        applicationEventPublisher.publishEvent(new NotificationCreateEvent(List.of(
                 Notification.builder()
-                        .message(getCommentNoticeMessage(tripTitle, locationName, senderNickname))
+                        .message(messageVo.render(1))
+                        .messageVo(messageVo)
                         .redirectPath("/trips/posts/" + postId + "/comments")
                         .type(NotificationType.COMMENT)
-                        .member(receiver)
-                        .build());
+                        .groupKey(NotificationType.COMMENT.name() + postId)
+                        .senderIds(String.valueOf(senderId))
+                        .member(Member.builder().id(receiverId).build())
+                        .createdAt(LocalDateTime.now())
+                        .build())));
     }
 
-    private String getCommentNoticeMessage(String tripTitle, String locationName, String senderNickname) {
-        return "[" + tripTitle + "] " +
-                "[" + locationName + "] 사진에 " +
-                senderNickname + "님이 댓글을 달았어요.";
+    private NotificationMessageVo getCommentNoticeMessage(String tripTitle, String locationName, String senderNickname) {
+        return new NotificationMessageVo("[" + tripTitle + "] " +
+                "[" + locationName + "] 사진에 ", senderNickname, "댓글을 달았어요.");
     }
 
-    @Transactional
-    public void notifyReComment(String tripTitle, String commentContent, Long postId,
-                                String senderNickname, Long receiverId) {
-        Member receiver = memberRepository.findById(receiverId)
-                .orElseThrow(() -> new MemberException(ErrorCode.NOT_FOUND_MEMBER));
-
-        notificationRepository.save(
+    public void notifyReComment(String tripTitle, Long commentId, String commentContent, Long postId,
+                                Long senderId, String senderNickname, Long receiverId) {
+        NotificationMessageVo messageVo = getReCommentNoticeMessage(tripTitle, commentContent, senderNickname);
+        applicationEventPublisher.publishEvent(new NotificationCreateEvent(List.of(
                 Notification.builder()
-                        .message(getReCommentNoticeMessage(tripTitle, commentContent, senderNickname))
+                        .message(messageVo.render(1))
+                        .messageVo(messageVo)
                         .redirectPath("/trips/posts/" + postId + "/comments")
                         .type(NotificationType.RECOMMENT)
-                        .member(receiver)
-                        .build());
+                        .groupKey(NotificationType.RECOMMENT.name() + commentId)
+                        .senderIds(String.valueOf(senderId))
+                        .member(Member.builder().id(receiverId).build())
+                        .createdAt(LocalDateTime.now())
+                        .build())));
     }
 
-    private String getReCommentNoticeMessage(String tripTitle, String commentContent, String senderNickname) {
-        return "[" + tripTitle + "] " +
+    private NotificationMessageVo getReCommentNoticeMessage(String tripTitle, String commentContent, String senderNickname) {
+        return new NotificationMessageVo("[" + tripTitle + "] " +
                 "[" +
                 ((commentContent.length() < 21) ? commentContent : commentContent.substring(0, 20) + "...") +
-                "] 댓글에 " +
-                senderNickname + "님이 댓글을 달았어요.";
+                "] 댓글에 ", senderNickname, "댓글을 달았어요.");
     }
 }
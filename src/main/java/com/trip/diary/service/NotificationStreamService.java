@@ -0,0 +1,107 @@
+package com.trip.diary.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.trip.diary.client.RedisClient;
+import com.trip.diary.domain.model.Notification;
+import com.trip.diary.dto.NotificationDto;
+import com.trip.diary.dto.NotificationPushDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 저장된 알림을 Redis pub/sub 으로 모든 노드에 발행하고,
+ * 각 노드는 자신에게 연결된 회원의 SSE 연결로 전달한다.
+ * SseEmitter 는 서블릿 비동기 요청이라 연결마다 스레드를 점유하지 않는다.
+ */
+@Slf4j
+@Service
+public class NotificationStreamService implements MessageListener {
+    private static final String NOTIFICATION_CHANNEL = "NOTIFICATION";
+    private static final long EMITTER_TIMEOUT = 1000 * 60 * 30;
+    private final Map<Long, Set<SseEmitter>> emitters = new ConcurrentHashMap<>();
+    private final RedisClient redisClient;
+    private final ObjectMapper objectMapper;
+
+    public NotificationStreamService(RedisClient redisClient, ObjectMapper objectMapper,
+                                     RedisMessageListenerContainer redisMessageListenerContainer) {
+        this.redisClient = redisClient;
+        this.objectMapper = objectMapper;
+        redisMessageListenerContainer.addMessageListener(this, new ChannelTopic(NOTIFICATION_CHANNEL));
+    }
+
+    public SseEmitter subscribe(Long memberId) {
+        SseEmitter emitter = new SseEmitter(EMITTER_TIMEOUT);
+        emitters.computeIfAbsent(memberId, id -> ConcurrentHashMap.newKeySet()).add(emitter);
+        emitter.onCompletion(() -> removeEmitter(memberId, emitter));
+        emitter.onTimeout(() -> removeEmitter(memberId, emitter));
+        emitter.onError(e -> removeEmitter(memberId, emitter));
+
+        // 연결 직후 아무 이벤트도 보내지 않으면 일부 프록시가 응답을 보류한다
+        send(memberId, emitter, SseEmitter.event().name("connect").data("connected"));
+        return emitter;
+    }
+
+    public void publish(List<Notification> notifications) {
+        notifications.forEach(notification -> {
+            try {
+                redisClient.publish(NOTIFICATION_CHANNEL, objectMapper.writeValueAsString(
+                        new NotificationPushDto(notification.getMember().getId(), NotificationDto.of(notification))));
+            } catch (JsonProcessingException e) {
+                log.error("failed to serialize notification to member {}", notification.getMember().getId(), e);
+            }
+        });
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        NotificationPushDto push;
+        try {
+            push = objectMapper.readValue(message.getBody(), NotificationPushDto.class);
+        } catch (IOException e) {
+            log.error("failed to deserialize notification message", e);
+            return;
+        }
+
+        Set<SseEmitter> memberEmitters = emitters.get(push.getMemberId());
+        if (Objects.isNull(memberEmitters)) {
+            return;
+        }
+        memberEmitters.forEach(emitter -> send(push.getMemberId(), emitter,
+                SseEmitter.event().name("notification").data(push.getNotification())));
+    }
+
+    @Scheduled(fixedRate = 1000 * 30)
+    public void sendHeartbeat() {
+        emitters.forEach((memberId, memberEmitters) -> memberEmitters.forEach(emitter ->
+                send(memberId, emitter, SseEmitter.event().comment("heartbeat"))));
+    }
+
+    private void send(Long memberId, SseEmitter emitter, SseEmitter.SseEventBuilder event) {
+        try {
+            emitter.send(event);
+        } catch (IOException | IllegalStateException e) {
+            removeEmitter(memberId, emitter);
+        }
+    }
+
+    private void removeEmitter(Long memberId, SseEmitter emitter) {
+        emitters.computeIfPresent(memberId, (id, memberEmitters) -> {
+            memberEmitters.remove(emitter);
+            return memberEmitters.isEmpty() ? null : memberEmitters;
+        });
+    }
+}
@@ -0,0 +1,45 @@
+package com.trip.diary.service;
+
+import com.trip.diary.domain.constants.ImageVariant;
+import com.trip.diary.domain.model.PostImage;
+import com.trip.diary.domain.repository.LocationRepository;
+import com.trip.diary.domain.repository.PostImageRepository;
+import com.trip.diary.exception.FileException;
+import com.trip.diary.util.ImageManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PostImageService {
+    private final PostImageRepository postImageRepository;
+    private final LocationRepository locationRepository;
+    private final ImageManager imageManager;
+
+    /**
+     * 기록의 이미지마다 크기별 이미지를 만들고 경로를 기록한다.
+     * 로케이션 썸네일이 원본을 가리키고 있다면 작은 이미지로 바꾼다.
+     */
+    public void createResizedImages(Long postId, Long locationId) {
+        postImageRepository.findByPost_Id(postId).stream()
+                .filter(postImage -> !postImage.isResized())
+                .map(PostImage::getImagePath)
+                .filter(imageManager::isResizable)
+                .distinct()
+                .forEach(imagePath -> {
+                    try {
+                        Map<ImageVariant, String> variantPaths = imageManager.createResizedImages(imagePath);
+                        postImageRepository.updateResizedImagePaths(imagePath,
+                                variantPaths.get(ImageVariant.SMALL), variantPaths.get(ImageVariant.MEDIUM));
+                        locationRepository.updateThumbnailPath(locationId, imagePath,
+                                variantPaths.get(ImageVariant.SMALL));
+                    } catch (FileException e) {
+                        log.warn("image resize failed : {} {}", imagePath, e.getErrorCode());
+                    }
+                });
+    }
+}
@@ -2,31 +2,42 @@ package com.trip.diary.service;
 
 import com.trip.diary.domain.model.*;
 import com.trip.diary.domain.repository.*;
+import com.trip.diary.domain.vo.LikeStatusVo;
 import com.trip.diary.dto.CreatePostForm;
 import com.trip.diary.dto.PostDetailDto;
 import com.trip.diary.dto.UpdatePostForm;
 import com.trip.diary.event.dto.ImageDeleteEvent;
+import com.trip.diary.event.dto.ImageResizeEvent;
 import com.trip.diary.event.dto.LocationCreateEvent;
 import com.trip.diary.event.dto.LocationDeleteEvent;
+import com.trip.diary.event.dto.PostChangeEvent;
 import com.trip.diary.exception.ErrorCode;
 import com.trip.diary.exception.LocationException;
 import com.trip.diary.exception.PostException;
 import com.trip.diary.exception.TripException;
 import com.trip.diary.util.ImageManager;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import static com.trip.diary.domain.constants.ParticipantType.ACCEPTED;
 import static com.trip.diary.exception.ErrorCode.*;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class PostService {
@@ -38,23 +49,62 @@ public class PostService {
     private final PostLikeRedisRepository postLikeRedisRepository;
     private final ApplicationEventPublisher applicationEventPublisher;
     private final ImageManager imageManager;
+    private final TransactionTemplate transactionTemplate;
     private static final String IMAGE_DOMAIN = "post";
     private static final int MINIMUM_SIZE_OF_LOCATION_POSTS = 1;
 
-    @Transactional
+    /**
+     * 이미지 업로드는 트랜잭션 밖에서 먼저 수행하고, DB 쓰기만 짧은 트랜잭션으로 묶는다.
+     * DB 쓰기가 실패하면 업로드한 이미지를 삭제한다. 커밋된 뒤 afterCommit 리스너에서 난 예외는 기록을 그대로 반환한다.
+     */
     public PostDetailDto create(Long tripId, CreatePostForm form, List<MultipartFile> images, Member member) {
         Trip trip = tripRepository.findById(tripId)
                 .orElseThrow(() -> new TripException(NOT_FOUND_TRIP));
 
         validationMemberHaveWriteAuthority(trip, member);
 
-        Location location = getNewlyLocation(trip, form.getLocation().replace(" ",""));
-        Post savedPost = postRepository.save(Post.of(form, location, trip, member));
-        List<String> imagePaths = savePostImages(savedPost, images);
-        updateLocationThumbnail(location, imagePaths.get(0));
+        List<String> imagePaths = imageManager.uploadImages(images, IMAGE_DOMAIN);
+        Post savedPost = executeWithUploadedImages(imagePaths, () -> {
+            Location location = getNewlyLocation(trip, form.getLocation().replace(" ", ""));
+            Post post = postRepository.save(Post.of(form, location, trip, member));
+            savePostImages(post, imagePaths);
+            updateLocationThumbnail(location, imagePaths.get(0));
+            applicationEventPublisher.publishEvent(new ImageResizeEvent(post.getId(), location.getId(), trip.getId()));
+            applicationEventPublisher.publishEvent(new PostChangeEvent(trip.getId()));
+            return post;
+        });
         return PostDetailDto.of(savedPost, imagePaths, member.getId());
     }
 
+    private Post executeWithUploadedImages(List<String> imagePaths, Supplier<Post> action) {
+        AtomicReference<Post> committedPost = new AtomicReference<>();
+        try {
+            return transactionTemplate.execute(status -> {
+                Post post = action.get();
+                if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                    // afterCommit 에서 예외가 나도 afterCompletion 은 호출되므로 커밋 여부를 여기서 확인한다
+                    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                        @Override
+                        public void afterCompletion(int completionStatus) {
+                            if (completionStatus == STATUS_COMMITTED) {
+                                committedPost.set(post);
+                            }
+                        }
+                    });
+                }
+                return post;
+            });
+        } catch (RuntimeException e) {
+            if (Objects.nonNull(committedPost.get())) {
+                // 이미 커밋된 기록이 이미지를 참조하고 있으므로 지우지 않고, 다시 요청해 중복 생성되지 않도록 성공으로 응답한다
+                log.error("failed after post committed : {}", committedPost.get().getId(), e);
+                return committedPost.get();
+            }
+            imageManager.deleteImages(imagePaths);
+            throw e;
+        }
+    }
+
     private Location getNewlyLocation(Trip trip, String locationName) {
         Optional<Location> optionalLocation = locationRepository.findFirstByTripOrderByIdDesc(trip);
 
@@ -69,12 +119,10 @@ public class PostService {
         return optionalLocation.get();
     }
 
-    private List<String> savePostImages(Post post, List<MultipartFile> images) {
-        List<String> imagePaths = imageManager.uploadImages(images, IMAGE_DOMAIN);
+    private void savePostImages(Post post, List<String> imagePaths) {
         postImageRepository.saveAll(imagePaths.stream()
                 .map(path -> PostImage.of(path, post))
                 .collect(Collectors.toList()));
-        return imagePaths;
     }
 
     private void updateLocationThumbnail(Location location, String imagePath) {
@@ -82,25 +130,36 @@ public class PostService {
         locationRepository.save(location);
     }
 
-    @Transactional
     public PostDetailDto update(Long postId,
                                 UpdatePostForm form, List<MultipartFile> images, Member member) {
-        Post post = postRepository.findById(postId)
-                .orElseThrow(() -> new PostException(NOT_FOUND_POST));
+        validationMemberIsPostOwner(postRepository.findById(postId)
+                .orElseThrow(() -> new PostException(NOT_FOUND_POST)), member);
+
+        List<String> imagePaths = imageManager.uploadImages(images, IMAGE_DOMAIN);
+        Post savedPost = executeWithUploadedImages(imagePaths, () -> {
+            Post post = postRepository.findById(postId)
+                    .orElseThrow(() -> new PostException(NOT_FOUND_POST));
+            validationMemberIsPostOwner(post, member);
+
+            deleteOldPostImages(post);
+            post.setContent(form.getContent());
+            savePostImages(post, imagePaths);
+            updateLocationThumbnail(post.getLocation(), imagePaths.get(0));
+            applicationEventPublisher.publishEvent(new ImageResizeEvent(post.getId(), post.getLocation().getId(),
+                    post.getTrip().getId()));
+            applicationEventPublisher.publishEvent(new PostChangeEvent(post.getTrip().getId()));
+            return postRepository.save(post);
+        });
+        return PostDetailDto.of(savedPost, imagePaths,
+                postLikeRedisRepository.countByPostId(postId),
+                postLikeRedisRepository.existsByPostIdAndUserId(postId, member.getId()),
+                member.getId());
+    }
 
+    private void validationMemberIsPostOwner(Post post, Member member) {
         if (!Objects.equals(post.getMember().getId(), member.getId())) {
             throw new PostException(NOT_POST_OWNER);
         }
-
-        deleteOldPostImages(post);
-
-        post.setContent(form.getContent());
-        List<String> imagePaths = savePostImages(post, images);
-        updateLocationThumbnail(post.getLocation(), imagePaths.get(0));
-        return PostDetailDto.of(postRepository.save(post), imagePaths,
-                postLikeRedisRepository.countByPostId(postId),
-                postLikeRedisRepository.existsByPostIdAndUserId(post.getId(), member.getId()),
-                member.getId());
     }
 
     private void deleteOldPostImages(Post post) {
@@ -116,9 +175,7 @@ public class PostService {
         Post post = postRepository.findById(postId)
                 .orElseThrow(() -> new PostException(NOT_FOUND_POST));
 
-        if (!Objects.equals(post.getMember().getId(), member.getId())) {
-            throw new PostException(NOT_POST_OWNER);
-        }
+        validationMemberIsPostOwner(post, member);
 
         if (post.getLocation().getPosts().size() == MINIMUM_SIZE_OF_LOCATION_POSTS) {
             locationRepository.delete(post.getLocation());
@@ -127,6 +184,7 @@ public class PostService {
         }
         postRepository.delete(post);
         postLikeRedisRepository.deleteAllByPostId(postId);
+        applicationEventPublisher.publishEvent(new PostChangeEvent(post.getTrip().getId()));
 
         applicationEventPublisher.publishEvent(
                 new ImageDeleteEvent(post.getImages().stream()
@@ -141,11 +199,16 @@ public class PostService {
 
         validationMemberHaveReadAuthority(location.getTrip(), member);
 
-        return location.getPosts().stream()
-                .map(post -> PostDetailDto.of(post,
-                        postLikeRedisRepository.countByPostId(post.getId()),
-                        postLikeRedisRepository.existsByPostIdAndUserId(post.getId(), member.getId()),
-                        member.getId()))
+        List<Post> posts = location.getPosts();
+        Map<Long, LikeStatusVo> likeStatuses = postLikeRedisRepository.findLikeStatusesByPostIdsAndUserId(
+                posts.stream().map(Post::getId).collect(Collectors.toList()), member.getId());
+
+        return posts.stream()
+                .map(post -> {
+                    LikeStatusVo likeStatus = likeStatuses.getOrDefault(post.getId(), LikeStatusVo.empty());
+                    return PostDetailDto.of(post, likeStatus.getCountOfLikes(),
+                            likeStatus.isReaderLiked(), member.getId());
+                })
                 .collect(Collectors.toList());
     }
 
@@ -162,11 +225,7 @@ public class PostService {
 
         validationMemberHaveWriteAuthority(post.getTrip(), member);
 
-        if (postLikeRedisRepository.existsByPostIdAndUserId(postId, member.getId())) {
-            postLikeRedisRepository.delete(postId, member.getId());
-        } else {
-            postLikeRedisRepository.save(postId, member.getId());
-        }
+        postLikeRedisRepository.toggle(postId, member.getId());
     }
 
     private void validationMemberHaveWriteAuthority(Trip trip, Member member) {
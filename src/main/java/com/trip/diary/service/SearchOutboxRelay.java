@@ -0,0 +1,187 @@
+package com.trip.diary.service;
+
+import com.trip.diary.domain.model.SearchOutbox;
+import com.trip.diary.domain.repository.SearchOutboxPauseRedisRepository;
+import com.trip.diary.domain.repository.SearchOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * 아웃박스에 쌓인 도큐먼트 변경을 오래된 순서대로 모아 엘라스틱서치에 반영한다.
+ * 반영에 실패하면 아웃박스에 남겨 두고 점점 긴 간격으로 다시 시도한다.
+ * 엘라스틱서치를 호출하는 동안 아웃박스에 행 잠금을 쥐고 있으면 아웃박스를 쓰는 도메인 트랜잭션이 모두 기다리므로,
+ * 짧은 트랜잭션으로 변경을 가져가고 커밋한 뒤 트랜잭션 밖에서 호출하고, 다시 짧은 트랜잭션으로 결과를 기록한다.
+ */
+@Slf4j
+@Service
+public class SearchOutboxRelay {
+    private static final int BATCH_SIZE = 500;
+    private static final Duration MIN_BACKOFF = Duration.ofSeconds(1);
+    private static final Duration MAX_BACKOFF = Duration.ofMinutes(5);
+    // 엘라스틱서치 클라이언트의 타임아웃보다 길게 잡아, 보내는 중인 변경을 다른 서버가 다시 가져가지 않게 한다
+    private static final Duration CLAIM_TIME_TO_LIVE = Duration.ofMinutes(1);
+    private final SearchOutboxRepository searchOutboxRepository;
+    private final TripSearchService tripSearchService;
+    private final MemberSearchService memberSearchService;
+    private final TransactionTemplate transactionTemplate;
+    private final SearchOutboxPauseRedisRepository searchOutboxPauseRedisRepository;
+    private final AtomicLong backlog = new AtomicLong();
+    private final AtomicLong lagSeconds = new AtomicLong();
+    private final Timer relayTimer;
+    private final Counter failureCounter;
+
+    public SearchOutboxRelay(SearchOutboxRepository searchOutboxRepository,
+                             SearchOutboxPauseRedisRepository searchOutboxPauseRedisRepository,
+                             TripSearchService tripSearchService,
+                             MemberSearchService memberSearchService,
+                             TransactionTemplate transactionTemplate,
+                             MeterRegistry meterRegistry) {
+        this.searchOutboxRepository = searchOutboxRepository;
+        this.searchOutboxPauseRedisRepository = searchOutboxPauseRedisRepository;
+        this.tripSearchService = tripSearchService;
+        this.memberSearchService = memberSearchService;
+        this.transactionTemplate = transactionTemplate;
+        Gauge.builder("search.outbox.backlog", backlog, AtomicLong::get)
+                .description("엘라스틱서치에 반영되지 않은 변경 수")
+                .register(meterRegistry);
+        Gauge.builder("search.outbox.lag", lagSeconds, AtomicLong::get)
+                .description("반영되지 않은 가장 오래된 변경이 기다린 시간")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        this.relayTimer = Timer.builder("search.outbox.relay")
+                .description("아웃박스 배치 반영 소요 시간")
+                .register(meterRegistry);
+        this.failureCounter = Counter.builder("search.outbox.relay.failure")
+                .description("아웃박스 배치 반영 실패 수")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelay = 1000)
+    public void relay() {
+        int relayedSize;
+        do {
+            relayedSize = Objects.requireNonNull(relayTimer.record(this::relayBatch));
+        } while (relayedSize == BATCH_SIZE);
+        updateMetrics();
+    }
+
+    /**
+     * 인덱스를 다시 만드는 동안 쌓인 변경은 새 인덱스로 별칭을 바꾼 뒤에 반영해야 하므로 모든 서버의 릴레이를 멈춘다.
+     * 반환한 토큰으로만 다시 시작할 수 있다.
+     */
+    public String pause(Duration timeToLive) {
+        return searchOutboxPauseRedisRepository.pause(timeToLive)
+                .orElseThrow(() -> new IllegalStateException("search outbox relay is already paused"));
+    }
+
+    public boolean isPausedBy(String token) {
+        return searchOutboxPauseRedisRepository.isPausedBy(token);
+    }
+
+    public void resume(String token) {
+        searchOutboxPauseRedisRepository.resume(token);
+    }
+
+    private int relayBatch() {
+        List<SearchOutbox> outboxes = Objects.requireNonNull(transactionTemplate.execute(status -> claimBatch()));
+        if (outboxes.isEmpty()) {
+            return 0;
+        }
+
+        List<SearchOutbox> relayed = new ArrayList<>();
+        List<SearchOutbox> failed = new ArrayList<>();
+        relay(outboxes.stream()
+                .filter(outbox -> outbox.getType().isTripDocument())
+                .collect(Collectors.toList()), tripSearchService::apply, relayed, failed);
+        relay(outboxes.stream()
+                .filter(outbox -> !outbox.getType().isTripDocument())
+                .collect(Collectors.toList()), memberSearchService::apply, relayed, failed);
+
+        transactionTemplate.execute(status -> {
+            if (!relayed.isEmpty()) {
+                searchOutboxRepository.deleteAllByIdInBatch(relayed.stream()
+                        .map(SearchOutbox::getId)
+                        .collect(Collectors.toList()));
+            }
+            if (!failed.isEmpty()) {
+                searchOutboxRepository.saveAll(failed);
+            }
+            return null;
+        });
+        return relayed.size();
+    }
+
+    /**
+     * 가장 오래된 변경부터 한 배치를 가져간다. 가져간 변경이 끝나기 전에는 다른 서버가 그 뒤의 변경도 가져가지 않으므로
+     * 도큐먼트 변경 순서가 지켜진다.
+     */
+    private List<SearchOutbox> claimBatch() {
+        List<SearchOutbox> outboxes = searchOutboxRepository.findOldestForUpdate(PageRequest.of(0, BATCH_SIZE));
+        // 아웃박스를 읽은 뒤에 멈춤을 확인한다. 멈추기 전에 읽은 변경은 멈춘 뒤 만든 스냅샷에 보이므로
+        // 이전 인덱스에만 반영하고 지워도 새 인덱스에 남는다
+        if (outboxes.isEmpty() || searchOutboxPauseRedisRepository.isPaused()) {
+            return List.of();
+        }
+        // 가장 오래된 변경의 재시도 시각 전에는 뒤의 변경도 보내지 않아 도큐먼트 변경 순서를 지킨다
+        LocalDateTime now = LocalDateTime.now();
+        SearchOutbox oldest = outboxes.get(0);
+        if (oldest.isClaimedAt(now) || oldest.getNextAttemptAt().isAfter(now)) {
+            return List.of();
+        }
+
+        outboxes.forEach(outbox -> outbox.claim(now.plus(CLAIM_TIME_TO_LIVE)));
+        return outboxes;
+    }
+
+    /**
+     * 인덱스 별로 반영하고, 성공한 변경만 아웃박스에서 지운다.
+     * 한 인덱스의 실패로 이미 반영된 다른 인덱스의 변경이 다시 반영되지 않게 하기 위함이다.
+     */
+    private void relay(List<SearchOutbox> outboxes, Consumer<List<SearchOutbox>> apply,
+                       List<SearchOutbox> relayed, List<SearchOutbox> failed) {
+        if (outboxes.isEmpty()) {
+            return;
+        }
+
+        try {
+            apply.accept(outboxes);
+        } catch (RuntimeException e) {
+            Duration backoff = getBackoff(outboxes.get(0).getAttempts());
+            log.warn("failed to relay {} search outboxes, retry after {}", outboxes.size(), backoff, e);
+            failureCounter.increment();
+            outboxes.forEach(outbox -> outbox.retryAfter(backoff));
+            failed.addAll(outboxes);
+            return;
+        }
+
+        relayed.addAll(outboxes);
+    }
+
+    private Duration getBackoff(int attempts) {
+        Duration backoff = MIN_BACKOFF.multipliedBy(1L << Math.min(attempts, 10));
+        return backoff.compareTo(MAX_BACKOFF) > 0 ? MAX_BACKOFF : backoff;
+    }
+
+    private void updateMetrics() {
+        backlog.set(searchOutboxRepository.count());
+        lagSeconds.set(searchOutboxRepository.findFirstByOrderByIdAsc()
+                .map(outbox -> Duration.between(outbox.getCreatedAt(), LocalDateTime.now()).toSeconds())
+                .orElse(0L));
+    }
+}
@@ -0,0 +1,22 @@
+package com.trip.diary.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * --search.reindex.run-on-startup=true 로 실행하면 시작할 때 검색 인덱스를 다시 만든다.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "search.reindex.run-on-startup", havingValue = "true")
+public class SearchReindexRunner implements ApplicationRunner {
+    private final SearchReindexService searchReindexService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        searchReindexService.reindex();
+    }
+}
@@ -0,0 +1,188 @@
+package com.trip.diary.service;
+
+import com.trip.diary.client.ElasticSearchClient;
+import com.trip.diary.domain.repository.SearchOutboxRepository;
+import com.trip.diary.domain.repository.SearchReindexRepository;
+import com.trip.diary.dto.ReindexResultDto;
+import com.trip.diary.elasticsearch.model.BaseDocument;
+import com.trip.diary.elasticsearch.model.MemberDocument;
+import com.trip.diary.elasticsearch.model.TripDocument;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+/**
+ * MySQL 의 데이터로 trips, members 인덱스를 처음부터 다시 만든다.
+ * 버전을 붙인 새 인덱스에 모두 적재한 뒤 별칭을 한 번에 바꾸므로 검색이 끊기지 않는다.
+ */
+@Slf4j
+@Service
+public class SearchReindexService {
+    private static final int CHUNK_SIZE = 1000;
+    private static final String INDEX_NAME_OF_TRIP = "trips";
+    private static final String INDEX_NAME_OF_MEMBER = "members";
+    private static final DateTimeFormatter VERSION_FORMAT = DateTimeFormatter.ofPattern("yyyyMMddHHmmss");
+    private final SearchReindexRepository searchReindexRepository;
+    private final SearchOutboxRepository searchOutboxRepository;
+    private final SearchOutboxRelay searchOutboxRelay;
+    private final ElasticSearchClient elasticSearchClient;
+    private final TransactionTemplate snapshotTransactionTemplate;
+    private final Executor searchReindexExecutor;
+    private final int numberOfReplicas;
+    private final Duration pauseTimeToLive;
+
+    public SearchReindexService(SearchReindexRepository searchReindexRepository,
+                                SearchOutboxRepository searchOutboxRepository,
+                                SearchOutboxRelay searchOutboxRelay,
+                                ElasticSearchClient elasticSearchClient,
+                                PlatformTransactionManager transactionManager,
+                                @Qualifier("searchReindexExecutor") Executor searchReindexExecutor,
+                                @Value("${search.reindex.replicas:1}") int numberOfReplicas,
+                                @Value("${search.reindex.pause-timeout:1h}") Duration pauseTimeToLive) {
+        this.searchReindexRepository = searchReindexRepository;
+        this.searchOutboxRepository = searchOutboxRepository;
+        this.searchOutboxRelay = searchOutboxRelay;
+        this.elasticSearchClient = elasticSearchClient;
+        this.searchReindexExecutor = searchReindexExecutor;
+        this.numberOfReplicas = numberOfReplicas;
+        this.pauseTimeToLive = pauseTimeToLive;
+        // 모든 테이블을 같은 시점의 스냅샷으로 읽는다
+        this.snapshotTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.snapshotTransactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.snapshotTransactionTemplate.setReadOnly(true);
+    }
+
+    /**
+     * 적재하는 동안 쌓인 아웃박스의 변경은 모든 서버의 릴레이를 멈춰 두었다가 별칭을 바꾼 뒤 새 인덱스에 반영한다.
+     * 스냅샷에서 이미 보이던 아웃박스의 변경은 적재한 데이터에 포함되어 있으므로 지운다.
+     * 적재하는 동안 멈춤이 만료되었으면 다른 서버가 이전 인덱스에 반영하고 지운 변경이 있을 수 있으므로 별칭을 바꾸지 않는다.
+     */
+    public List<ReindexResultDto> reindex() {
+        String version = LocalDateTime.now().format(VERSION_FORMAT);
+        String tripIndexName = INDEX_NAME_OF_TRIP + "_" + version;
+        String memberIndexName = INDEX_NAME_OF_MEMBER + "_" + version;
+
+        String pauseToken = searchOutboxRelay.pause(pauseTimeToLive);
+        try {
+            List<ReindexResultDto> results = new ArrayList<>();
+            List<Long> reflectedOutboxIds = buildIndices(tripIndexName, memberIndexName, results);
+            if (!searchOutboxRelay.isPausedBy(pauseToken)) {
+                elasticSearchClient.deleteIndex(tripIndexName);
+                elasticSearchClient.deleteIndex(memberIndexName);
+                throw new IllegalStateException("search outbox relay pause expired while reindexing");
+            }
+
+            swapAlias(INDEX_NAME_OF_TRIP, tripIndexName);
+            swapAlias(INDEX_NAME_OF_MEMBER, memberIndexName);
+            deleteOutboxes(reflectedOutboxIds);
+            results.forEach(result -> log.info("reindexed {}", result));
+            return results;
+        } finally {
+            searchOutboxRelay.resume(pauseToken);
+        }
+    }
+
+    private List<Long> buildIndices(String tripIndexName, String memberIndexName, List<ReindexResultDto> results) {
+        try {
+            elasticSearchClient.createIndexForBulkLoad(tripIndexName, TripDocument.class);
+            elasticSearchClient.createIndexForBulkLoad(memberIndexName, MemberDocument.class);
+            List<Long> reflectedOutboxIds = snapshotTransactionTemplate.execute(status -> {
+                List<Long> outboxIds = searchReindexRepository.findSearchOutboxIds();
+                results.add(load(tripIndexName, searchReindexRepository::streamTripDocuments));
+                results.add(load(memberIndexName, searchReindexRepository::streamMemberDocuments));
+                return outboxIds;
+            });
+            elasticSearchClient.finishBulkLoad(tripIndexName, numberOfReplicas);
+            elasticSearchClient.finishBulkLoad(memberIndexName, numberOfReplicas);
+            return reflectedOutboxIds;
+        } catch (RuntimeException e) {
+            log.error("failed to build {}, {}", tripIndexName, memberIndexName, e);
+            elasticSearchClient.deleteIndex(tripIndexName);
+            elasticSearchClient.deleteIndex(memberIndexName);
+            throw e;
+        }
+    }
+
+    private <T extends BaseDocument> ReindexResultDto load(String indexName, Consumer<Consumer<T>> stream) {
+        long startedAt = System.currentTimeMillis();
+        BulkLoader<T> bulkLoader = new BulkLoader<>(indexName);
+        stream.accept(bulkLoader);
+        bulkLoader.finish();
+        return new ReindexResultDto(indexName, bulkLoader.getCount(), System.currentTimeMillis() - startedAt);
+    }
+
+    private void swapAlias(String aliasName, String indexName) {
+        elasticSearchClient.swapAlias(aliasName, indexName)
+                .forEach(elasticSearchClient::deleteIndex);
+    }
+
+    private void deleteOutboxes(List<Long> outboxIds) {
+        for (int i = 0; i < outboxIds.size(); i += CHUNK_SIZE) {
+            searchOutboxRepository.deleteAllByIdInBatch(
+                    outboxIds.subList(i, Math.min(i + CHUNK_SIZE, outboxIds.size())));
+        }
+    }
+
+    /**
+     * 도큐먼트를 묶어서 작업 스레드에서 적재한다.
+     * 작업 큐가 가득 차면 커서를 읽는 스레드가 직접 적재하므로 메모리에 쌓이는 묶음 수가 제한된다.
+     */
+    private class BulkLoader<T extends BaseDocument> implements Consumer<T> {
+        private final String indexName;
+        private final List<CompletableFuture<Void>> pendingLoads = new ArrayList<>();
+        private List<T> chunk = new ArrayList<>(CHUNK_SIZE);
+        private long count;
+
+        private BulkLoader(String indexName) {
+            this.indexName = indexName;
+        }
+
+        @Override
+        public void accept(T document) {
+            chunk.add(document);
+            count++;
+            if (chunk.size() == CHUNK_SIZE) {
+                submit();
+            }
+        }
+
+        private void submit() {
+            List<T> documents = chunk;
+            chunk = new ArrayList<>(CHUNK_SIZE);
+            // 끝난 적재는 목록에서 빼고, 실패한 적재가 있으면 바로 중단한다
+            pendingLoads.removeIf(pendingLoad -> {
+                if (!pendingLoad.isDone()) {
+                    return false;
+                }
+                pendingLoad.join();
+                return true;
+            });
+            pendingLoads.add(CompletableFuture.runAsync(
+                    () -> elasticSearchClient.bulkIndex(indexName, documents), searchReindexExecutor));
+        }
+
+        private void finish() {
+            if (!chunk.isEmpty()) {
+                submit();
+            }
+            pendingLoads.forEach(CompletableFuture::join);
+        }
+
+        private long getCount() {
+            return count;
+        }
+    }
+}
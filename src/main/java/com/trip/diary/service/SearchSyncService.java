@@ -0,0 +1,155 @@
+package com.trip.diary.service;
+
+import com.trip.diary.domain.constants.SearchOutboxType;
+import com.trip.diary.domain.model.SearchOutbox;
+import com.trip.diary.domain.model.SearchSyncWatermark;
+import com.trip.diary.domain.repository.SearchOutboxRepository;
+import com.trip.diary.domain.repository.SearchReindexRepository;
+import com.trip.diary.domain.repository.SearchSyncWatermarkRepository;
+import com.trip.diary.dto.DriftReportDto;
+import com.trip.diary.elasticsearch.model.BaseDocument;
+import com.trip.diary.elasticsearch.model.MemberDocument;
+import com.trip.diary.elasticsearch.model.TripDocument;
+import com.trip.diary.elasticsearch.repository.MemberSearchRepository;
+import com.trip.diary.elasticsearch.repository.TripSearchRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 이벤트가 유실되어 MySQL 과 검색 인덱스가 달라진 것을 전체 재생성 사이에 싸게 바로잡는다.
+ */
+@Slf4j
+@Service
+public class SearchSyncService {
+    private static final int CHUNK_SIZE = 1000;
+    private static final int SAMPLE_SIZE = 200;
+    // 늦게 커밋된 트랜잭션의 updated_at 은 워터마크보다 앞설 수 있으므로 겹쳐서 읽는다
+    private static final Duration OVERLAP = Duration.ofMinutes(1);
+    private static final String INDEX_NAME_OF_TRIP = "trips";
+    private static final String INDEX_NAME_OF_MEMBER = "members";
+    private static final Set<SearchOutboxType> TRIP_OUTBOX_TYPES = Arrays.stream(SearchOutboxType.values())
+            .filter(SearchOutboxType::isTripDocument)
+            .collect(Collectors.toCollection(() -> EnumSet.noneOf(SearchOutboxType.class)));
+    private static final Set<SearchOutboxType> MEMBER_OUTBOX_TYPES = EnumSet.complementOf(
+            EnumSet.copyOf(TRIP_OUTBOX_TYPES));
+    private final SearchReindexRepository searchReindexRepository;
+    private final SearchSyncWatermarkRepository searchSyncWatermarkRepository;
+    private final TripSearchRepository tripSearchRepository;
+    private final MemberSearchRepository memberSearchRepository;
+    private final SearchOutboxRepository searchOutboxRepository;
+    private final Map<String, Double> mismatchRates = new ConcurrentHashMap<>();
+
+    public SearchSyncService(SearchReindexRepository searchReindexRepository,
+                             SearchSyncWatermarkRepository searchSyncWatermarkRepository,
+                             TripSearchRepository tripSearchRepository,
+                             MemberSearchRepository memberSearchRepository,
+                             SearchOutboxRepository searchOutboxRepository,
+                             MeterRegistry meterRegistry) {
+        this.searchReindexRepository = searchReindexRepository;
+        this.searchSyncWatermarkRepository = searchSyncWatermarkRepository;
+        this.tripSearchRepository = tripSearchRepository;
+        this.memberSearchRepository = memberSearchRepository;
+        this.searchOutboxRepository = searchOutboxRepository;
+        List.of(INDEX_NAME_OF_TRIP, INDEX_NAME_OF_MEMBER).forEach(indexName ->
+                Gauge.builder("search.drift.mismatch.rate", mismatchRates,
+                                rates -> rates.getOrDefault(indexName, 0.0))
+                        .description("표본 중 MySQL 과 내용이 다른 도큐먼트의 비율")
+                        .tag("index", indexName)
+                        .register(meterRegistry));
+    }
+
+    /**
+     * 워터마크 이후에 바뀐 트립/멤버를 도큐먼트 전체를 다시 맞추는 변경으로 아웃박스에 넣는다.
+     * 엘라스틱서치에 직접 쓰면 그 사이에 릴레이가 반영한 더 새로운 변경을 덮어쓸 수 있으므로,
+     * 순서대로 반영하는 릴레이가 반영하는 시점의 MySQL 을 읽게 한다. 인덱스 재생성 중이면 릴레이가 멈춰 있으므로 함께 기다린다.
+     */
+    @Scheduled(cron = "${search.sync.cron:0 */10 * * * *}")
+    public void syncIncrementally() {
+        sync(INDEX_NAME_OF_TRIP, searchReindexRepository::findTripIdsUpdatedBetween, SearchOutboxType.TRIP_SAVE);
+        sync(INDEX_NAME_OF_MEMBER, searchReindexRepository::findMemberIdsUpdatedBetween,
+                SearchOutboxType.MEMBER_RESYNC);
+    }
+
+    /**
+     * 임의로 고른 트립/멤버를 MySQL 과 검색 인덱스에서 읽어 비교하고, 내용이 다른 비율을 기록한다.
+     */
+    @Scheduled(cron = "${search.drift.cron:0 30 * * * *}")
+    public List<DriftReportDto> checkDrift() {
+        List<DriftReportDto> reports = List.of(
+                checkDrift(INDEX_NAME_OF_TRIP, searchReindexRepository.findRandomTripIds(SAMPLE_SIZE),
+                        TRIP_OUTBOX_TYPES, searchReindexRepository::findTripDocumentsByIds,
+                        tripSearchRepository::findAllById, TripDocument::hasSameContent),
+                checkDrift(INDEX_NAME_OF_MEMBER, searchReindexRepository.findRandomMemberIds(SAMPLE_SIZE),
+                        MEMBER_OUTBOX_TYPES, searchReindexRepository::findMemberDocumentsByIds,
+                        memberIds -> memberSearchRepository.findByIdIn(new HashSet<>(memberIds)),
+                        MemberDocument::hasSameContent));
+        reports.forEach(report -> {
+            mismatchRates.put(report.getIndexName(), report.getMismatchRate());
+            log.info("search drift {}", report);
+        });
+        return reports;
+    }
+
+    private void sync(String indexName, BiFunction<LocalDateTime, LocalDateTime, List<Long>> findUpdatedIds,
+                      SearchOutboxType outboxType) {
+        LocalDateTime syncedUntil = LocalDateTime.now();
+        Optional<SearchSyncWatermark> optionalWatermark = searchSyncWatermarkRepository.findById(indexName);
+        if (optionalWatermark.isEmpty()) {
+            // 이전 데이터는 전체 재생성에 맡기고 지금부터 동기화한다
+            searchSyncWatermarkRepository.save(SearchSyncWatermark.builder()
+                    .indexName(indexName)
+                    .syncedUntil(syncedUntil)
+                    .build());
+            return;
+        }
+
+        SearchSyncWatermark watermark = optionalWatermark.get();
+        List<Long> ids = findUpdatedIds.apply(watermark.getSyncedUntil().minus(OVERLAP), syncedUntil);
+        for (int i = 0; i < ids.size(); i += CHUNK_SIZE) {
+            searchOutboxRepository.saveAll(ids.subList(i, Math.min(i + CHUNK_SIZE, ids.size())).stream()
+                    .map(id -> SearchOutbox.of(outboxType, id))
+                    .collect(Collectors.toList()));
+        }
+
+        watermark.setSyncedUntil(syncedUntil);
+        searchSyncWatermarkRepository.save(watermark);
+        log.info("queued {} documents of {} to sync until {}", ids.size(), indexName, syncedUntil);
+    }
+
+    private <T extends BaseDocument> DriftReportDto checkDrift(String indexName,
+                                                               List<Long> sampleIds,
+                                                               Set<SearchOutboxType> outboxTypes,
+                                                               Function<Collection<Long>, List<T>> findDocuments,
+                                                               Function<Collection<Long>, Iterable<T>> findIndexedDocuments,
+                                                               BiPredicate<T, T> hasSameContent) {
+        Set<Long> pendingIds = searchReindexRepository.findSearchOutboxDocumentIds(outboxTypes);
+        List<T> documents = findDocuments.apply(sampleIds.stream()
+                .filter(id -> !pendingIds.contains(id))
+                .collect(Collectors.toList()));
+        if (documents.isEmpty()) {
+            return new DriftReportDto(indexName, 0, List.of());
+        }
+
+        Map<Long, T> indexedDocuments = new HashMap<>();
+        findIndexedDocuments.apply(documents.stream().map(BaseDocument::getId).collect(Collectors.toList()))
+                .forEach(indexedDocument -> indexedDocuments.put(indexedDocument.getId(), indexedDocument));
+        List<Long> mismatchedIds = documents.stream()
+                .filter(document -> !indexedDocuments.containsKey(document.getId())
+                        || !hasSameContent.test(document, indexedDocuments.get(document.getId())))
+                .map(BaseDocument::getId)
+                .collect(Collectors.toList());
+        return new DriftReportDto(indexName, documents.size(), mismatchedIds);
+    }
+}
@@ -2,81 +2,129 @@ package com.trip.diary.service;
 
 import com.trip.diary.client.ElasticSearchClient;
 import com.trip.diary.domain.model.Member;
+import com.trip.diary.domain.model.SearchOutbox;
 import com.trip.diary.domain.model.Trip;
 import com.trip.diary.domain.repository.BookmarkRepository;
-import com.trip.diary.domain.repository.LocationRepositoryCustom;
-import com.trip.diary.domain.repository.TripRepositoryCustom;
+import com.trip.diary.domain.repository.LocationRepository;
+import com.trip.diary.domain.repository.TripRepository;
+import com.trip.diary.domain.vo.LocationNameVo;
 import com.trip.diary.dto.TripDto;
+import com.trip.diary.elasticsearch.model.DocumentUpdate;
 import com.trip.diary.elasticsearch.model.TripDocument;
 import com.trip.diary.elasticsearch.repository.TripSearchRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
 import static com.trip.diary.domain.constants.Constants.SEARCH_PAGE_SIZE;
+import static com.trip.diary.domain.constants.SearchOutboxType.BOOKMARK_UPDATE;
+import static com.trip.diary.domain.constants.SearchOutboxType.LOCATION_ADD;
+import static com.trip.diary.domain.constants.SearchOutboxType.LOCATION_REMOVE;
+import static com.trip.diary.domain.constants.SearchOutboxType.TRIP_SAVE;
+import static com.trip.diary.domain.constants.SearchOutboxType.TRIP_UPDATE;
 
 @Service
 @RequiredArgsConstructor
 public class TripSearchService {
     private final TripSearchRepository tripSearchRepository;
     private final BookmarkRepository bookmarkRepository;
-    private final TripRepositoryCustom tripRepositoryCustom;
-    private final LocationRepositoryCustom locationRepositoryCustom;
+    private final TripRepository tripRepository;
+    private final LocationRepository locationRepository;
     private final ElasticSearchClient elasticSearchClient;
     private static final String INDEX_NAME_OF_TRIP = "trips";
 
-    public void save(Trip trip) {
-        elasticSearchClient.save(TripDocument.from(trip));
-    }
+    /**
+     * 아웃박스에 쌓인 변경을 순서대로 한 번의 bulk 요청으로 보낸다.
+     * 생성은 전체 도큐먼트를, 수정은 바뀐 필드만, 로케이션 추가/삭제는 MySQL 의 현재 로케이션 목록을 보내
+     * 도큐먼트를 읽지 않고, 같은 아웃박스가 다시 반영되어도 결과가 같게 한다.
+     */
+    public void apply(List<SearchOutbox> outboxes) {
+        if (outboxes.isEmpty()) {
+            return;
+        }
 
-    public void update(Trip trip) {
-        tripSearchRepository.findById(trip.getId())
-                .ifPresent(tripDocument -> {
-                            tripDocument.update(trip);
-                            elasticSearchClient.update(INDEX_NAME_OF_TRIP, tripDocument);
-                        }
-                );
-    }
+        Map<Long, Trip> trips = tripRepository.findAllById(outboxes.stream()
+                        .filter(outbox -> outbox.getType() == TRIP_SAVE || outbox.getType() == TRIP_UPDATE
+                                || outbox.getType() == BOOKMARK_UPDATE)
+                        .map(SearchOutbox::getDocumentId)
+                        .collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(Trip::getId, Function.identity()));
 
-    public void addLocationToTripDocument(Long tripId, String locationName) {
-        tripSearchRepository.findById(tripId)
-                .ifPresent(tripDocument -> {
-                            tripDocument.addLocation(locationName);
-                            elasticSearchClient.update(INDEX_NAME_OF_TRIP, tripDocument);
-                        }
-                );
+        Map<Long, List<String>> locationNamesByTripId = findLocationNames(outboxes);
+
+        List<DocumentUpdate> updates = new ArrayList<>();
+        Set<Long> locationUpdatedTripIds = new HashSet<>();
+        for (SearchOutbox outbox : outboxes) {
+            Long tripId = outbox.getDocumentId();
+            List<String> locationNames = locationNamesByTripId.getOrDefault(tripId, List.of());
+            switch (outbox.getType()) {
+                case TRIP_SAVE -> Optional.ofNullable(trips.get(tripId))
+                        .ifPresent(trip -> updates.add(DocumentUpdate.upsert(TripDocument.from(trip, locationNames))));
+                case TRIP_UPDATE -> Optional.ofNullable(trips.get(tripId))
+                        .ifPresent(trip -> updates.add(TripDocument.getUpdate(trip)));
+                case BOOKMARK_UPDATE -> Optional.ofNullable(trips.get(tripId))
+                        .ifPresent(trip -> updates.add(TripDocument.getBookmarkUpdate(trip)));
+                case LOCATION_ADD, LOCATION_REMOVE -> {
+                    // 현재 로케이션 목록을 보내므로 한 배치 안에서는 여행 기록장마다 한 번만 보낸다
+                    if (locationUpdatedTripIds.add(tripId)) {
+                        updates.add(TripDocument.getLocationsUpdate(tripId, locationNames));
+                    }
+                }
+                default -> throw new IllegalArgumentException("not a trip document outbox: " + outbox.getType());
+            }
+        }
+        elasticSearchClient.bulkUpdate(INDEX_NAME_OF_TRIP, updates);
     }
 
-    public void removeToTripDocument(Long tripId, String locationName) {
-        tripSearchRepository.findById(tripId)
-                .ifPresent(tripDocument -> {
-                            tripDocument.removeLocation(locationName);
-                            elasticSearchClient.update(INDEX_NAME_OF_TRIP, tripDocument);
-                        }
-                );
+    private Map<Long, List<String>> findLocationNames(List<SearchOutbox> outboxes) {
+        Set<Long> tripIds = outboxes.stream()
+                .filter(outbox -> outbox.getType() == TRIP_SAVE || outbox.getType() == LOCATION_ADD
+                        || outbox.getType() == LOCATION_REMOVE)
+                .map(SearchOutbox::getDocumentId)
+                .collect(Collectors.toSet());
+        if (tripIds.isEmpty()) {
+            return Map.of();
+        }
+
+        return locationRepository.findNamesByTripIds(tripIds).stream()
+                .collect(Collectors.groupingBy(LocationNameVo::getTripId,
+                        Collectors.mapping(LocationNameVo::getName, Collectors.toList())));
     }
 
     public Page<TripDto> search(int page, String keyword, Member member) {
-        return tripSearchRepository
+        return toTripDtoPage(tripSearchRepository
                 .findByKeyword(keyword, keyword.replace(" ", ""),
-                        PageRequest.of(page, SEARCH_PAGE_SIZE))
-                .map(tripDocument -> TripDto.of(tripDocument,
-                        bookmarkRepository.existsByTrip_IdAndMember(tripDocument.getId(), member)));
+                        PageRequest.of(page, SEARCH_PAGE_SIZE)), member);
     }
 
     public Page<TripDto> searchByLocation(int page, String keyword, Member member) {
-        return tripSearchRepository
-                .findByLocationsName(keyword.replace(" ", ""), PageRequest.of(page, SEARCH_PAGE_SIZE))
-                .map(tripDocument -> TripDto.of(tripDocument,
-                        bookmarkRepository.existsByTrip_IdAndMember(tripDocument.getId(), member)));
+        return toTripDtoPage(tripSearchRepository
+                .findByLocationsName(keyword.replace(" ", ""), PageRequest.of(page, SEARCH_PAGE_SIZE)), member);
     }
 
     public Page<TripDto> searchByKeywordOrderByBookmark(int page, String keyword, Member member) {
-        return tripRepositoryCustom
-                .findByKeywordContainsOrderByBookmark(keyword, PageRequest.of(page, SEARCH_PAGE_SIZE))
-                .map(tripBookmarkDto -> TripDto.of(tripBookmarkDto,
-                        locationRepositoryCustom.findLocationNameByTripId(tripBookmarkDto.getTripId()),
-                        bookmarkRepository.existsByTrip_IdAndMember(tripBookmarkDto.getTripId(), member)));
+        return toTripDtoPage(tripSearchRepository
+                .findByKeywordOrderByBookmark(keyword, PageRequest.of(page, SEARCH_PAGE_SIZE,
+                        Sort.by(Sort.Order.desc("countOfBookmark"), Sort.Order.desc("id")))), member);
+    }
+
+    /**
+     * 페이지에 담긴 트립의 북마크 여부를 한 번에 조회해 페이지 크기와 관계없이 쿼리 수를 일정하게 한다.
+     */
+    private Page<TripDto> toTripDtoPage(Page<TripDocument> tripDocuments, Member member) {
+        Set<Long> bookmarkedTripIds = findBookmarkedTripIds(
+                tripDocuments.map(TripDocument::getId).getContent(), member);
+        return tripDocuments
+                .map(tripDocument -> TripDto.of(tripDocument, bookmarkedTripIds.contains(tripDocument.getId())));
+    }
+
+    private Set<Long> findBookmarkedTripIds(List<Long> tripIds, Member member) {
+        return tripIds.isEmpty() ? Set.of() : bookmarkRepository.findBookmarkedTripIds(member, tripIds);
     }
 }
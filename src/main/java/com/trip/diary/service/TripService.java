@@ -69,7 +69,7 @@ public class TripService {
                 ).collect(Collectors.toList());
     }
 
-
+    @Transactional
     public TripDto update(Long tripId, UpdateTripForm form, Member member) {
         Trip trip = tripRepository.findById(tripId)
                 .orElseThrow(() -> new TripException(NOT_FOUND_TRIP));
@@ -15,6 +15,14 @@ public class FilePathUtil {
                 getFileExtension(fileName);
     }
 
+    public String createContentAddressedFileName(String contentHash, String fileName) {
+        return contentHash + getFileExtension(fileName);
+    }
+
+    public String createVariantFilePath(String filePath, String suffix) {
+        return filePath.substring(0, filePath.lastIndexOf(".")) + suffix + getFileExtension(filePath);
+    }
+
     public String getFileExtension(String fileName) {
         return fileName.substring(fileName.lastIndexOf("."));
     }
@@ -22,4 +30,8 @@ public class FilePathUtil {
     public String createFilePath(String domain) {
         return domain + "/" + LocalDate.now() + "/";
     }
+
+    public String createContentAddressedFilePath(String domain) {
+        return domain + "/";
+    }
 }
@@ -1,31 +1,137 @@
 package com.trip.diary.util;
 
 import com.trip.diary.client.FileUploadClient;
-import lombok.RequiredArgsConstructor;
+import com.trip.diary.domain.constants.ImageVariant;
+import com.trip.diary.domain.repository.ImageDeletionRepository;
+import com.trip.diary.exception.ErrorCode;
+import com.trip.diary.exception.FileException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
 
+@Slf4j
 @Component
-@RequiredArgsConstructor
 public class ImageManager {
     private final FileUploadClient fileUploadClient;
+    private final ImageDeletionRepository imageDeletionRepository;
+    private final Executor imageUploadExecutor;
+    private final Duration deletionGracePeriod;
     public static final List<String> ALLOW_IMAGE_CODES = List.of(".jpeg", ".png", ".jpg", ".gif");
+    public static final List<String> RESIZABLE_IMAGE_CODES = List.of(".jpeg", ".png", ".jpg");
 
+    public ImageManager(FileUploadClient fileUploadClient,
+                        ImageDeletionRepository imageDeletionRepository,
+                        @Qualifier("imageUploadExecutor") Executor imageUploadExecutor,
+                        @Value("${image.deletion.grace-period:10m}") Duration deletionGracePeriod) {
+        this.fileUploadClient = fileUploadClient;
+        this.imageDeletionRepository = imageDeletionRepository;
+        this.imageUploadExecutor = imageUploadExecutor;
+        this.deletionGracePeriod = deletionGracePeriod;
+    }
+
+    /**
+     * 이미지를 병렬로 업로드하고, 입력 순서대로 경로를 반환한다.
+     * 하나라도 실패하면 업로드된 이미지를 지우고 예외를 던진다.
+     */
     public List<String> uploadImages(List<MultipartFile> multipartFiles, String domain) {
-        return multipartFiles.stream()
+        List<CompletableFuture<String>> uploads = multipartFiles.stream()
                 .filter(multipartFile ->
                         ALLOW_IMAGE_CODES.contains(
                                 FilePathUtil.getFileExtension(
                                         Objects.requireNonNull(multipartFile.getOriginalFilename()))))
-                .map(multipartFile -> fileUploadClient.upload(multipartFile, domain))
+                .map(multipartFile -> CompletableFuture.supplyAsync(
+                        () -> upload(multipartFile, domain), imageUploadExecutor))
                 .collect(Collectors.toList());
+
+        try {
+            CompletableFuture.allOf(uploads.toArray(CompletableFuture[]::new)).join();
+        } catch (CompletionException e) {
+            deleteImages(uploads.stream()
+                    .filter(upload -> !upload.isCompletedExceptionally())
+                    .map(CompletableFuture::join)
+                    .collect(Collectors.toList()));
+            log.warn("image upload failed : {}", e.getMessage());
+            if (e.getCause() instanceof FileException fileException) {
+                throw fileException;
+            }
+            throw new FileException(ErrorCode.UPLOAD_FAILED);
+        }
+
+        return uploads.stream()
+                .map(CompletableFuture::join)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 같은 내용의 이미지가 삭제 예약되어 있으면 존재 여부를 보기 전에 삭제를 미룬다.
+     * 삭제 중이었다면 삭제가 끝난 뒤에 존재 여부를 보므로 다시 업로드된다.
+     */
+    private String upload(MultipartFile multipartFile, String domain) {
+        String imagePath = fileUploadClient.createFilePath(multipartFile, domain);
+        imageDeletionRepository.postpone(imagePath, LocalDateTime.now().plus(deletionGracePeriod));
+        fileUploadClient.uploadIfAbsent(multipartFile, imagePath);
+        return imagePath;
+    }
+
+    public boolean isResizable(String imagePath) {
+        return RESIZABLE_IMAGE_CODES.contains(FilePathUtil.getFileExtension(imagePath));
+    }
+
+    /**
+     * 원본을 한 번 내려받아 크기별 이미지를 만들고, 크기별 경로를 반환한다.
+     * 같은 원본으로 이미 만들어진 이미지는 다시 만들지 않는다.
+     */
+    public Map<ImageVariant, String> createResizedImages(String imagePath) {
+        String extension = FilePathUtil.getFileExtension(imagePath);
+        String formatName = extension.equals(".png") ? "png" : "jpg";
+        String contentType = extension.equals(".png") ? "image/png" : "image/jpeg";
+        byte[] original = null;
+
+        Map<ImageVariant, String> variantPaths = new EnumMap<>(ImageVariant.class);
+        for (ImageVariant variant : ImageVariant.values()) {
+            String variantPath = FilePathUtil.createVariantFilePath(imagePath, variant.getSuffix());
+            if (!fileUploadClient.exists(variantPath)) {
+                if (Objects.isNull(original)) {
+                    original = fileUploadClient.download(imagePath);
+                }
+                fileUploadClient.upload(
+                        ImageResizeUtil.resize(original, variant.getMaxWidth(), formatName),
+                        contentType, variantPath);
+            }
+            variantPaths.put(variant, variantPath);
+        }
+        return variantPaths;
+    }
+
+    /**
+     * 이미지는 내용 기반 경로로 공유되므로 바로 지우지 않고 유예 기간 뒤에 지우도록 예약한다.
+     * 같은 이미지를 업로드한 다른 기록이 아직 커밋되지 않았을 수 있기 때문이다.
+     */
+    public void deleteImages(List<String> imagePaths) {
+        LocalDateTime deleteAfter = LocalDateTime.now().plus(deletionGracePeriod);
+        imagePaths.stream()
+                .distinct()
+                .forEach(imagePath -> imageDeletionRepository.schedule(imagePath, deleteAfter));
     }
 
-    public void deleteImages(List<String> imagePaths){
-        imagePaths.forEach(fileUploadClient::delete);
+    public void deleteImageInStorage(String imagePath) {
+        fileUploadClient.delete(imagePath);
+        Arrays.stream(ImageVariant.values())
+                .forEach(variant -> fileUploadClient.delete(
+                        FilePathUtil.createVariantFilePath(imagePath, variant.getSuffix())));
     }
 }
@@ -0,0 +1,41 @@
+package com.trip.diary.util;
+
+import com.trip.diary.exception.ErrorCode;
+import com.trip.diary.exception.FileException;
+import lombok.experimental.UtilityClass;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+@UtilityClass
+public class ImageResizeUtil {
+    public byte[] resize(byte[] image, int maxWidth, String formatName) {
+        try {
+            BufferedImage original = ImageIO.read(new ByteArrayInputStream(image));
+            if (original == null) {
+                throw new FileException(ErrorCode.RESIZE_FAILED);
+            }
+            if (original.getWidth() <= maxWidth) {
+                return image;
+            }
+
+            int height = (int) Math.round((double) original.getHeight() * maxWidth / original.getWidth());
+            BufferedImage resized = new BufferedImage(maxWidth, height,
+                    "png".equals(formatName) ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+            Graphics2D graphics = resized.createGraphics();
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.drawImage(original, 0, 0, maxWidth, height, null);
+            graphics.dispose();
+
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            ImageIO.write(resized, formatName, outputStream);
+            return outputStream.toByteArray();
+        } catch (IOException e) {
+            throw new FileException(ErrorCode.RESIZE_FAILED);
+        }
+    }
+}
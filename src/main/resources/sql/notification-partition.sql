@@ -0,0 +1,21 @@
+-- notification 테이블을 created_at 기준 월별 RANGE 파티션으로 전환한다. (MySQL 8)
+-- 파티션 테이블은 외래 키를 가질 수 없고, 모든 유니크 키(PK 포함)에 파티션 키가 포함되어야 한다.
+-- 이후 월별 파티션 추가와 조회 기간이 지난 파티션 삭제는 NotificationRetentionService 가 수행한다.
+
+-- 1. 외래 키 제거 (엔티티는 NO_CONSTRAINT 로 매핑되어 있어 새로 생성한 테이블에는 없다)
+-- SELECT constraint_name FROM information_schema.referential_constraints
+--  WHERE constraint_schema = DATABASE() AND table_name = 'notification';
+-- ALTER TABLE notification DROP FOREIGN KEY <constraint_name>;
+
+-- 2. PK 에 created_at 추가
+ALTER TABLE notification MODIFY created_at DATETIME(6) NOT NULL;
+ALTER TABLE notification DROP PRIMARY KEY, ADD PRIMARY KEY (id, created_at);
+
+-- 3. 월별 파티션 생성. 보관 중인 가장 오래된 달부터 현재 달까지 나열하고 마지막은 p_future 로 둔다.
+ALTER TABLE notification
+    PARTITION BY RANGE (TO_DAYS(created_at)) (
+        PARTITION p202608 VALUES LESS THAN (TO_DAYS('2026-09-01')),
+        PARTITION p202609 VALUES LESS THAN (TO_DAYS('2026-10-01')),
+        PARTITION p202610 VALUES LESS THAN (TO_DAYS('2026-11-01')),
+        PARTITION p_future VALUES LESS THAN MAXVALUE
+    );
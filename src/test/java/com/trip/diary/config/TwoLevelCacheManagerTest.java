@@ -0,0 +1,94 @@
+package com.trip.diary.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class TwoLevelCacheManagerTest {
+    private static final String CHANNEL = "CACHE_INVALIDATION";
+
+    @Mock
+    private CacheManager redisCacheManager;
+
+    @Mock
+    private Cache redisCache;
+
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+
+    private TwoLevelCacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = new TwoLevelCacheManager(redisCacheManager, stringRedisTemplate,
+                CHANNEL, Duration.ofSeconds(30), 100);
+        given(redisCacheManager.getCache("TripAuthorities")).willReturn(redisCache);
+    }
+
+    @Test
+    @DisplayName("두 번째 조회부터는 로컬 캐시에서 조회")
+    void getTest_hitLocalCache() {
+        //given
+        given(redisCache.get(any())).willReturn(new SimpleValueWrapper(true));
+        Cache cache = cacheManager.getCache("TripAuthorities");
+        //when
+        cache.get(List.of(1L, 1L), Boolean.class);
+        Boolean result = cache.get(List.of(1L, 1L), Boolean.class);
+        //then
+        assertTrue(result);
+        verify(redisCache, times(1)).get(any());
+    }
+
+    @Test
+    @DisplayName("evict 시 무효화 메시지 발행")
+    void evictTest_publishInvalidation() {
+        //given
+        given(redisCache.get(any())).willReturn(new SimpleValueWrapper(true));
+        Cache cache = cacheManager.getCache("TripAuthorities");
+        cache.get(List.of(1L, 1L));
+        //when
+        cache.evict(List.of(1L, 1L));
+        cache.get(List.of(1L, 1L));
+        //then
+        verify(redisCache, times(1)).evict(List.of(1L, 1L));
+        verify(stringRedisTemplate, times(1)).convertAndSend(CHANNEL, "TripAuthorities::[1, 1]");
+        verify(redisCache, times(2)).get(any());
+    }
+
+    @Test
+    @DisplayName("다른 노드의 무효화 메시지 수신 시 로컬 캐시 삭제")
+    void onMessageTest_evictLocalCache() {
+        //given
+        given(redisCache.get(any())).willReturn(new SimpleValueWrapper(true));
+        Cache cache = cacheManager.getCache("TripAuthorities");
+        cache.get(List.of(1L, 1L));
+        //when
+        cacheManager.onMessage(new DefaultMessage(
+                CHANNEL.getBytes(StandardCharsets.UTF_8),
+                "TripAuthorities::[1, 1]".getBytes(StandardCharsets.UTF_8)), null);
+        cache.get(List.of(1L, 1L));
+        //then
+        verify(redisCache, times(2)).get(any());
+        assertEquals(true, cache.get(List.of(1L, 1L), Boolean.class));
+    }
+}
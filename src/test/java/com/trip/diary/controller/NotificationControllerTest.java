@@ -1,16 +1,20 @@
 package com.trip.diary.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.trip.diary.dto.CheckNotificationsForm;
 import com.trip.diary.dto.DeleteNotificationsForm;
 import com.trip.diary.dto.NotificationDto;
 import com.trip.diary.mockuser.WithMockCustomUser;
 import com.trip.diary.service.NotificationService;
+import com.trip.diary.service.NotificationStreamService;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
@@ -22,6 +26,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(controllers = NotificationController.class)
@@ -30,6 +35,9 @@ class NotificationControllerTest {
     @MockBean
     private NotificationService notificationService;
 
+    @MockBean
+    private NotificationStreamService notificationStreamService;
+
     @Autowired
     private MockMvc mockMvc;
 
@@ -43,8 +51,8 @@ class NotificationControllerTest {
     @DisplayName("알림 조회 성공")
     void readNotificationsTest_success() throws Exception {
         //given
-        given(notificationService.readNotifications(any()))
-                .willReturn(List.of(NotificationDto.builder()
+        given(notificationService.readNotifications(any(), any()))
+                .willReturn(new SliceImpl<>(List.of(NotificationDto.builder()
                                 .id(1L)
                                 .createdAt(LocalDateTime.now())
                                 .message("[제주도 여행이 아니라 강릉 여행?] [배짱부름] 댓글에 새벽임님이 댓글을 달았어요.")
@@ -58,10 +66,11 @@ class NotificationControllerTest {
                                 .redirectPath("/trips/posts/7/comments")
                                 .isRead(false)
                                 .build()
-                ));
+                ), PageRequest.ofSize(20), false));
         //when
         //then
         mockMvc.perform(get("/notifications")
+                        .param("cursorId", "3")
                         .header("Authorization", TOKEN)
                         .contentType(MediaType.APPLICATION_JSON)
                 )
@@ -69,6 +78,24 @@ class NotificationControllerTest {
                 .andExpect(status().isOk());
     }
 
+    @Test
+    @WithMockCustomUser
+    @DisplayName("안 읽은 알림 수 조회 성공")
+    void countUnreadNotificationsTest_success() throws Exception {
+        //given
+        given(notificationService.countUnreadNotifications(any()))
+                .willReturn(3L);
+        //when
+        //then
+        mockMvc.perform(get("/notifications/unread-count")
+                        .header("Authorization", TOKEN)
+                        .contentType(MediaType.APPLICATION_JSON)
+                )
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(content().string("3"));
+    }
+
     @Test
     @WithMockCustomUser
     @DisplayName("알림 읽음 처리 성공")
@@ -99,6 +126,28 @@ class NotificationControllerTest {
                 .andExpect(status().isOk());
     }
 
+    @Test
+    @WithMockCustomUser
+    @DisplayName("선택한 알림 읽음 처리 성공")
+    void checkNotificationsTest_success() throws Exception {
+        //given
+        CheckNotificationsForm form = CheckNotificationsForm.builder()
+                .notificationIds(Set.of(1L, 2L))
+                .build();
+        given(notificationService.checkNotifications(any(), any()))
+                .willReturn(2);
+        //when
+        //then
+        mockMvc.perform(put("/notifications/selected")
+                        .header("Authorization", TOKEN)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(form))
+                )
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(content().string("2"));
+    }
+
     @Test
     @WithMockCustomUser
     @DisplayName("알림 삭제 처리 성공")
@@ -0,0 +1,97 @@
+package com.trip.diary.domain.repository;
+
+import com.trip.diary.config.JpaAuditingConfig;
+import com.trip.diary.config.QuerydslConfig;
+import com.trip.diary.domain.model.*;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.util.List;
+import java.util.Objects;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest(properties = {
+        "spring.jpa.database=h2",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import({QuerydslConfig.class, JpaAuditingConfig.class, CommentRepositoryCustom.class})
+class CommentRepositoryCustomTest {
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    @Autowired
+    private CommentRepositoryCustom commentRepositoryCustom;
+
+    @Test
+    @DisplayName("댓글 트리 조회 - 댓글 수와 관계없이 한 번의 쿼리로 조회")
+    void findAllWithMemberByPostIdTest_singleQuery() {
+        //given
+        Post post = savePostWithComments(5, 3);
+        Statistics statistics = testEntityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        testEntityManager.find(Post.class, post.getId());
+        statistics.clear();
+        //when
+        List<Comment> comments = commentRepositoryCustom.findAllWithMemberByPostId(post.getId());
+        comments.forEach(comment -> {
+            comment.getMember().getNickname();
+            if (Objects.nonNull(comment.getParentComment())) {
+                comment.getParentComment().getId();
+            }
+        });
+        //then
+        assertEquals(20, comments.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    private Post savePostWithComments(int countOfComments, int countOfReComments) {
+        Member member = testEntityManager.persist(Member.builder()
+                .username("qwerty99")
+                .password("1234567")
+                .phone("01011111111")
+                .nickname("김맹맹")
+                .build());
+        Trip trip = testEntityManager.persist(Trip.builder()
+                .title("임의의 타이틀")
+                .leader(member)
+                .build());
+        Location location = testEntityManager.persist(Location.builder()
+                .name("제주공항")
+                .thumbnailPath("/post/1.jpg")
+                .trip(trip)
+                .build());
+        Post post = testEntityManager.persist(Post.builder()
+                .content("제주도 도착입니당")
+                .trip(trip)
+                .location(location)
+                .member(member)
+                .build());
+
+        for (int i = 0; i < countOfComments; i++) {
+            Comment comment = testEntityManager.persist(Comment.builder()
+                    .content("댓글" + i)
+                    .post(post)
+                    .member(member)
+                    .build());
+            for (int j = 0; j < countOfReComments; j++) {
+                testEntityManager.persist(Comment.builder()
+                        .content("대댓글" + j)
+                        .post(post)
+                        .parentComment(comment)
+                        .member(member)
+                        .build());
+            }
+        }
+        testEntityManager.flush();
+        testEntityManager.clear();
+        return post;
+    }
+}
@@ -0,0 +1,159 @@
+package com.trip.diary.domain.repository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.function.BiConsumer;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 좋아요 저장 방식별 Redis 메모리 사용량 비교. -Dbenchmark=true 로 실행할 때만 동작하며,
+ * -Dredis.host, -Dredis.port 의 Redis 에 임시 키를 만들었다가 지운다. 비밀번호가 있으면 -Dredis.password 로 넘긴다.
+ * 비트맵은 글마다 (멤버 수 / 8) 바이트를 쓰므로 앞의 일부 글만 써서 약 125MB 안에서 잰다.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class LikeEncodingBenchmark {
+    private static final int COUNT_OF_POSTS = 20_000;
+    private static final int COUNT_OF_MEMBERS = 1_000_000;
+    private static final int COUNT_OF_BITMAP_POSTS = 1_000;
+    // 대부분의 글은 좋아요가 적고 일부 글에 몰리도록 파레토 분포로 만든다. 평균 약 100개
+    private static final double PARETO_ALPHA = 1.2;
+    private static final int MINIMUM_LIKES_PER_POST = 17;
+    private static final int MAXIMUM_LIKES_PER_POST = 50_000;
+    private static final int PIPELINE_SIZE = 10_000;
+    private static final String KEY_PREFIX = "LIKE_BENCHMARK_";
+
+    private LettuceConnectionFactory connectionFactory;
+    private StringRedisTemplate stringRedisTemplate;
+    private List<long[]> likesOfPosts;
+
+    @BeforeEach
+    void setUp() {
+        RedisStandaloneConfiguration configuration = new RedisStandaloneConfiguration(
+                System.getProperty("redis.host", "localhost"),
+                Integer.parseInt(System.getProperty("redis.port", "6379")));
+        Optional.ofNullable(System.getProperty("redis.password")).ifPresent(configuration::setPassword);
+        connectionFactory = new LettuceConnectionFactory(configuration);
+        connectionFactory.afterPropertiesSet();
+        stringRedisTemplate = new StringRedisTemplate(connectionFactory);
+
+        Random random = new Random(42);
+        likesOfPosts = new ArrayList<>(COUNT_OF_POSTS);
+        for (int i = 0; i < COUNT_OF_POSTS; i++) {
+            int countOfLikes = (int) Math.min(MAXIMUM_LIKES_PER_POST,
+                    MINIMUM_LIKES_PER_POST / Math.pow(1 - random.nextDouble(), 1 / PARETO_ALPHA));
+            likesOfPosts.add(random.longs(countOfLikes, 1, COUNT_OF_MEMBERS + 1).toArray());
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        deleteKeys("SET", COUNT_OF_POSTS);
+        deleteKeys("INTEGER_SET", COUNT_OF_POSTS);
+        deleteKeys("BITMAP", COUNT_OF_BITMAP_POSTS);
+        connectionFactory.destroy();
+    }
+
+    @Test
+    @DisplayName("JSON 문자열 Set, 정수 Set, 비트맵의 좋아요당 메모리")
+    void likeEncodingBenchmark_memory() {
+        long countOfLikes = countLikes(COUNT_OF_POSTS);
+        long countOfBitmapLikes = countLikes(COUNT_OF_BITMAP_POSTS);
+
+        long setBytes = write("SET", COUNT_OF_POSTS, (connection, entry) ->
+                connection.setCommands().sAdd(entry.key, toBytes("\"" + entry.memberId + "\"")));
+        long integerSetBytes = write("INTEGER_SET", COUNT_OF_POSTS, (connection, entry) ->
+                connection.setCommands().sAdd(entry.key, toBytes(String.valueOf(entry.memberId))));
+        long bitmapBytes = write("BITMAP", COUNT_OF_BITMAP_POSTS, (connection, entry) ->
+                connection.stringCommands().setBit(entry.key, entry.memberId, true));
+
+        System.out.printf("posts=%d, likes=%d, members=%d%n", COUNT_OF_POSTS, countOfLikes, COUNT_OF_MEMBERS);
+        print("SET", setBytes, countOfLikes);
+        print("INTEGER_SET", integerSetBytes, countOfLikes);
+        System.out.printf("bitmap posts=%d, likes=%d%n", COUNT_OF_BITMAP_POSTS, countOfBitmapLikes);
+        print("BITMAP", bitmapBytes, countOfBitmapLikes);
+        assertTrue(integerSetBytes < setBytes);
+    }
+
+    private long countLikes(int countOfPosts) {
+        return likesOfPosts.subList(0, countOfPosts).stream().mapToLong(likes -> likes.length).sum();
+    }
+
+    private long write(String encoding, int countOfPosts, BiConsumer<RedisConnection, Entry> command) {
+        List<Entry> pending = new ArrayList<>(PIPELINE_SIZE);
+        for (int i = 0; i < countOfPosts; i++) {
+            byte[] key = toBytes(KEY_PREFIX + encoding + i);
+            for (long memberId : likesOfPosts.get(i)) {
+                pending.add(new Entry(key, memberId));
+                if (pending.size() == PIPELINE_SIZE) {
+                    flush(pending, command);
+                }
+            }
+        }
+        flush(pending, command);
+        return getMemoryUsage(encoding, countOfPosts);
+    }
+
+    private void flush(List<Entry> pending, BiConsumer<RedisConnection, Entry> command) {
+        stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            pending.forEach(entry -> command.accept(connection, entry));
+            return null;
+        });
+        pending.clear();
+    }
+
+    private long getMemoryUsage(String encoding, int countOfPosts) {
+        long bytes = 0;
+        for (int from = 0; from < countOfPosts; from += PIPELINE_SIZE) {
+            int to = Math.min(from + PIPELINE_SIZE, countOfPosts);
+            int start = from;
+            List<Object> usages = stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (int i = start; i < to; i++) {
+                    connection.execute("MEMORY", toBytes("USAGE"), toBytes(KEY_PREFIX + encoding + i),
+                            toBytes("SAMPLES"), toBytes("0"));
+                }
+                return null;
+            });
+            bytes += usages.stream().mapToLong(usage -> usage == null ? 0 : (Long) usage).sum();
+        }
+        return bytes;
+    }
+
+    private void deleteKeys(String encoding, int countOfPosts) {
+        for (int from = 0; from < countOfPosts; from += PIPELINE_SIZE) {
+            int to = Math.min(from + PIPELINE_SIZE, countOfPosts);
+            int start = from;
+            stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (int i = start; i < to; i++) {
+                    connection.keyCommands().del(toBytes(KEY_PREFIX + encoding + i));
+                }
+                return null;
+            });
+        }
+    }
+
+    private void print(String encoding, long bytes, long countOfLikes) {
+        System.out.printf("[%s] %,d bytes, %.1f bytes/like%n", encoding, bytes, (double) bytes / countOfLikes);
+    }
+
+    private byte[] toBytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private record Entry(byte[] key, long memberId) {
+    }
+}
@@ -0,0 +1,178 @@
+package com.trip.diary.domain.repository;
+
+import com.trip.diary.client.RedisClient;
+import com.trip.diary.domain.constants.LikeEncoding;
+import com.trip.diary.domain.vo.LikeStatusVo;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class PostLikeRedisRepositoryTest {
+    @Mock
+    private RedisClient redisClient;
+
+    @Test
+    @DisplayName("비트맵 좋아요 - 멤버 아이디를 오프셋으로 비트를 뒤집고 저널에 기록")
+    void toggleTest_bitmap() {
+        //given
+        PostLikeRedisRepository postLikeRedisRepository =
+                new PostLikeRedisRepository(redisClient, LikeEncoding.BITMAP, null);
+        given(redisClient.toggleBit(anyString(), anyLong(), anyString(), anyList())).willReturn(true);
+        //when
+        boolean liked = postLikeRedisRepository.toggle(1L, 30L);
+        //then
+        assertTrue(liked);
+        verify(redisClient).toggleBit("POST_LIKE_BITS1", 30L, "LIKE_JOURNAL",
+                List.of("target", "POST", "targetId", "1", "memberId", "30"));
+        verify(redisClient, never()).toggleValueInSet(anyString(), anyString(), anyString(), anyList());
+    }
+
+    @Test
+    @DisplayName("좋아요 전체 삭제 - 키를 지우고 저널에 CLEAR 기록")
+    void deleteAllByPostIdTest_success() {
+        //given
+        PostLikeRedisRepository postLikeRedisRepository =
+                new PostLikeRedisRepository(redisClient, LikeEncoding.INTEGER_SET, null);
+        //when
+        postLikeRedisRepository.deleteAllByPostId(1L);
+        //then
+        verify(redisClient).deleteKeysAndAppendToStream(List.of("POST_LIKE_IDS1"), "LIKE_JOURNAL",
+                List.of("target", "POST", "targetId", "1", "operation", "CLEAR"));
+    }
+
+    @Test
+    @DisplayName("다시 채우기 - 이전 청크에서 이어지지 않는 대상의 키만 지우고 채움")
+    void rebuildTest_integerSet() {
+        //given
+        PostLikeRedisRepository postLikeRedisRepository =
+                new PostLikeRedisRepository(redisClient, LikeEncoding.INTEGER_SET, null);
+        //when
+        postLikeRedisRepository.rebuild(Map.of(1L, List.of(3L, 4L), 2L, List.of(5L)), Set.of(2L));
+        //then
+        verify(redisClient).addNumbersToSets(
+                Map.of("POST_LIKE_IDS1", List.of(3L, 4L), "POST_LIKE_IDS2", List.of(5L)),
+                List.of("POST_LIKE_IDS2"));
+    }
+
+    @Test
+    @DisplayName("비트맵 좋아요 상태 조회 - 켜진 비트 수와 비트를 한 번에 조회")
+    void findLikeStatusesTest_bitmap() {
+        //given
+        PostLikeRedisRepository postLikeRedisRepository =
+                new PostLikeRedisRepository(redisClient, LikeEncoding.BITMAP, null);
+        given(redisClient.getBitCountAndBitOfKeys(List.of("POST_LIKE_BITS1", "POST_LIKE_BITS2"), 30L))
+                .willReturn(Arrays.asList(3L, true, 0L, false));
+        //when
+        Map<Long, LikeStatusVo> likeStatuses = postLikeRedisRepository.findLikeStatusesByPostIdsAndUserId(
+                List.of(1L, 2L), 30L);
+        //then
+        assertEquals(3L, likeStatuses.get(1L).getCountOfLikes());
+        assertTrue(likeStatuses.get(1L).isReaderLiked());
+        assertEquals(0L, likeStatuses.get(2L).getCountOfLikes());
+        assertFalse(likeStatuses.get(2L).isReaderLiked());
+    }
+
+    @Test
+    @DisplayName("옮기는 중 좋아요 - 두 방식의 키에 같은 결과를 쓰고 저널에 기록")
+    void toggleTest_mirror() {
+        //given
+        PostLikeRedisRepository postLikeRedisRepository =
+                new PostLikeRedisRepository(redisClient, LikeEncoding.SET, LikeEncoding.BITMAP);
+        given(redisClient.toggleWithMirror(anyString(), any(), anyString(), any(), anyLong(), anyString(), anyList()))
+                .willReturn(true);
+        //when
+        boolean liked = postLikeRedisRepository.toggle(1L, 30L);
+        //then
+        assertTrue(liked);
+        verify(redisClient).toggleWithMirror("POST_LIKE1", LikeEncoding.SET, "POST_LIKE_BITS1", LikeEncoding.BITMAP,
+                30L, "LIKE_JOURNAL", List.of("target", "POST", "targetId", "1", "memberId", "30"));
+        verify(redisClient, never()).toggleValueInSet(anyString(), anyString(), anyString(), anyList());
+    }
+
+    @Test
+    @DisplayName("옮기는 중 좋아요 전체 삭제 - 두 방식의 키를 함께 지움")
+    void deleteAllByPostIdTest_mirror() {
+        //given
+        PostLikeRedisRepository postLikeRedisRepository =
+                new PostLikeRedisRepository(redisClient, LikeEncoding.SET, LikeEncoding.INTEGER_SET);
+        //when
+        postLikeRedisRepository.deleteAllByPostId(1L);
+        //then
+        verify(redisClient).deleteKeysAndAppendToStream(List.of("POST_LIKE1", "POST_LIKE_IDS1"), "LIKE_JOURNAL",
+                List.of("target", "POST", "targetId", "1", "operation", "CLEAR"));
+    }
+
+    @Test
+    @DisplayName("새 방식으로 복사 - 기존 Set 키를 복사하고 원래 키가 없어진 대상의 키는 지움")
+    void copyToMirrorTest_integerSet() {
+        //given
+        PostLikeRedisRepository postLikeRedisRepository =
+                new PostLikeRedisRepository(redisClient, LikeEncoding.SET, LikeEncoding.INTEGER_SET);
+        willAnswer(invocation -> {
+            Consumer<String> consumer = invocation.getArgument(1);
+            consumer.accept("POST_LIKE1");
+            consumer.accept("POST_LIKE25");
+            return null;
+        }).given(redisClient).scanKeys(eq("POST_LIKE[0-9]*"), any());
+        willAnswer(invocation -> {
+            Consumer<String> consumer = invocation.getArgument(1);
+            consumer.accept("POST_LIKE_IDS1");
+            consumer.accept("POST_LIKE_IDS7");
+            return null;
+        }).given(redisClient).scanKeys(eq("POST_LIKE_IDS[0-9]*"), any());
+        given(redisClient.copySet("POST_LIKE1", "POST_LIKE_IDS1", LikeEncoding.INTEGER_SET)).willReturn(3L);
+        given(redisClient.copySet("POST_LIKE25", "POST_LIKE_IDS25", LikeEncoding.INTEGER_SET)).willReturn(2L);
+        given(redisClient.existsKey("POST_LIKE1")).willReturn(true);
+        given(redisClient.existsKey("POST_LIKE7")).willReturn(false);
+        //when
+        long countOfLikes = postLikeRedisRepository.copyToMirror();
+        //then
+        assertEquals(5L, countOfLikes);
+        verify(redisClient).copySet("POST_LIKE7", "POST_LIKE_IDS7", LikeEncoding.INTEGER_SET);
+    }
+
+    @Test
+    @DisplayName("옮기는 중이 아니면 복사하지 않음")
+    void copyToMirrorTest_withoutMirror() {
+        //given
+        PostLikeRedisRepository postLikeRedisRepository =
+                new PostLikeRedisRepository(redisClient, LikeEncoding.INTEGER_SET, null);
+        //when
+        long countOfLikes = postLikeRedisRepository.copyToMirror();
+        //then
+        assertEquals(0L, countOfLikes);
+        verify(redisClient, never()).scanKeys(anyString(), any());
+    }
+
+    @Test
+    @DisplayName("다시 채운 뒤 저널 다시 적용 - 옮기는 중이면 두 방식의 키에 모두 적용")
+    void replayJournalTest_mirror() {
+        //given
+        PostLikeRedisRepository postLikeRedisRepository =
+                new PostLikeRedisRepository(redisClient, LikeEncoding.SET, LikeEncoding.BITMAP);
+        given(redisClient.replayStream("LIKE_JOURNAL", "5-0", "POST",
+                Map.of(LikeEncoding.SET, "POST_LIKE", LikeEncoding.BITMAP, "POST_LIKE_BITS"))).willReturn(2L);
+        //when
+        long countOfReplayed = postLikeRedisRepository.replayJournal("5-0");
+        //then
+        assertEquals(2L, countOfReplayed);
+    }
+}
@@ -0,0 +1,180 @@
+package com.trip.diary.domain.repository;
+
+import com.trip.diary.config.JpaAuditingConfig;
+import com.trip.diary.config.QuerydslConfig;
+import com.trip.diary.domain.constants.ParticipantType;
+import com.trip.diary.domain.model.*;
+import com.trip.diary.dto.TripDto;
+import com.trip.diary.service.BookmarkService;
+import com.trip.diary.service.NotificationService;
+import com.trip.diary.service.ParticipantService;
+import com.trip.diary.service.TripService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+
+import static com.trip.diary.domain.constants.ParticipantType.ACCEPTED;
+import static com.trip.diary.domain.constants.ParticipantType.PENDING;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+/**
+ * 트립 목록 조회 서비스가 TripDto 를 만들 때 트립 수와 관계없이 쿼리 수가 예산 안에 드는지 확인한다.
+ * 트립마다 리더가 아닌 참여자를 따로 두어 참여자의 멤버를 트립마다 읽는지도 함께 잰다.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.database=h2",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import({QuerydslConfig.class, JpaAuditingConfig.class})
+class TripFetchPlanTest {
+    private static final int COUNT_OF_TRIPS = 50;
+    private static final int QUERY_BUDGET = 5;
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    @Autowired
+    private TripRepository tripRepository;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private ParticipantRepository participantRepository;
+
+    @Autowired
+    private BookmarkRepository bookmarkRepository;
+
+    private TripService tripService;
+
+    private ParticipantService participantService;
+
+    private BookmarkService bookmarkService;
+
+    private Statistics statistics;
+
+    private Member member;
+
+    @BeforeEach
+    void setUp() {
+        NotificationService notificationService = mock(NotificationService.class);
+        ApplicationEventPublisher applicationEventPublisher = mock(ApplicationEventPublisher.class);
+        tripService = new TripService(tripRepository, memberRepository, participantRepository,
+                notificationService, applicationEventPublisher);
+        participantService = new ParticipantService(tripRepository, participantRepository, memberRepository,
+                notificationService, applicationEventPublisher);
+        bookmarkService = new BookmarkService(tripRepository, participantRepository, bookmarkRepository,
+                applicationEventPublisher);
+
+        member = saveMember(0);
+        for (int i = 1; i <= COUNT_OF_TRIPS; i++) {
+            saveTrip(i, ACCEPTED, false);
+            saveTrip(COUNT_OF_TRIPS + i, PENDING, true);
+        }
+        testEntityManager.flush();
+        testEntityManager.clear();
+        statistics = testEntityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("참여 중인 여행 기록장 목록 - 쿼리 예산 안에서 조회")
+    void readParticipatingTripTest_withinQueryBudget() {
+        //when
+        List<TripDto> trips = tripService.readParticipatingTrip(member);
+        //then
+        assertEquals(COUNT_OF_TRIPS, trips.size());
+        assertEquals(3, trips.get(0).getParticipants().size());
+        assertEquals(2, trips.get(0).getLocations().size());
+        assertWithinQueryBudget();
+    }
+
+    @Test
+    @DisplayName("초대받은 여행 기록장 목록 - 쿼리 예산 안에서 조회")
+    void getInvitedTripListTest_withinQueryBudget() {
+        //when
+        List<TripDto> trips = participantService.getInvitedTripList(member);
+        //then
+        assertEquals(COUNT_OF_TRIPS, trips.size());
+        assertEquals(3, trips.get(0).getParticipants().size());
+        assertWithinQueryBudget();
+    }
+
+    @Test
+    @DisplayName("북마크한 여행 기록장 목록 - 비공개 권한 확인을 포함해 쿼리 예산 안에서 조회")
+    void readBookmarksTest_withinQueryBudget() {
+        //when
+        Slice<TripDto> trips = bookmarkService.readBookmarks(0, member);
+        //then
+        assertFalse(trips.getContent().isEmpty());
+        assertTrue(trips.hasNext());
+        assertWithinQueryBudget();
+    }
+
+    private void assertWithinQueryBudget() {
+        assertTrue(statistics.getPrepareStatementCount() <= QUERY_BUDGET,
+                "queries: " + statistics.getPrepareStatementCount());
+    }
+
+    private Member saveMember(int index) {
+        return testEntityManager.persist(Member.builder()
+                .username("qwerty" + index)
+                .password("1234567")
+                .phone("010" + String.format("%08d", index))
+                .nickname("김맹맹" + index)
+                .build());
+    }
+
+    private void saveTrip(int index, ParticipantType type, boolean isPrivate) {
+        Member leader = saveMember(index);
+        Trip trip = testEntityManager.persist(Trip.builder()
+                .title("임의의 타이틀" + index)
+                .isPrivate(isPrivate)
+                .leader(leader)
+                .build());
+        testEntityManager.persist(Participant.builder()
+                .trip(trip)
+                .member(leader)
+                .type(ACCEPTED)
+                .build());
+        testEntityManager.persist(Participant.builder()
+                .trip(trip)
+                .member(member)
+                .type(type)
+                .build());
+        testEntityManager.persist(Participant.builder()
+                .trip(trip)
+                .member(saveMember(COUNT_OF_TRIPS * 2 + index))
+                .type(ACCEPTED)
+                .build());
+        testEntityManager.persist(Location.builder()
+                .name("제주공항")
+                .thumbnailPath("/post/1.jpg")
+                .trip(trip)
+                .build());
+        testEntityManager.persist(Location.builder()
+                .name("한라산")
+                .thumbnailPath("/post/2.jpg")
+                .trip(trip)
+                .build());
+        testEntityManager.persist(Bookmark.builder()
+                .trip(trip)
+                .member(member)
+                .build());
+    }
+}
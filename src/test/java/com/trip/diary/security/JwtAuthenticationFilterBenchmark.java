@@ -0,0 +1,106 @@
+package com.trip.diary.security;
+
+import com.trip.diary.domain.model.Member;
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * 필터의 요청당 비용 측정. -Dbenchmark=true 로 실행할 때만 동작한다.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class JwtAuthenticationFilterBenchmark {
+    private static final int WARMUP_ITERATIONS = 20_000;
+    private static final int MEASURE_ITERATIONS = 200_000;
+    private static final int COUNT_OF_DISTINCT_TOKENS = 5_000;
+
+    private TokenProvider tokenProvider;
+    private JwtAuthenticationFilter jwtAuthenticationFilter;
+
+    @BeforeEach
+    void setUp() {
+        tokenProvider = new TokenProvider();
+        ReflectionTestUtils.setField(tokenProvider, "secretKey",
+                Base64.getEncoder().encodeToString("benchmark-secret-key-benchmark-secret-key".getBytes()));
+        tokenProvider.init();
+
+        UserDetailsService userDetailsService = username -> new MemberPrincipal(createMember(1L, username));
+
+        jwtAuthenticationFilter = new JwtAuthenticationFilter();
+        ReflectionTestUtils.setField(jwtAuthenticationFilter, "tokenProvider", tokenProvider);
+        ReflectionTestUtils.setField(jwtAuthenticationFilter, "userDetailsService", userDetailsService);
+    }
+
+    @Test
+    @DisplayName("같은 토큰으로 반복 요청 - 검증 캐시 적중")
+    void filterBenchmark_sameToken() throws Exception {
+        String token = tokenProvider.generateToken(createMember(1L, "qwerty99"));
+        runFilter(List.of(token), WARMUP_ITERATIONS);
+
+        long elapsed = runFilter(List.of(token), MEASURE_ITERATIONS);
+        System.out.printf("[same token] %d ns/request%n", elapsed / MEASURE_ITERATIONS);
+    }
+
+    @Test
+    @DisplayName("매 요청 새로운 토큰 - 서명 검증 1회")
+    void filterBenchmark_distinctTokens() throws Exception {
+        runFilter(generateTokens("warmup", COUNT_OF_DISTINCT_TOKENS), COUNT_OF_DISTINCT_TOKENS);
+
+        List<String> tokens = generateTokens("measure", COUNT_OF_DISTINCT_TOKENS);
+        long elapsed = runFilter(tokens, COUNT_OF_DISTINCT_TOKENS);
+        System.out.printf("[distinct tokens] %d ns/request%n", elapsed / COUNT_OF_DISTINCT_TOKENS);
+    }
+
+    private List<String> generateTokens(String prefix, int count) {
+        List<String> tokens = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            tokens.add(tokenProvider.generateToken(createMember((long) i, prefix + i)));
+        }
+        return tokens;
+    }
+
+    private Member createMember(Long id, String username) {
+        return Member.builder()
+                .id(id)
+                .username(username)
+                .nickname(username)
+                .build();
+    }
+
+    private long runFilter(List<String> tokens, int iterations) throws ServletException, IOException {
+        List<MockHttpServletRequest> requests = tokens.stream()
+                .map(token -> {
+                    MockHttpServletRequest request = new MockHttpServletRequest();
+                    request.addHeader("Authorization", "Bearer " + token);
+                    return request;
+                })
+                .toList();
+
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            SecurityContextHolder.clearContext();
+            jwtAuthenticationFilter.doFilterInternal(requests.get(i % requests.size()),
+                    new MockHttpServletResponse(), new MockFilterChain());
+        }
+        long elapsed = System.nanoTime() - start;
+
+        assertNotNull(SecurityContextHolder.getContext().getAuthentication());
+        SecurityContextHolder.clearContext();
+        return elapsed;
+    }
+}
@@ -122,7 +122,7 @@ class AuthServiceTest {
                 .build();
         given(memberRepository.findByUsername(anyString())).willReturn(Optional.of(member));
         given(passwordEncoder.matches(any(), anyString())).willReturn(true);
-        given(tokenProvider.generateToken(anyString())).willReturn("Bearer tokenstring");
+        given(tokenProvider.generateToken(any())).willReturn("Bearer tokenstring");
         //when
         TokenDto tokenDto = authService.authenticate(form);
         //then
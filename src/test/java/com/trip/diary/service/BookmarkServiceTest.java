@@ -9,6 +9,7 @@ import com.trip.diary.domain.repository.BookmarkRepository;
 import com.trip.diary.domain.repository.ParticipantRepository;
 import com.trip.diary.domain.repository.TripRepository;
 import com.trip.diary.dto.TripDto;
+import com.trip.diary.event.dto.TripBookmarkEvent;
 import com.trip.diary.exception.ErrorCode;
 import com.trip.diary.exception.TripException;
 import org.junit.jupiter.api.DisplayName;
@@ -17,12 +18,14 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.SliceImpl;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -43,6 +46,9 @@ class BookmarkServiceTest {
     @Mock
     private BookmarkRepository bookmarkRepository;
 
+    @Mock
+    private ApplicationEventPublisher applicationEventPublisher;
+
     @InjectMocks
     private BookmarkService bookmarkService;
 
@@ -73,6 +79,8 @@ class BookmarkServiceTest {
         bookmarkService.bookmark(1L, member);
         //then
         verify(bookmarkRepository, times(1)).save(any());
+        verify(tripRepository, times(1)).updateCountOfBookmark(1L, 1);
+        verify(applicationEventPublisher, times(1)).publishEvent(any(TripBookmarkEvent.class));
     }
 
     @Test
@@ -92,6 +100,8 @@ class BookmarkServiceTest {
         bookmarkService.bookmark(1L, member);
         //then
         verify(bookmarkRepository, times(1)).delete(any());
+        verify(tripRepository, times(1)).updateCountOfBookmark(1L, -1);
+        verify(applicationEventPublisher, times(1)).publishEvent(any(TripBookmarkEvent.class));
     }
 
     @Test
@@ -150,8 +160,8 @@ class BookmarkServiceTest {
                                         .member(member)
                                         .build()
                         )));
-        given(participantRepository.existsByTripAndMemberAndType(trip, member, ParticipantType.ACCEPTED))
-                .willReturn(true);
+        given(participantRepository.findTripIdsByMemberAndType(member, ParticipantType.ACCEPTED, List.of(1L)))
+                .willReturn(Set.of(1L));
         //when
         Slice<TripDto> result =  bookmarkService.readBookmarks(0, member);
         //then
@@ -209,8 +219,8 @@ class BookmarkServiceTest {
                                         .member(member)
                                         .build()
                         )));
-        given(participantRepository.existsByTripAndMemberAndType(trip, member, ParticipantType.ACCEPTED))
-                .willReturn(false);
+        given(participantRepository.findTripIdsByMemberAndType(member, ParticipantType.ACCEPTED, List.of(1L)))
+                .willReturn(Set.of());
         //when
         Slice<TripDto> result =  bookmarkService.readBookmarks(0, member);
         //then
@@ -3,8 +3,10 @@ package com.trip.diary.service;
 import com.trip.diary.domain.model.*;
 import com.trip.diary.domain.repository.CommentLikeRedisRepository;
 import com.trip.diary.domain.repository.CommentRepository;
+import com.trip.diary.domain.repository.CommentRepositoryCustom;
 import com.trip.diary.domain.repository.ParticipantRepository;
 import com.trip.diary.domain.repository.PostRepository;
+import com.trip.diary.domain.vo.LikeStatusVo;
 import com.trip.diary.dto.CommentDto;
 import com.trip.diary.dto.CreateCommentForm;
 import com.trip.diary.exception.CommentException;
@@ -22,6 +24,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -37,6 +40,9 @@ class CommentServiceTest {
     @Mock
     private CommentRepository commentRepository;
 
+    @Mock
+    private CommentRepositoryCustom commentRepositoryCustom;
+
     @Mock
     private PostRepository postRepository;
 
@@ -334,48 +340,46 @@ class CommentServiceTest {
                 .willReturn(Optional.of(post));
         given(participantRepository.existsByTripAndMemberAndType(any(), any(), any()))
                 .willReturn(true);
-        given(commentRepository.findByPostAndParentCommentIsNull(any()))
+        Comment parentComment = Comment.builder()
+                .id(1L)
+                .content("제주도 도착입니당")
+                .member(member)
+                .post(post)
+                .createdAt(LocalDateTime.now())
+                .build();
+        given(commentRepositoryCustom.findAllWithMemberByPostId(anyLong()))
                 .willReturn(List.of(
+                        parentComment,
                         Comment.builder()
-                                .id(1L)
-                                .content("제주도 도착입니당")
+                                .id(2L)
+                                .content("저 너무 설레는데 어쩌죠 ?")
+                                .member(participant1)
+                                .post(post)
+                                .parentComment(parentComment)
+                                .createdAt(LocalDateTime.now())
+                                .build(),
+                        Comment.builder()
+                                .id(3L)
+                                .content("어디야 너ㅡㅡ")
                                 .member(member)
                                 .post(post)
-                                .reComments(
-                                        List.of(
-                                                Comment.builder()
-                                                        .id(2L)
-                                                        .content("저 너무 설레는데 어쩌죠 ?")
-                                                        .member(participant1)
-                                                        .post(post)
-                                                        .createdAt(LocalDateTime.now())
-                                                        .build(),
-                                                Comment.builder()
-                                                        .id(3L)
-                                                        .content("어디야 너ㅡㅡ")
-                                                        .member(member)
-                                                        .post(post)
-                                                        .createdAt(LocalDateTime.now())
-                                                        .build()
-                                        ))
+                                .parentComment(parentComment)
+                                .createdAt(LocalDateTime.now())
                                 .build(),
                         Comment.builder()
                                 .id(4L)
                                 .content("키킷,,, 나도 지금가는중임..")
-                                .reComments(new ArrayList<>())
                                 .member(participant1)
                                 .createdAt(LocalDateTime.now())
                                 .post(post)
                                 .build()
                 ));
-        given(commentLikeRedisRepository.countByCommentId(1L)).willReturn(3L);
-        given(commentLikeRedisRepository.existsByCommentIdAndUserId(1L, 1L)).willReturn(true);
-        given(commentLikeRedisRepository.countByCommentId(2L)).willReturn(0L);
-        given(commentLikeRedisRepository.existsByCommentIdAndUserId(2L, 1L)).willReturn(false);
-        given(commentLikeRedisRepository.countByCommentId(3L)).willReturn(3L);
-        given(commentLikeRedisRepository.existsByCommentIdAndUserId(3L, 1L)).willReturn(false);
-        given(commentLikeRedisRepository.countByCommentId(4L)).willReturn(0L);
-        given(commentLikeRedisRepository.existsByCommentIdAndUserId(4L, 1L)).willReturn(false);
+        given(commentLikeRedisRepository.findLikeStatusesByCommentIdsAndUserId(List.of(1L, 2L, 3L, 4L), 1L))
+                .willReturn(Map.of(
+                        1L, new LikeStatusVo(3L, true),
+                        2L, new LikeStatusVo(0L, false),
+                        3L, new LikeStatusVo(3L, false),
+                        4L, new LikeStatusVo(0L, false)));
         //when
         List<CommentDto> result = commentService.read(1L, member);
         //then
@@ -386,6 +390,10 @@ class CommentServiceTest {
         assertEquals(2L, result.get(1).getAuthorId());
         assertEquals("키킷,,, 나도 지금가는중임..", result.get(1).getContent());
         assertEquals(0, result.get(1).getCountOfComments());
+        assertEquals(3L, result.get(0).getCountOfLikes());
+        assertTrue(result.get(0).getIsReaderLiked());
+        assertEquals(3L, result.get(0).getReComments().get(1).getCountOfLikes());
+        assertFalse(result.get(0).getReComments().get(1).getIsReaderLiked());
     }
 
     @Test
@@ -518,12 +526,12 @@ class CommentServiceTest {
                                 .createdAt(LocalDateTime.now())
                                 .build()));
         given(participantRepository.existsByTripAndMemberAndType(any(), any(), any())).willReturn(true);
-        given(commentLikeRedisRepository.existsByCommentIdAndUserId(anyLong(), anyLong()))
-                .willReturn(false);
+        given(commentLikeRedisRepository.toggle(anyLong(), anyLong()))
+                .willReturn(true);
         //when
         commentService.like(1L, member);
         //then
-        verify(commentLikeRedisRepository, times(1)).save(anyLong(), any());
+        verify(commentLikeRedisRepository, times(1)).toggle(1L, member.getId());
     }
 
     @Test
@@ -541,12 +549,12 @@ class CommentServiceTest {
                                 .createdAt(LocalDateTime.now())
                                 .build()));
         given(participantRepository.existsByTripAndMemberAndType(any(), any(), any())).willReturn(true);
-        given(commentLikeRedisRepository.existsByCommentIdAndUserId(anyLong(), anyLong()))
-                .willReturn(true);
+        given(commentLikeRedisRepository.toggle(anyLong(), anyLong()))
+                .willReturn(false);
         //when
         commentService.like(1L, member);
         //then
-        verify(commentLikeRedisRepository, times(1)).delete(anyLong(), any());
+        verify(commentLikeRedisRepository, times(1)).toggle(1L, member.getId());
     }
 
     @Test
@@ -0,0 +1,99 @@
+package com.trip.diary.service;
+
+import com.trip.diary.domain.model.ImageDeletion;
+import com.trip.diary.domain.repository.ImageDeletionRepository;
+import com.trip.diary.domain.repository.PostImageRepository;
+import com.trip.diary.util.ImageManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class ImageDeletionServiceTest {
+    @Mock
+    private ImageDeletionRepository imageDeletionRepository;
+
+    @Mock
+    private PostImageRepository postImageRepository;
+
+    @Mock
+    private ImageManager imageManager;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private ImageDeletionService imageDeletionService;
+
+    private final ImageDeletion imageDeletion = ImageDeletion.builder()
+            .imagePath("post/abc.jpg")
+            .deleteAfter(LocalDateTime.now().minusMinutes(1))
+            .build();
+
+    @BeforeEach
+    void setUp() {
+        given(imageDeletionRepository.findImagePathsToDelete(any(), any())).willReturn(List.of("post/abc.jpg"));
+        given(transactionTemplate.execute(any()))
+                .willAnswer(invocation ->
+                        invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    @Test
+    @DisplayName("이미지 삭제 성공 - 참조하는 기록이 없으면 저장소에서 지움")
+    void deleteExpiredImagesTest_success() {
+        //given
+        given(imageDeletionRepository.findByImagePathAndDeleteAfterLessThanEqual(eq("post/abc.jpg"), any()))
+                .willReturn(Optional.of(imageDeletion));
+        given(postImageRepository.findReferencedImagePaths(List.of("post/abc.jpg"))).willReturn(Set.of());
+        //when
+        imageDeletionService.deleteExpiredImages();
+        //then
+        verify(imageManager).deleteImageInStorage("post/abc.jpg");
+        verify(imageDeletionRepository).delete(imageDeletion);
+    }
+
+    @Test
+    @DisplayName("이미지 삭제 - 다시 참조되었으면 저장소에서 지우지 않고 예약만 지움")
+    void deleteExpiredImagesTest_referenced() {
+        //given
+        given(imageDeletionRepository.findByImagePathAndDeleteAfterLessThanEqual(eq("post/abc.jpg"), any()))
+                .willReturn(Optional.of(imageDeletion));
+        given(postImageRepository.findReferencedImagePaths(List.of("post/abc.jpg")))
+                .willReturn(Set.of("post/abc.jpg"));
+        //when
+        imageDeletionService.deleteExpiredImages();
+        //then
+        verify(imageManager, never()).deleteImageInStorage(anyString());
+        verify(imageDeletionRepository).delete(imageDeletion);
+    }
+
+    @Test
+    @DisplayName("이미지 삭제 - 업로드로 삭제가 미뤄졌으면 건너뜀")
+    void deleteExpiredImagesTest_postponed() {
+        //given
+        given(imageDeletionRepository.findByImagePathAndDeleteAfterLessThanEqual(eq("post/abc.jpg"), any()))
+                .willReturn(Optional.empty());
+        //when
+        imageDeletionService.deleteExpiredImages();
+        //then
+        verify(postImageRepository, never()).findReferencedImagePaths(anyCollection());
+        verify(imageManager, never()).deleteImageInStorage(anyString());
+        verify(imageDeletionRepository, never()).delete(any());
+    }
+}
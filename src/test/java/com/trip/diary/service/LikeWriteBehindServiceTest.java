@@ -0,0 +1,268 @@
+package com.trip.diary.service;
+
+import com.trip.diary.domain.constants.LikeOperation;
+import com.trip.diary.domain.constants.LikeTarget;
+import com.trip.diary.domain.model.LikeRecord;
+import com.trip.diary.domain.repository.CommentLikeRedisRepository;
+import com.trip.diary.domain.repository.LikeJournalRedisRepository;
+import com.trip.diary.domain.repository.LikeRecordBulkRepository;
+import com.trip.diary.domain.repository.PostLikeRedisRepository;
+import com.trip.diary.domain.vo.LikeJournalVo;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+import static com.trip.diary.domain.constants.LikeOperation.*;
+import static com.trip.diary.domain.constants.LikeTarget.COMMENT;
+import static com.trip.diary.domain.constants.LikeTarget.POST;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class LikeWriteBehindServiceTest {
+    @Mock
+    private LikeJournalRedisRepository likeJournalRedisRepository;
+
+    @Mock
+    private LikeRecordBulkRepository likeRecordBulkRepository;
+
+    @Mock
+    private PostLikeRedisRepository postLikeRedisRepository;
+
+    @Mock
+    private CommentLikeRedisRepository commentLikeRedisRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private LikeWriteBehindService likeWriteBehindService;
+
+    @BeforeEach
+    void setUp() {
+        likeWriteBehindService = new LikeWriteBehindService(likeJournalRedisRepository, likeRecordBulkRepository,
+                postLikeRedisRepository, commentLikeRedisRepository, transactionTemplate, new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("저널 반영 성공 - 같은 좋아요의 마지막 변경만 반영하고 저널 삭제")
+    void flushTest_success() {
+        //given
+        List<LikeJournalVo> journals = List.of(
+                createJournal("1-0", POST, 1L, 10L, LIKE),
+                createJournal("2-0", POST, 1L, 10L, UNLIKE),
+                createJournal("3-0", POST, 1L, 11L, LIKE),
+                createJournal("4-0", COMMENT, 1L, 10L, LIKE),
+                createJournal("5-0", POST, 3L, 12L, LIKE),
+                createJournal("6-0", POST, 3L, null, CLEAR));
+        given(likeJournalRedisRepository.lock(any())).willReturn(Optional.of("token"));
+        given(likeJournalRedisRepository.findOldest(anyInt())).willReturn(journals);
+        givenTransaction();
+        ArgumentCaptor<List<LikeJournalVo>> clearCaptor = ArgumentCaptor.forClass(List.class);
+        ArgumentCaptor<List<LikeJournalVo>> unlikeCaptor = ArgumentCaptor.forClass(List.class);
+        ArgumentCaptor<List<LikeRecord>> likeCaptor = ArgumentCaptor.forClass(List.class);
+        //when
+        likeWriteBehindService.flush();
+        //then
+        verify(likeRecordBulkRepository).deleteAllByTargets(clearCaptor.capture());
+        verify(likeRecordBulkRepository).deleteAll(unlikeCaptor.capture());
+        verify(likeRecordBulkRepository).saveAll(likeCaptor.capture());
+        assertEquals(List.of("6-0"), getRecordIds(clearCaptor.getValue()));
+        assertEquals(List.of("2-0"), getRecordIds(unlikeCaptor.getValue()));
+        assertEquals(List.of("POST:1:11", "COMMENT:1:10"), toKeys(likeCaptor.getValue()));
+        verify(likeJournalRedisRepository).deleteAll(journals);
+        verify(likeJournalRedisRepository).unlock("token");
+    }
+
+    @Test
+    @DisplayName("저널 반영 실패 - 저장에 실패하면 저널을 남겨 다음에 다시 반영")
+    void flushTest_failWhenWriteFailed() {
+        //given
+        given(likeJournalRedisRepository.lock(any())).willReturn(Optional.of("token"));
+        given(likeJournalRedisRepository.findOldest(anyInt()))
+                .willReturn(List.of(createJournal("1-0", POST, 1L, 10L, LIKE)));
+        givenTransaction();
+        willThrow(new QueryTimeoutException("timeout")).given(likeRecordBulkRepository).saveAll(anyList());
+        //when
+        likeWriteBehindService.flush();
+        //then
+        verify(likeJournalRedisRepository, never()).deleteAll(anyList());
+        verify(likeJournalRedisRepository).unlock("token");
+    }
+
+    @Test
+    @DisplayName("저널 반영 - 다른 서버가 반영 중이면 건너뜀")
+    void flushTest_skipWhenLocked() {
+        //given
+        given(likeJournalRedisRepository.lock(any())).willReturn(Optional.empty());
+        //when
+        likeWriteBehindService.flush();
+        //then
+        verify(likeJournalRedisRepository, never()).findOldest(anyInt());
+        verify(likeJournalRedisRepository, never()).unlock(anyString());
+    }
+
+    @Test
+    @DisplayName("다시 채우기 성공 - 청크를 넘어 이어지는 대상의 키는 한 번만 지움")
+    void rebuildTest_success() {
+        //given
+        given(likeJournalRedisRepository.lock(any())).willReturn(Optional.of("token"));
+        given(likeJournalRedisRepository.findOldest(anyInt())).willReturn(List.of());
+        given(postLikeRedisRepository.getTarget()).willReturn(POST);
+        given(commentLikeRedisRepository.getTarget()).willReturn(COMMENT);
+        willAnswer(invocation -> {
+            Consumer<LikeRecord> consumer = invocation.getArgument(1);
+            for (long memberId = 1; memberId < 10_000; memberId++) {
+                consumer.accept(createLikeRecord(1L, memberId));
+            }
+            consumer.accept(createLikeRecord(2L, 1L));
+            consumer.accept(createLikeRecord(2L, 2L));
+            return null;
+        }).given(likeRecordBulkRepository).findAllByTarget(eq(POST), any());
+        List<Integer> countsOfTargets = new ArrayList<>();
+        List<Set<Long>> targetIdsToReset = new ArrayList<>();
+        willAnswer(invocation -> {
+            countsOfTargets.add(invocation.<Map<Long, List<Long>>>getArgument(0).size());
+            targetIdsToReset.add(new HashSet<>(invocation.<Collection<Long>>getArgument(1)));
+            return null;
+        }).given(postLikeRedisRepository).rebuild(anyMap(), anyCollection());
+        //when
+        likeWriteBehindService.rebuild();
+        //then
+        assertEquals(List.of(2, 1), countsOfTargets);
+        assertEquals(List.of(Set.of(1L, 2L), Set.of()), targetIdsToReset);
+        verify(commentLikeRedisRepository, never()).rebuild(anyMap(), anyCollection());
+        verify(postLikeRedisRepository).replayJournal("0-0");
+        verify(likeJournalRedisRepository).unlock("token");
+    }
+
+    @Test
+    @DisplayName("다시 채우기 - 저널이 빌 때까지 반영한 뒤 다시 채움")
+    void rebuildTest_drainJournal() {
+        //given
+        List<LikeJournalVo> first = List.of(createJournal("1-0", POST, 1L, 10L, LIKE));
+        List<LikeJournalVo> second = List.of(createJournal("2-0", POST, 1L, 10L, UNLIKE));
+        given(likeJournalRedisRepository.lock(any())).willReturn(Optional.of("token"));
+        given(likeJournalRedisRepository.findOldest(anyInt())).willReturn(first, second, List.of());
+        givenTransaction();
+        given(postLikeRedisRepository.getTarget()).willReturn(POST);
+        given(commentLikeRedisRepository.getTarget()).willReturn(COMMENT);
+        //when
+        likeWriteBehindService.rebuild();
+        //then
+        InOrder inOrder = inOrder(likeJournalRedisRepository, likeRecordBulkRepository);
+        inOrder.verify(likeJournalRedisRepository).deleteAll(first);
+        inOrder.verify(likeJournalRedisRepository).deleteAll(second);
+        inOrder.verify(likeRecordBulkRepository).findAllByTarget(eq(POST), any());
+        verify(postLikeRedisRepository).replayJournal("2-0");
+        verify(commentLikeRedisRepository).replayJournal("2-0");
+        inOrder.verify(likeJournalRedisRepository).unlock("token");
+    }
+
+    @Test
+    @DisplayName("다시 채우기 실패 - 저널 반영에 실패하면 다시 채우지 않음")
+    void rebuildTest_failWhenFlushFailed() {
+        //given
+        given(likeJournalRedisRepository.lock(any())).willReturn(Optional.of("token"));
+        given(likeJournalRedisRepository.findOldest(anyInt()))
+                .willReturn(List.of(createJournal("1-0", POST, 1L, 10L, LIKE)));
+        givenTransaction();
+        willThrow(new QueryTimeoutException("timeout")).given(likeRecordBulkRepository).saveAll(anyList());
+        //when
+        assertThrows(QueryTimeoutException.class, () -> likeWriteBehindService.rebuild());
+        //then
+        verify(likeRecordBulkRepository, never()).findAllByTarget(any(), any());
+        verify(likeJournalRedisRepository).unlock("token");
+    }
+
+    @Test
+    @DisplayName("다시 채우기 실패 - 다른 서버가 저널을 반영 중이면 다시 채우지 않음")
+    void rebuildTest_failWhenLocked() {
+        //given
+        given(likeJournalRedisRepository.lock(any())).willReturn(Optional.empty());
+        //when
+        assertThrows(IllegalStateException.class, () -> likeWriteBehindService.rebuild());
+        //then
+        verify(likeRecordBulkRepository, never()).findAllByTarget(any(), any());
+        verify(likeJournalRedisRepository, never()).unlock(anyString());
+    }
+
+    @Test
+    @DisplayName("옮기기 성공 - Redis 의 좋아요를 MySQL 에 저장")
+    void backfillTest_success() {
+        //given
+        given(likeJournalRedisRepository.lock(any())).willReturn(Optional.of("token"));
+        given(likeJournalRedisRepository.findOldest(anyInt())).willReturn(List.of());
+        givenTransaction();
+        given(postLikeRedisRepository.getTarget()).willReturn(POST);
+        given(commentLikeRedisRepository.getTarget()).willReturn(COMMENT);
+        willAnswer(invocation -> {
+            BiConsumer<Long, List<Long>> consumer = invocation.getArgument(0);
+            consumer.accept(1L, List.of(10L, 11L));
+            consumer.accept(2L, List.of(12L));
+            return null;
+        }).given(postLikeRedisRepository).findAll(any());
+        List<String> savedLikes = new ArrayList<>();
+        willAnswer(invocation -> savedLikes.addAll(toKeys(invocation.getArgument(0))))
+                .given(likeRecordBulkRepository).saveAll(anyList());
+        //when
+        likeWriteBehindService.backfill();
+        //then
+        assertEquals(List.of("POST:1:10", "POST:1:11", "POST:2:12"), savedLikes);
+        verify(likeJournalRedisRepository).unlock("token");
+    }
+
+    private void givenTransaction() {
+        given(transactionTemplate.execute(any()))
+                .willAnswer(invocation ->
+                        invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    private LikeJournalVo createJournal(String recordId, LikeTarget target, Long targetId, Long memberId,
+                                        LikeOperation operation) {
+        return new LikeJournalVo(recordId, target, targetId, memberId, operation);
+    }
+
+    private LikeRecord createLikeRecord(Long targetId, Long memberId) {
+        return LikeRecord.builder()
+                .target(POST)
+                .targetId(targetId)
+                .memberId(memberId)
+                .build();
+    }
+
+    private List<String> getRecordIds(List<LikeJournalVo> journals) {
+        return journals.stream().map(LikeJournalVo::getRecordId).toList();
+    }
+
+    private List<String> toKeys(List<LikeRecord> likes) {
+        return likes.stream()
+                .map(like -> like.getTarget() + ":" + like.getTargetId() + ":" + like.getMemberId())
+                .toList();
+    }
+}
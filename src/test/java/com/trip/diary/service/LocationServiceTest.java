@@ -5,6 +5,7 @@ import com.trip.diary.domain.repository.LocationRepository;
 import com.trip.diary.domain.repository.ParticipantRepository;
 import com.trip.diary.domain.repository.TripRepository;
 import com.trip.diary.domain.constants.ParticipantType;
+import com.trip.diary.domain.vo.LocationGalleryVo;
 import com.trip.diary.dto.LocationDetailDto;
 import com.trip.diary.dto.LocationDto;
 import com.trip.diary.exception.ErrorCode;
@@ -18,6 +19,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -33,6 +35,9 @@ class LocationServiceTest {
     @Mock
     private TripRepository tripRepository;
 
+    @Mock
+    private LocationRepository locationRepository;
+
     @InjectMocks
     private LocationService locationService;
 
@@ -119,67 +124,18 @@ class LocationServiceTest {
     @DisplayName("로케이션 상세 리스트 읽기 성공")
     void readLocationDetailsTest_success() {
         //given
-        Trip trip = Trip.builder()
-                .id(1L)
-                .title("임의의 타이틀")
-                .isPrivate(true)
-                .description("임의의 설명")
-                .leader(member)
-                .participants(List.of(
-                        Participant.builder()
-                                .member(member)
-                                .type(ParticipantType.ACCEPTED)
-                                .build(),
-                        Participant.builder()
-                                .member(participant1)
-                                .type(ParticipantType.ACCEPTED)
-                                .build(),
-                        Participant.builder()
-                                .member(participant2)
-                                .type(ParticipantType.ACCEPTED)
-                                .build()
-                ))
-                .locations(List.of(Location.builder()
-                        .id(1L)
-                        .name("제주공항")
-                        .thumbnailPath("/posts/1.jpg")
-                        .posts(List.of(
-                                Post.builder()
-                                        .id(1L)
-                                        .content("제주공항에서 본 고양이 짱귀엽다")
-                                        .member(participant1)
-                                        .images(
-                                                List.of(PostImage.builder()
-                                                        .id(1L)
-                                                        .imagePath("/posts/1.jpg")
-                                                        .build()
-                                                )
-                                        )
-                                        .build(),
-                                Post.builder()
-                                        .id(2L)
-                                        .content("제주도 첫끼니는 버거킹..ㅋ")
-                                        .member(participant1)
-                                        .images(
-                                                List.of(PostImage.builder()
-                                                                .id(2L)
-                                                                .imagePath("/posts/2.jpg")
-                                                                .build(),
-                                                        PostImage.builder()
-                                                                .id(2L)
-                                                                .imagePath("/posts/3.jpg")
-                                                                .build()
-                                                )
-                                        )
-                                        .build()
-                        ))
-                        .build()))
-                .build();
         given(tripRepository.findById(anyLong())).willReturn(Optional.of(trip));
         given(participantRepository.existsByTripAndMemberAndType(any(), any(), any())).willReturn(true);
+        given(locationRepository.findGalleryByTripId(1L)).willReturn(List.of(
+                new LocationGalleryVo(1L, "제주공항", 1L, "/posts/1.jpg", null),
+                new LocationGalleryVo(1L, "제주공항", 2L, "/posts/2.jpg", null),
+                new LocationGalleryVo(1L, "제주공항", 2L, "/posts/3.jpg", null),
+                new LocationGalleryVo(2L, "한라산", 3L, "/posts/4_small.jpg", "/profiles/2.jpg")
+        ));
         //when
         List<LocationDetailDto> result = locationService.readLocationDetails(1L, member);
         //then
+        assertEquals(2, result.size());
         assertEquals(1L, result.get(0).getId());
         assertEquals("제주공항", result.get(0).getName());
         assertEquals(1, result.get(0).getProfilePaths().size());
@@ -190,6 +146,9 @@ class LocationServiceTest {
         assertEquals("/posts/2.jpg", result.get(0).getPosts().get(1).getImagePath());
         assertEquals(2L, result.get(0).getPosts().get(2).getId());
         assertEquals("/posts/3.jpg", result.get(0).getPosts().get(2).getImagePath());
+        assertEquals("한라산", result.get(1).getName());
+        assertEquals(Set.of("/profiles/2.jpg"), result.get(1).getProfilePaths());
+        assertEquals("/posts/4_small.jpg", result.get(1).getPosts().get(0).getImagePath());
     }
 
     @Test
@@ -2,7 +2,11 @@ package com.trip.diary.service;
 
 import com.trip.diary.client.ElasticSearchClient;
 import com.trip.diary.domain.model.Member;
+import com.trip.diary.domain.model.SearchOutbox;
+import com.trip.diary.domain.repository.MemberRepository;
+import com.trip.diary.domain.repository.SearchReindexRepository;
 import com.trip.diary.dto.MemberDto;
+import com.trip.diary.elasticsearch.model.DocumentUpdate;
 import com.trip.diary.elasticsearch.model.MemberDocument;
 import com.trip.diary.elasticsearch.repository.MemberSearchRepository;
 import org.junit.jupiter.api.DisplayName;
@@ -15,9 +19,11 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.*;
 
+import static com.trip.diary.domain.constants.SearchOutboxType.*;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
@@ -27,6 +33,10 @@ class MemberSearchServiceTest {
     @Mock
     private MemberSearchRepository memberSearchRepository;
     @Mock
+    private MemberRepository memberRepository;
+    @Mock
+    private SearchReindexRepository searchReindexRepository;
+    @Mock
     private ElasticSearchClient elasticSearchClient;
     @InjectMocks
     private MemberSearchService memberSearchService;
@@ -42,67 +52,60 @@ class MemberSearchServiceTest {
 
     @Test
     @DisplayName("멤버 도큐먼트 저장 성공")
-    void saveTest_success() {
+    void applyTest_save() {
         //given
+        given(memberRepository.findAllById(anySet())).willReturn(List.of(member));
         //when
-        memberSearchService.save(member);
-        ArgumentCaptor<MemberDocument> captor = ArgumentCaptor.forClass(MemberDocument.class);
+        memberSearchService.apply(List.of(SearchOutbox.of(MEMBER_SAVE, 1L)));
+        ArgumentCaptor<List<DocumentUpdate>> captor = ArgumentCaptor.forClass(List.class);
         //then
-        verify(elasticSearchClient, times(1)).save(captor.capture());
-        assertEquals("김맹맹", captor.getValue().getNickname());
-        assertEquals("profiles/basic.jpg", captor.getValue().getProfileUrl());
-        assertEquals(0, captor.getValue().getTrips().size());
+        verify(elasticSearchClient, times(1)).bulkUpdate(anyString(), captor.capture());
+        MemberDocument memberDocument = (MemberDocument) captor.getValue().get(0).getDocument();
+        assertEquals("김맹맹", memberDocument.getNickname());
+        assertEquals("profiles/basic.jpg", memberDocument.getProfileUrl());
+        assertEquals(0, memberDocument.getTrips().size());
     }
 
     @Test
-    @DisplayName("멤버 도큐먼트에 여행 기록장 추가 성공")
-    void addTripToMemberDocumentsTest_success() {
+    @DisplayName("멤버 도큐먼트에 여행 기록장 추가/삭제 성공 - 도큐먼트를 읽지 않고 스크립트로 전송")
+    void applyTest_tripScripts() {
         //given
-        List<MemberDocument.Trip> trips = new ArrayList<>();
-        trips.add(new MemberDocument.Trip(2L));
-        trips.add(new MemberDocument.Trip(3L));
-
-        given(memberSearchRepository.findByIdIn(anySet()))
-                .willReturn(Arrays.asList(
-                        MemberDocument.builder()
-                                .id(1L)
-                                .nickname("바밤바")
-                                .profileUrl("basic.jpg")
-                                .trips(trips)
-                                .build()
-                ));
         //when
-        memberSearchService.addTripToMemberDocuments(Set.of(1L), 5L);
-        ArgumentCaptor<List<MemberDocument>> captor = ArgumentCaptor.forClass(List.class);
+        memberSearchService.apply(List.of(
+                SearchOutbox.of(MEMBER_TRIP_ADD, 1L, 5L),
+                SearchOutbox.of(MEMBER_TRIP_ADD, 2L, 5L),
+                SearchOutbox.of(MEMBER_TRIP_REMOVE, 1L, 2L)));
+        ArgumentCaptor<List<DocumentUpdate>> captor = ArgumentCaptor.forClass(List.class);
         //then
-        verify(elasticSearchClient, times(1)).update(anyString(), captor.capture());
-        assertEquals(5L, captor.getValue().get(0).getTrips().get(2).getId());
+        verify(memberSearchRepository, never()).findByIdIn(anySet());
+        verify(elasticSearchClient, times(1)).bulkUpdate(anyString(), captor.capture());
+        assertEquals(3, captor.getValue().size());
+        assertEquals(1L, captor.getValue().get(0).getId());
+        assertEquals(5L, captor.getValue().get(0).getParams().get("tripId"));
+        assertEquals(2L, captor.getValue().get(1).getId());
+        assertEquals(1L, captor.getValue().get(2).getId());
+        assertEquals(2L, captor.getValue().get(2).getParams().get("tripId"));
+        assertNotEquals(captor.getValue().get(0).getScript(), captor.getValue().get(2).getScript());
     }
 
     @Test
-    @DisplayName("멤버 도큐먼트에 여행 기록장 삭제 성공")
-    void removeTripToMemberDocumentsTest_success() {
+    @DisplayName("멤버 도큐먼트 다시 맞추기 성공 - 참여한 여행 기록장까지 MySQL 에서 읽어 전체 저장")
+    void applyTest_resync() {
         //given
-        List<MemberDocument.Trip> trips = new ArrayList<>();
-        trips.add(new MemberDocument.Trip(2L));
-        trips.add(new MemberDocument.Trip(3L));
-
-        given(memberSearchRepository.findById(anyLong()))
-                .willReturn(Optional.of(
-                        MemberDocument.builder()
-                                .id(1L)
-                                .nickname("바밤바")
-                                .profileUrl("basic.jpg")
-                                .trips(trips)
-                                .build()
-                ));
+        given(searchReindexRepository.findMemberDocumentsByIds(Set.of(1L))).willReturn(List.of(
+                MemberDocument.builder()
+                        .id(1L)
+                        .nickname("김맹맹")
+                        .trips(List.of(new MemberDocument.Trip(5L)))
+                        .build()));
         //when
-        memberSearchService.removeTripToMemberDocument(1L, 2L);
-        ArgumentCaptor<MemberDocument> captor = ArgumentCaptor.forClass(MemberDocument.class);
+        memberSearchService.apply(List.of(SearchOutbox.of(MEMBER_RESYNC, 1L)));
+        ArgumentCaptor<List<DocumentUpdate>> captor = ArgumentCaptor.forClass(List.class);
         //then
-        verify(elasticSearchClient, times(1)).update(anyString(), captor.capture());
-        assertEquals(1, captor.getValue().getTrips().size());
-        assertEquals(3L, captor.getValue().getTrips().get(0).getId());
+        verify(elasticSearchClient, times(1)).bulkUpdate(anyString(), captor.capture());
+        MemberDocument memberDocument = (MemberDocument) captor.getValue().get(0).getDocument();
+        assertEquals(1L, memberDocument.getId());
+        assertTrue(memberDocument.isInvitedInTrip(5L));
     }
 
     @Test
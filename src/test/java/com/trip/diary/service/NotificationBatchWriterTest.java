@@ -0,0 +1,202 @@
+package com.trip.diary.service;
+
+import com.trip.diary.domain.constants.NotificationType;
+import com.trip.diary.domain.model.Member;
+import com.trip.diary.domain.model.Notification;
+import com.trip.diary.domain.repository.NotificationBulkRepository;
+import com.trip.diary.domain.repository.NotificationRepository;
+import com.trip.diary.domain.repository.NotificationUnreadCountRedisRepository;
+import com.trip.diary.domain.vo.NotificationMessageVo;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationBatchWriterTest {
+    @Mock
+    private NotificationBulkRepository notificationBulkRepository;
+
+    @Mock
+    private NotificationRepository notificationRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private NotificationUnreadCountRedisRepository notificationUnreadCountRedisRepository;
+
+    @Mock
+    private NotificationStreamService notificationStreamService;
+
+    private MeterRegistry meterRegistry;
+
+    private NotificationBatchWriter notificationBatchWriter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        notificationBatchWriter = new NotificationBatchWriter(notificationBulkRepository, notificationRepository,
+                notificationUnreadCountRedisRepository, notificationStreamService, transactionTemplate,
+                Duration.ofMinutes(10), meterRegistry);
+        given(transactionTemplate.execute(any()))
+                .willAnswer(invocation ->
+                        invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    @Test
+    @DisplayName("여러 요청의 알림을 한 번에 저장")
+    void flushTest_success() {
+        //given
+        notificationBatchWriter.enqueue(List.of(createNotification(1L), createNotification(2L)));
+        notificationBatchWriter.enqueue(List.of(createNotification(3L)));
+        assertEquals(3, meterRegistry.get("notification.write.queue.size").gauge().value());
+        //when
+        notificationBatchWriter.flush();
+        ArgumentCaptor<List<Notification>> captor = ArgumentCaptor.forClass(List.class);
+        //then
+        verify(notificationBulkRepository, times(1)).saveAll(captor.capture());
+        assertEquals(3, captor.getValue().size());
+        assertEquals(0, meterRegistry.get("notification.write.queue.size").gauge().value());
+        assertEquals(1, meterRegistry.get("notification.write.flush").timer().count());
+        verify(notificationUnreadCountRedisRepository, times(3)).increase(anyLong(), eq(1L));
+        verify(notificationStreamService, times(1)).publish(anyList());
+    }
+
+    @Test
+    @DisplayName("저장하며 생성된 아이디로 알림 발행")
+    void flushTest_publishWithGeneratedIds() {
+        //given
+        notificationBatchWriter.enqueue(List.of(createNotification(1L), createNotification(2L)));
+        willAnswer(invocation -> {
+            List<Notification> notifications = invocation.getArgument(0);
+            for (int i = 0; i < notifications.size(); i++) {
+                notifications.get(i).setId(100L + i);
+            }
+            return null;
+        }).given(notificationBulkRepository).saveAll(anyList());
+        ArgumentCaptor<List<Notification>> captor = ArgumentCaptor.forClass(List.class);
+        //when
+        notificationBatchWriter.flush();
+        //then
+        verify(notificationStreamService, times(1)).publish(captor.capture());
+        assertEquals(List.of(100L, 101L), captor.getValue().stream().map(Notification::getId).toList());
+    }
+
+    @Test
+    @DisplayName("배치 저장 실패 시 한 건씩 다시 저장")
+    void flushTest_retryOneByOneWhenBatchFailed() {
+        //given
+        notificationBatchWriter.enqueue(List.of(createNotification(1L), createNotification(2L)));
+        willThrow(new DataIntegrityViolationException("fk"))
+                .willDoNothing()
+                .given(notificationBulkRepository).saveAll(anyList());
+        //when
+        notificationBatchWriter.flush();
+        //then
+        verify(notificationBulkRepository, times(3)).saveAll(anyList());
+        verify(notificationUnreadCountRedisRepository, times(2)).increase(anyLong(), eq(1L));
+    }
+
+    @Test
+    @DisplayName("같은 게시물의 댓글 알림은 하나로 합쳐서 저장")
+    void flushTest_coalesceSameGroup() {
+        //given
+        notificationBatchWriter.enqueue(List.of(
+                createCommentNotification(1L, 7L, "새벽임"),
+                createCommentNotification(1L, 8L, "김맹맹")));
+        given(notificationRepository.findUnreadByGroupKeysCreatedAfter(anyCollection(), any()))
+                .willReturn(List.of(createPreviousCommentNotification("3,4,5", 3)));
+        //when
+        notificationBatchWriter.flush();
+        ArgumentCaptor<List<Notification>> captor = ArgumentCaptor.forClass(List.class);
+        //then
+        verify(notificationRepository, times(1)).deleteAllByIdInBatch(List.of(10L));
+        verify(notificationBulkRepository, times(1)).saveAll(captor.capture());
+        assertEquals(1, captor.getValue().size());
+        assertEquals(5, captor.getValue().get(0).getGroupCount());
+        assertEquals("[제주도 여행] [제주공항] 사진에 김맹맹님 외 4명이 댓글을 달았어요.",
+                captor.getValue().get(0).getMessage());
+        verify(notificationUnreadCountRedisRepository, times(1)).increase(1L, 1L);
+        verify(notificationUnreadCountRedisRepository, times(1)).decrease(1L, 1L);
+    }
+
+    @Test
+    @DisplayName("같은 회원이 여러 번 보낸 알림은 보낸 사람 한 명으로 셈")
+    void flushTest_countDistinctSenders() {
+        //given
+        notificationBatchWriter.enqueue(List.of(
+                createCommentNotification(1L, 7L, "새벽임"),
+                createCommentNotification(1L, 8L, "김맹맹"),
+                createCommentNotification(1L, 7L, "새벽임")));
+        given(notificationRepository.findUnreadByGroupKeysCreatedAfter(anyCollection(), any()))
+                .willReturn(List.of(createPreviousCommentNotification("8", 1)));
+        //when
+        notificationBatchWriter.flush();
+        ArgumentCaptor<List<Notification>> captor = ArgumentCaptor.forClass(List.class);
+        //then
+        verify(notificationBulkRepository, times(1)).saveAll(captor.capture());
+        assertEquals(2, captor.getValue().get(0).getGroupCount());
+        assertEquals("[제주도 여행] [제주공항] 사진에 새벽임님 외 1명이 댓글을 달았어요.",
+                captor.getValue().get(0).getMessage());
+    }
+
+    private Notification createPreviousCommentNotification(String senderIds, int groupCount) {
+        return Notification.builder()
+                .id(10L)
+                .groupKey("COMMENT12")
+                .groupCount(groupCount)
+                .senderIds(senderIds)
+                .member(Member.builder().id(1L).build())
+                .build();
+    }
+
+    private Notification createCommentNotification(Long memberId, Long senderId, String senderNickname) {
+        NotificationMessageVo messageVo = new NotificationMessageVo("[제주도 여행] [제주공항] 사진에 ",
+                senderNickname, "댓글을 달았어요.");
+        return Notification.builder()
+                .message(messageVo.render(1))
+                .messageVo(messageVo)
+                .redirectPath("/trips/posts/12/comments")
+                .type(NotificationType.COMMENT)
+                .groupKey("COMMENT12")
+                .senderIds(String.valueOf(senderId))
+                .member(Member.builder().id(memberId).build())
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
+    private Notification createNotification(Long memberId) {
+        return Notification.builder()
+                .message("[제주도 여행] [제주공항] 사진에 새벽임님이 댓글을 달았어요.")
+                .redirectPath("/trips/posts/1/comments")
+                .type(NotificationType.COMMENT)
+                .member(Member.builder().id(memberId).build())
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,111 @@
+package com.trip.diary.service;
+
+import com.trip.diary.domain.repository.NotificationBulkRepository;
+import com.trip.diary.domain.repository.NotificationPurgeRedisRepository;
+import com.trip.diary.domain.repository.NotificationRepository;
+import com.trip.diary.domain.repository.NotificationRepositoryCustom;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.LongStream;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationRetentionServiceTest {
+    @Mock
+    private NotificationRepository notificationRepository;
+
+    @Mock
+    private NotificationRepositoryCustom notificationRepositoryCustom;
+
+    @Mock
+    private NotificationBulkRepository notificationBulkRepository;
+
+    @Mock
+    private NotificationPurgeRedisRepository notificationPurgeRedisRepository;
+
+    @InjectMocks
+    private NotificationRetentionService notificationRetentionService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(notificationRetentionService, "readRetention", Duration.ofDays(30));
+    }
+
+    @Test
+    @DisplayName("만료된 알림을 나눠서 삭제")
+    void purgeTest_deleteInChunks() {
+        //given
+        given(notificationPurgeRedisRepository.lock(any())).willReturn(Optional.of("token"));
+        List<Long> fullChunk = LongStream.rangeClosed(1, 1000).boxed().toList();
+        given(notificationBulkRepository.findPartitionNames()).willReturn(List.of());
+        given(notificationRepositoryCustom.findIdsCreatedBefore(any(), anyInt()))
+                .willReturn(fullChunk, List.of(1001L));
+        given(notificationRepositoryCustom.findReadIdsCreatedBefore(any(), anyInt()))
+                .willReturn(List.of());
+        //when
+        notificationRetentionService.purge();
+        //then
+        verify(notificationRepository, times(1)).deleteAllByIdInBatch(fullChunk);
+        verify(notificationRepository, times(1)).deleteAllByIdInBatch(List.of(1001L));
+        verify(notificationRepository, times(2)).deleteAllByIdInBatch(anyList());
+    }
+
+    @Test
+    @DisplayName("파티션 테이블이면 다음 달 파티션 추가 후 조회 기간이 지난 파티션 삭제")
+    void purgeTest_maintainPartitions() {
+        //given
+        YearMonth currentMonth = YearMonth.now();
+        given(notificationPurgeRedisRepository.lock(any())).willReturn(Optional.of("token"));
+        given(notificationBulkRepository.findPartitionNames()).willReturn(List.of(
+                "p_archive",
+                "p999999",
+                NotificationBulkRepository.getPartitionName(currentMonth.minusMonths(5)),
+                NotificationBulkRepository.getPartitionName(currentMonth),
+                NotificationBulkRepository.FUTURE_PARTITION));
+        given(notificationRepositoryCustom.findIdsCreatedBefore(any(), anyInt())).willReturn(List.of());
+        given(notificationRepositoryCustom.findReadIdsCreatedBefore(any(), anyInt())).willReturn(List.of());
+        //when
+        notificationRetentionService.purge();
+        //then
+        verify(notificationBulkRepository, times(1)).addMonthlyPartition(currentMonth.plusMonths(1));
+        verify(notificationBulkRepository, times(1))
+                .dropPartition(NotificationBulkRepository.getPartitionName(currentMonth.minusMonths(5)));
+        verify(notificationBulkRepository, never())
+                .dropPartition(NotificationBulkRepository.getPartitionName(currentMonth));
+        verify(notificationBulkRepository, times(1)).dropPartition(anyString());
+        verify(notificationRepository, never()).deleteAllByIdInBatch(anyList());
+        verify(notificationPurgeRedisRepository).unlock("token");
+    }
+
+    @Test
+    @DisplayName("다른 서버가 정리 중이면 건너뜀")
+    void purgeTest_skipWhenLocked() {
+        //given
+        given(notificationPurgeRedisRepository.lock(any())).willReturn(Optional.empty());
+        //when
+        notificationRetentionService.purge();
+        //then
+        verify(notificationBulkRepository, never()).findPartitionNames();
+        verify(notificationRepository, never()).deleteAllByIdInBatch(anyList());
+        verify(notificationPurgeRedisRepository, never()).unlock(anyString());
+    }
+}
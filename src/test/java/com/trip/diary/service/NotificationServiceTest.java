@@ -3,10 +3,13 @@ package com.trip.diary.service;
 import com.trip.diary.domain.constants.NotificationType;
 import com.trip.diary.domain.model.Member;
 import com.trip.diary.domain.model.Notification;
-import com.trip.diary.domain.repository.MemberRepository;
 import com.trip.diary.domain.repository.NotificationRepository;
+import com.trip.diary.domain.repository.NotificationRepositoryCustom;
+import com.trip.diary.domain.repository.NotificationUnreadCountRedisRepository;
 import com.trip.diary.dto.NotificationDto;
 import com.trip.diary.exception.ErrorCode;
+import com.trip.diary.event.dto.NotificationCreateEvent;
+import com.trip.diary.event.dto.NotificationUnreadCountEvent;
 import com.trip.diary.exception.NotificationException;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -15,8 +18,11 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Slice;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -24,6 +30,7 @@ import java.util.Set;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.*;
 
@@ -32,7 +39,11 @@ class NotificationServiceTest {
     @Mock
     private NotificationRepository notificationRepository;
     @Mock
-    private MemberRepository memberRepository;
+    private NotificationRepositoryCustom notificationRepositoryCustom;
+    @Mock
+    private NotificationUnreadCountRedisRepository notificationUnreadCountRedisRepository;
+    @Mock
+    private ApplicationEventPublisher applicationEventPublisher;
     @InjectMocks
     private NotificationService notificationService;
 
@@ -56,7 +67,7 @@ class NotificationServiceTest {
     @DisplayName("알림 조회 성공")
     void readNotificationsTest_success() {
         //given
-        given(notificationRepository.findByMember(any()))
+        given(notificationRepositoryCustom.findByMemberIdBeforeCursor(anyLong(), any(), any(), anyInt()))
                 .willReturn(List.of(
                         Notification.builder()
                                 .id(1L)
@@ -78,33 +89,90 @@ class NotificationServiceTest {
                                 .build()
                 ));
         //when
-        List<NotificationDto> result = notificationService.readNotifications(member);
+        Slice<NotificationDto> result = notificationService.readNotifications(null, member);
+        //then
+        assertEquals(1L, result.getContent().get(0).getId());
+        assertFalse(result.getContent().get(0).getIsRead());
+        assertEquals(2L, result.getContent().get(1).getId());
+        assertTrue(result.getContent().get(1).getIsRead());
+        assertFalse(result.hasNext());
+    }
+
+    @Test
+    @DisplayName("알림 조회 성공 - 다음 페이지 존재")
+    void readNotificationsTest_successHasNext() {
+        //given
+        List<Notification> notifications = new ArrayList<>();
+        for (long id = 30; id > 9; id--) {
+            notifications.add(Notification.builder()
+                    .id(id)
+                    .message("[제주도 여행이 아니라 강릉 여행? ] 새벽임님이 기록 공간에 초대했어요. 여기를 눌러 초대에 응답하세요.")
+                    .type(NotificationType.INVITE)
+                    .redirectPath("/trips/invitations")
+                    .createdAt(LocalDateTime.now())
+                    .member(member)
+                    .build());
+        }
+        given(notificationRepositoryCustom.findByMemberIdBeforeCursor(anyLong(), any(), any(), anyInt()))
+                .willReturn(notifications);
+        //when
+        Slice<NotificationDto> result = notificationService.readNotifications(31L, member);
         //then
-        assertEquals(1L, result.get(0).getId());
-        assertFalse(result.get(0).getIsRead());
-        assertEquals(2L, result.get(1).getId());
-        assertTrue(result.get(1).getIsRead());
+        verify(notificationRepositoryCustom, times(1)).findByMemberIdBeforeCursor(eq(1L), eq(31L), any(), eq(20));
+        assertEquals(20, result.getContent().size());
+        assertEquals(11L, result.getContent().get(19).getId());
+        assertTrue(result.hasNext());
+    }
+
+    @Test
+    @DisplayName("안 읽은 알림 수 조회 성공 - 캐시된 카운터 사용")
+    void countUnreadNotificationsTest_successWhenCounterExists() {
+        //given
+        given(notificationUnreadCountRedisRepository.findByMemberId(anyLong()))
+                .willReturn(Optional.of(3L));
+        //when
+        long result = notificationService.countUnreadNotifications(member);
+        //then
+        assertEquals(3L, result);
+        verify(notificationRepository, never()).countByMember_IdAndReadAtIsNullAndCreatedAtGreaterThanEqual(anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("안 읽은 알림 수 조회 성공 - 카운터가 없으면 DB 에서 계산")
+    void countUnreadNotificationsTest_successWhenCounterNotExists() {
+        //given
+        given(notificationUnreadCountRedisRepository.findByMemberId(anyLong()))
+                .willReturn(Optional.empty());
+        given(notificationRepository.countByMember_IdAndReadAtIsNullAndCreatedAtGreaterThanEqual(anyLong(), any()))
+                .willReturn(5L);
+        //when
+        long result = notificationService.countUnreadNotifications(member);
+        //then
+        assertEquals(5L, result);
+        verify(notificationUnreadCountRedisRepository, times(1)).save(1L, 5L);
     }
 
     @Test
     @DisplayName("알림 읽음 처리 성공")
     void checkNotificationTest_success() {
         //given
-        Notification notification = mock(Notification.class);
-        given(notificationRepository.findByIdAndMemberAndReadAtIsNull(anyLong(), any()))
-                .willReturn(Optional.of(notification));
+        given(notificationRepository.updateReadAtByIdsAndMemberId(anyCollection(), anyLong(), any()))
+                .willReturn(1);
         //when
         notificationService.checkNotification(1L, member);
         //then
-        verify(notification, times(1)).setReadAt();
+        verify(notificationRepository, times(1))
+                .updateReadAtByIdsAndMemberId(eq(Set.of(1L)), eq(1L), any());
+        assertUnreadCountEvent(1L, 1L, false);
+        verify(notificationUnreadCountRedisRepository, never()).decrease(anyLong(), anyLong());
     }
 
     @Test
     @DisplayName("알림 읽음 처리 실패 - 해당 알림 없음")
     void checkNotificationTest_failWhenNotFoundNotification() {
         //given
-        given(notificationRepository.findByIdAndMemberAndReadAtIsNull(anyLong(), any()))
-                .willReturn(Optional.empty());
+        given(notificationRepository.updateReadAtByIdsAndMemberId(anyCollection(), anyLong(), any()))
+                .willReturn(0);
         //when
         NotificationException exception = assertThrows(NotificationException.class,
                 () -> notificationService.checkNotification(1L, member));
@@ -116,13 +184,29 @@ class NotificationServiceTest {
     @DisplayName("안읽은 알림 전체 읽음 처리 성공")
     void checkUnreadNotificationsTest_success() {
         //given
-        Notification notification = mock(Notification.class);
-        given(notificationRepository.findByMemberAndReadAtIsNull(any()))
-                .willReturn(List.of(notification, notification));
+        given(notificationRepository.updateReadAtByMemberId(anyLong(), any()))
+                .willReturn(2);
+        //when
+        int result = notificationService.checkUnreadNotifications(member);
+        //then
+        assertEquals(2, result);
+        verify(notificationRepository, times(1)).updateReadAtByMemberId(eq(1L), any());
+        assertUnreadCountEvent(1L, 0L, true);
+    }
+
+    @Test
+    @DisplayName("선택한 알림 읽음 처리 성공")
+    void checkNotificationsTest_success() {
+        //given
+        given(notificationRepository.updateReadAtByIdsAndMemberId(anyCollection(), anyLong(), any()))
+                .willReturn(2);
         //when
-        notificationService.checkUnreadNotifications(member);
+        int result = notificationService.checkNotifications(Set.of(1L, 2L), member);
         //then
-        verify(notification, times(2)).setReadAt();
+        assertEquals(2, result);
+        verify(notificationRepository, times(1))
+                .updateReadAtByIdsAndMemberId(eq(Set.of(1L, 2L)), eq(1L), any());
+        assertUnreadCountEvent(1L, 2L, false);
     }
 
     @Test
@@ -140,9 +224,10 @@ class NotificationServiceTest {
                         .member(member)
                         .build()));
         //when
-        notificationService.deleteNotification(anyLong(), any());
+        notificationService.deleteNotification(1L, member);
         //then
         verify(notificationRepository, times(1)).delete(any());
+        assertUnreadCountEvent(1L, 1L, false);
     }
 
     @Test
@@ -162,132 +247,121 @@ class NotificationServiceTest {
     @DisplayName("알림 전체 삭제 성공")
     void deleteNotificationsTest_success() {
         //given
-        List<Notification> notifications = List.of(
-                Notification.builder()
-                        .id(1L)
-                        .message("[제주도 여행이 아니라 강릉 여행? ] [배짱부름... ] 댓글에 새벽임님이 댓글을 달았어요.")
-                        .type(NotificationType.COMMENT)
-                        .redirectPath("/trips/posts/7/comments")
-                        .createdAt(LocalDateTime.now())
-                        .readAt(null)
-                        .member(member)
-                        .build(),
-                Notification.builder()
-                        .id(2L)
-                        .message("[제주도 여행이 아니라 강릉 여행? ] 새벽임님이 기록 공간에 초대했어요. 여기를 눌러 초대에 응답하세요.")
-                        .type(NotificationType.INVITE)
-                        .redirectPath("/trips/invitations")
-                        .createdAt(LocalDateTime.now())
-                        .readAt(LocalDateTime.now())
-                        .member(member)
-                        .build()
-        );
-        given(notificationRepository.findByIdIn(anySet()))
-                .willReturn(notifications);
+        given(notificationRepository.countByIdInAndMember_IdAndReadAtIsNull(anyCollection(), anyLong()))
+                .willReturn(1L);
+        given(notificationRepository.deleteByIdsAndMemberId(anyCollection(), anyLong()))
+                .willReturn(2);
         //when
-        notificationService.deleteNotifications(Set.of(1L, 2L), member);
+        int result = notificationService.deleteNotifications(Set.of(1L, 2L), member);
         //then
-        verify(notificationRepository, times(1)).deleteAllInBatch(notifications);
+        assertEquals(2, result);
+        verify(notificationRepository, times(1)).deleteByIdsAndMemberId(Set.of(1L, 2L), 1L);
+        assertUnreadCountEvent(1L, 1L, false);
     }
 
     @Test
-    @DisplayName("알림 전체 삭제 실패 - 삭제할 유저의 알림 없음")
+    @DisplayName("알림 전체 삭제 성공 - 이미 삭제된 알림은 무시")
+    void deleteNotificationsTest_ignoreAlreadyDeleted() {
+        //given
+        given(notificationRepository.existsByIdInAndMember_IdNot(anyCollection(), anyLong()))
+                .willReturn(false);
+        given(notificationRepository.countByIdInAndMember_IdAndReadAtIsNull(anyCollection(), anyLong()))
+                .willReturn(0L);
+        given(notificationRepository.deleteByIdsAndMemberId(anyCollection(), anyLong()))
+                .willReturn(1);
+        //when
+        int result = notificationService.deleteNotifications(Set.of(1L, 2L), member);
+        //then
+        assertEquals(1, result);
+    }
+
+    @Test
+    @DisplayName("알림 전체 삭제 실패 - 다른 유저의 알림이 섞여 있음")
     void deleteNotificationsTest_failWhenNotFoundNotification() {
         //given
-        given(notificationRepository.findByIdIn(anySet()))
-                .willReturn(List.of(
-                        Notification.builder()
-                                .id(1L)
-                                .message("[제주도 여행이 아니라 강릉 여행? ] [배짱부름... ] 댓글에 새벽임님이 댓글을 달았어요.")
-                                .type(NotificationType.COMMENT)
-                                .redirectPath("/trips/posts/7/comments")
-                                .createdAt(LocalDateTime.now())
-                                .readAt(null)
-                                .member(member)
-                                .build(),
-                        Notification.builder()
-                                .id(2L)
-                                .message("[제주도 여행이 아니라 강릉 여행? ] 새벽임님이 기록 공간에 초대했어요. 여기를 눌러 초대에 응답하세요.")
-                                .type(NotificationType.INVITE)
-                                .redirectPath("/trips/invitations")
-                                .createdAt(LocalDateTime.now())
-                                .readAt(LocalDateTime.now())
-                                .member(participant1)
-                                .build()
-                ));
+        given(notificationRepository.existsByIdInAndMember_IdNot(anyCollection(), anyLong()))
+                .willReturn(true);
         //when
         NotificationException exception = assertThrows(NotificationException.class,
                 () -> notificationService.deleteNotifications(Set.of(1L, 2L), member));
         //then
         assertEquals(ErrorCode.NOT_FOUND_NOTIFICATION, exception.getErrorCode());
+        verify(notificationRepository, never()).deleteByIdsAndMemberId(anyCollection(), anyLong());
     }
 
     @Test
     @DisplayName("초대 알림 생성 성공")
     void notifyInvitationTest_success() {
         //given
-        given(memberRepository.findAllByIdIn(anySet()))
-                .willReturn(List.of(member, participant1));
         //when
         notificationService.notifyInvitation("제주도 여행이 아니라 강릉 여행? ",
-                "새벽임", Set.of(1L, 2L));
-        ArgumentCaptor<List<Notification>> captor = ArgumentCaptor.forClass(List.class);
+                "새벽임", Set.of(1L));
+        ArgumentCaptor<NotificationCreateEvent> captor = ArgumentCaptor.forClass(NotificationCreateEvent.class);
         //then
-        verify(notificationRepository, times(1)).saveAll(captor.capture());
-        assertEquals("[제주도 여행이 아니라 강릉 여행? ] 새벽임님이 기록 공간에 초대했어요. 여기를 눌러 초대에 응답하세요.", captor.getValue().get(0).getMessage());
-        assertEquals(1L, captor.getValue().get(0).getMember().getId());
-        assertEquals(NotificationType.INVITE, captor.getValue().get(0).getType());
+        verify(applicationEventPublisher, times(1)).publishEvent(captor.capture());
+        assertEquals("[제주도 여행이 아니라 강릉 여행? ] 새벽임님이 기록 공간에 초대했어요. 여기를 눌러 초대에 응답하세요.", captor.getValue().getNotifications().get(0).getMessage());
+        assertEquals(1L, captor.getValue().getNotifications().get(0).getMember().getId());
+        assertEquals(NotificationType.INVITE, captor.getValue().getNotifications().get(0).getType());
     }
 
     @Test
     @DisplayName("댓글 알림 생성 성공")
     void notifyCommentTest_success() {
         //given
-        given(memberRepository.findById(anyLong()))
-                .willReturn(Optional.of(member));
         //when
         notificationService.notifyComment("제주도 여행이 아니라 강릉 여행?", "제주공항", 12L,
-                "새벽임", 1L);
-        ArgumentCaptor<Notification> captor = ArgumentCaptor.forClass(Notification.class);
+                7L, "새벽임", 1L);
+        ArgumentCaptor<NotificationCreateEvent> captor = ArgumentCaptor.forClass(NotificationCreateEvent.class);
         //then
-        verify(notificationRepository, times(1)).save(captor.capture());
-        assertEquals("[제주도 여행이 아니라 강릉 여행?] [제주공항] 사진에 새벽임님이 댓글을 달았어요.", captor.getValue().getMessage());
-        assertEquals(NotificationType.COMMENT, captor.getValue().getType());
-        assertEquals("/trips/posts/12/comments", captor.getValue().getRedirectPath());
+        verify(applicationEventPublisher, times(1)).publishEvent(captor.capture());
+        Notification notification = captor.getValue().getNotifications().get(0);
+        assertEquals("[제주도 여행이 아니라 강릉 여행?] [제주공항] 사진에 새벽임님이 댓글을 달았어요.", notification.getMessage());
+        assertEquals("COMMENT12", notification.getGroupKey());
+        assertEquals("7", notification.getSenderIds());
+        assertEquals(NotificationType.COMMENT, notification.getType());
+        assertEquals("/trips/posts/12/comments", notification.getRedirectPath());
     }
 
     @Test
     @DisplayName("대댓글 알림 생성 성공")
     void notifyReCommentTest_success() {
         //given
-        given(memberRepository.findById(anyLong()))
-                .willReturn(Optional.of(member));
         //when
-        notificationService.notifyReComment("제주도 여행이 아니라 강릉 여행?", "123456789012345678901", 12L,
-                "새벽임", 1L);
-        ArgumentCaptor<Notification> captor = ArgumentCaptor.forClass(Notification.class);
+        notificationService.notifyReComment("제주도 여행이 아니라 강릉 여행?", 3L, "123456789012345678901", 12L,
+                7L, "새벽임", 1L);
+        ArgumentCaptor<NotificationCreateEvent> captor = ArgumentCaptor.forClass(NotificationCreateEvent.class);
         //then
-        verify(notificationRepository, times(1)).save(captor.capture());
-        assertEquals("[제주도 여행이 아니라 강릉 여행?] [12345678901234567890...] 댓글에 새벽임님이 댓글을 달았어요.", captor.getValue().getMessage());
-        assertEquals(NotificationType.RECOMMENT, captor.getValue().getType());
-        assertEquals("/trips/posts/12/comments", captor.getValue().getRedirectPath());
+        verify(applicationEventPublisher, times(1)).publishEvent(captor.capture());
+        Notification notification = captor.getValue().getNotifications().get(0);
+        assertEquals("[제주도 여행이 아니라 강릉 여행?] [12345678901234567890...] 댓글에 새벽임님이 댓글을 달았어요.", notification.getMessage());
+        assertEquals("RECOMMENT3", notification.getGroupKey());
+        assertEquals(NotificationType.RECOMMENT, notification.getType());
+        assertEquals("/trips/posts/12/comments", notification.getRedirectPath());
     }
 
     @Test
     @DisplayName("대댓글 알림 생성 성공 - 댓글의 길이가 20 이하 일 때")
     void notifyReCommentTest_successCommentLengthIs20() {
         //given
-        given(memberRepository.findById(anyLong()))
-                .willReturn(Optional.of(member));
         //when
-        notificationService.notifyReComment("제주도 여행이 아니라 강릉 여행?", "12345678901234567890", 12L,
-                "새벽임", 1L);
-        ArgumentCaptor<Notification> captor = ArgumentCaptor.forClass(Notification.class);
+        notificationService.notifyReComment("제주도 여행이 아니라 강릉 여행?", 3L, "12345678901234567890", 12L,
+                7L, "새벽임", 1L);
+        ArgumentCaptor<NotificationCreateEvent> captor = ArgumentCaptor.forClass(NotificationCreateEvent.class);
         //then
-        verify(notificationRepository, times(1)).save(captor.capture());
-        assertEquals("[제주도 여행이 아니라 강릉 여행?] [12345678901234567890] 댓글에 새벽임님이 댓글을 달았어요.", captor.getValue().getMessage());
-        assertEquals(NotificationType.RECOMMENT, captor.getValue().getType());
-        assertEquals("/trips/posts/12/comments", captor.getValue().getRedirectPath());
+        verify(applicationEventPublisher, times(1)).publishEvent(captor.capture());
+        Notification notification = captor.getValue().getNotifications().get(0);
+        assertEquals("[제주도 여행이 아니라 강릉 여행?] [12345678901234567890] 댓글에 새벽임님이 댓글을 달았어요.", notification.getMessage());
+        assertEquals(NotificationType.RECOMMENT, notification.getType());
+        assertEquals("/trips/posts/12/comments", notification.getRedirectPath());
     }
 
-}
\ No newline at end of file
+
+    private void assertUnreadCountEvent(Long memberId, long countOfRead, boolean reset) {
+        ArgumentCaptor<NotificationUnreadCountEvent> captor =
+                ArgumentCaptor.forClass(NotificationUnreadCountEvent.class);
+        verify(applicationEventPublisher, times(1)).publishEvent(captor.capture());
+        assertEquals(memberId, captor.getValue().getMemberId());
+        assertEquals(countOfRead, captor.getValue().getCountOfRead());
+        assertEquals(reset, captor.getValue().isReset());
+    }
+}
@@ -0,0 +1,65 @@
+package com.trip.diary.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.trip.diary.client.RedisClient;
+import com.trip.diary.domain.constants.NotificationType;
+import com.trip.diary.domain.model.Member;
+import com.trip.diary.domain.model.Notification;
+import com.trip.diary.dto.NotificationPushDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationStreamServiceTest {
+    @Mock
+    private RedisClient redisClient;
+
+    @Mock
+    private RedisMessageListenerContainer redisMessageListenerContainer;
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+
+    private NotificationStreamService notificationStreamService;
+
+    @BeforeEach
+    void setUp() {
+        notificationStreamService = new NotificationStreamService(redisClient, objectMapper,
+                redisMessageListenerContainer);
+    }
+
+    @Test
+    @DisplayName("저장된 알림을 수신자 정보와 함께 발행")
+    void publishTest_success() throws Exception {
+        //given
+        Notification notification = Notification.builder()
+                .message("[제주도 여행] [제주공항] 사진에 새벽임님이 댓글을 달았어요.")
+                .redirectPath("/trips/posts/1/comments")
+                .type(NotificationType.COMMENT)
+                .member(Member.builder().id(2L).build())
+                .createdAt(LocalDateTime.now())
+                .build();
+        //when
+        notificationStreamService.publish(List.of(notification));
+        ArgumentCaptor<String> captor = ArgumentCaptor.forClass(String.class);
+        //then
+        verify(redisClient, times(1)).publish(anyString(), captor.capture());
+        NotificationPushDto push = objectMapper.readValue(captor.getValue(), NotificationPushDto.class);
+        assertEquals(2L, push.getMemberId());
+        assertEquals("/trips/posts/1/comments", push.getNotification().getRedirectPath());
+    }
+}
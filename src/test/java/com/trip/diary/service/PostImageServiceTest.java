@@ -0,0 +1,92 @@
+package com.trip.diary.service;
+
+import com.trip.diary.domain.constants.ImageVariant;
+import com.trip.diary.domain.model.PostImage;
+import com.trip.diary.domain.repository.LocationRepository;
+import com.trip.diary.domain.repository.PostImageRepository;
+import com.trip.diary.exception.ErrorCode;
+import com.trip.diary.exception.FileException;
+import com.trip.diary.util.ImageManager;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class PostImageServiceTest {
+    @Mock
+    private PostImageRepository postImageRepository;
+
+    @Mock
+    private LocationRepository locationRepository;
+
+    @Mock
+    private ImageManager imageManager;
+
+    @InjectMocks
+    private PostImageService postImageService;
+
+    @Test
+    @DisplayName("크기별 이미지 생성 성공")
+    void createResizedImagesTest_success() {
+        //given
+        given(postImageRepository.findByPost_Id(anyLong()))
+                .willReturn(List.of(
+                        PostImage.builder()
+                                .id(1L)
+                                .imagePath("post/abc.jpg")
+                                .build(),
+                        PostImage.builder()
+                                .id(2L)
+                                .imagePath("post/def.jpg")
+                                .smallImagePath("post/def_small.jpg")
+                                .mediumImagePath("post/def_medium.jpg")
+                                .build()
+                ));
+        given(imageManager.isResizable(anyString())).willReturn(true);
+        given(imageManager.createResizedImages("post/abc.jpg"))
+                .willReturn(Map.of(
+                        ImageVariant.SMALL, "post/abc_small.jpg",
+                        ImageVariant.MEDIUM, "post/abc_medium.jpg"));
+        //when
+        postImageService.createResizedImages(1L, 1L);
+        //then
+        verify(imageManager, times(1)).createResizedImages(anyString());
+        verify(postImageRepository, times(1))
+                .updateResizedImagePaths("post/abc.jpg", "post/abc_small.jpg", "post/abc_medium.jpg");
+        verify(locationRepository, times(1))
+                .updateThumbnailPath(1L, "post/abc.jpg", "post/abc_small.jpg");
+    }
+
+    @Test
+    @DisplayName("크기별 이미지 생성 - 변환에 실패한 이미지는 원본 유지")
+    void createResizedImagesTest_skipWhenResizeFailed() {
+        //given
+        given(postImageRepository.findByPost_Id(anyLong()))
+                .willReturn(List.of(
+                        PostImage.builder()
+                                .id(1L)
+                                .imagePath("post/abc.jpg")
+                                .build()
+                ));
+        given(imageManager.isResizable(anyString())).willReturn(true);
+        given(imageManager.createResizedImages(anyString()))
+                .willThrow(new FileException(ErrorCode.RESIZE_FAILED));
+        //when
+        postImageService.createResizedImages(1L, 1L);
+        //then
+        verify(postImageRepository, never()).updateResizedImagePaths(any(), any(), any());
+        verify(locationRepository, never()).updateThumbnailPath(any(), any(), any());
+    }
+}
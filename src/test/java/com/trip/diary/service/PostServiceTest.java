@@ -3,9 +3,11 @@ package com.trip.diary.service;
 import com.trip.diary.domain.constants.ParticipantType;
 import com.trip.diary.domain.model.*;
 import com.trip.diary.domain.repository.*;
+import com.trip.diary.domain.vo.LikeStatusVo;
 import com.trip.diary.dto.CreatePostForm;
 import com.trip.diary.dto.PostDetailDto;
 import com.trip.diary.dto.UpdatePostForm;
+import com.trip.diary.event.dto.PostChangeEvent;
 import com.trip.diary.exception.ErrorCode;
 import com.trip.diary.exception.LocationException;
 import com.trip.diary.exception.PostException;
@@ -21,16 +23,23 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.MediaType;
 import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
@@ -60,6 +69,9 @@ class PostServiceTest {
     @Mock
     private ImageManager imageManager;
 
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
     @InjectMocks
     private PostService postService;
 
@@ -114,6 +126,12 @@ class PostServiceTest {
                     MediaType.IMAGE_JPEG_VALUE, "abcde".getBytes())
     );
 
+    private void givenTransactionExecuted() {
+        given(transactionTemplate.execute(any()))
+                .willAnswer(invocation ->
+                        invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
     @Test
     @DisplayName("여행 기록 생성 성공")
     void createTest_success() {
@@ -145,6 +163,7 @@ class PostServiceTest {
         given(imageManager.uploadImages(any(), anyString()))
                 .willReturn(List.of("/post/1.jpg",
                         "/post/2.jpg"));
+        givenTransactionExecuted();
         //when
         PostDetailDto result = postService.create(1L, form, images, member);
         ArgumentCaptor<Post> postCaptor = ArgumentCaptor.forClass(Post.class);
@@ -193,6 +212,7 @@ class PostServiceTest {
         given(imageManager.uploadImages(any(), anyString()))
                 .willReturn(List.of("/post/1.jpg",
                         "/post/2.jpg"));
+        givenTransactionExecuted();
         //when
         postService.create(1L, form, images, member);
         ArgumentCaptor<Post> postCaptor = ArgumentCaptor.forClass(Post.class);
@@ -236,6 +256,7 @@ class PostServiceTest {
         given(imageManager.uploadImages(any(), anyString()))
                 .willReturn(List.of("/post/1.jpg",
                         "/post/2.jpg"));
+        givenTransactionExecuted();
         //when
         postService.create(1L, form, images, member);
         ArgumentCaptor<Post> postCaptor = ArgumentCaptor.forClass(Post.class);
@@ -298,6 +319,75 @@ class PostServiceTest {
         assertEquals(ErrorCode.NOT_AUTHORITY_WRITE_TRIP, exception.getErrorCode());
     }
 
+    @Test
+    @DisplayName("여행 기록 생성 실패 - DB 저장에 실패하면 업로드한 이미지 삭제")
+    void createTest_failWhenSaveFailed() {
+        //given
+        CreatePostForm form = CreatePostForm.builder()
+                .content("제주도 도착입니당")
+                .location("제주공항")
+                .build();
+
+        given(tripRepository.findById(anyLong())).willReturn(Optional.of(trip));
+        given(participantRepository.existsByTripAndMemberAndType(any(), any(), any())).willReturn(true);
+        given(imageManager.uploadImages(any(), anyString()))
+                .willReturn(List.of("/post/1.jpg",
+                        "/post/2.jpg"));
+        given(transactionTemplate.execute(any()))
+                .willThrow(new IllegalStateException("connection refused"));
+        //when
+        assertThrows(IllegalStateException.class, () -> postService.create(1L, form, images, member));
+        //then
+        verify(imageManager, times(1)).deleteImages(List.of("/post/1.jpg", "/post/2.jpg"));
+    }
+
+    @Test
+    @DisplayName("여행 기록 생성 - 커밋된 뒤 리스너가 실패하면 이미지를 지우지 않고 기록 반환")
+    void createTest_failAfterCommit() {
+        //given
+        CreatePostForm form = CreatePostForm.builder()
+                .content("제주도 도착입니당")
+                .location("제주공항")
+                .build();
+
+        given(tripRepository.findById(anyLong())).willReturn(Optional.of(trip));
+        given(participantRepository.existsByTripAndMemberAndType(any(), any(), any())).willReturn(true);
+        given(imageManager.uploadImages(any(), anyString()))
+                .willReturn(List.of("/post/1.jpg",
+                        "/post/2.jpg"));
+        Location location = Location.builder()
+                .id(1L)
+                .trip(trip)
+                .name("제주공항")
+                .build();
+        given(locationRepository.findFirstByTripOrderByIdDesc(any())).willReturn(Optional.of(location));
+        given(postRepository.save(any()))
+                .willReturn(Post.builder()
+                        .id(1L)
+                        .content("제주도 도착입니당")
+                        .location(location)
+                        .member(member)
+                        .createdAt(LocalDateTime.now())
+                        .build());
+        given(transactionTemplate.execute(any()))
+                .willAnswer(invocation -> {
+                    TransactionSynchronizationManager.initSynchronization();
+                    try {
+                        invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null);
+                        TransactionSynchronizationManager.getSynchronizations().forEach(synchronization ->
+                                synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+                    } finally {
+                        TransactionSynchronizationManager.clearSynchronization();
+                    }
+                    throw new TaskRejectedException("queue is full");
+                });
+        //when
+        PostDetailDto postDetailDto = postService.create(1L, form, images, member);
+        //then
+        assertEquals("제주도 도착입니당", postDetailDto.getContent());
+        verify(imageManager, never()).deleteImages(anyList());
+    }
+
     @Test
     @DisplayName("여행 기록 수정 성공")
     void updateTest_success() {
@@ -349,6 +439,7 @@ class PostServiceTest {
 
         given(postLikeRedisRepository.existsByPostIdAndUserId(anyLong(), anyLong()))
                 .willReturn(true);
+        givenTransactionExecuted();
         //when
         PostDetailDto result = postService.update(1L, form, images, member);
         ArgumentCaptor<Post> postCaptor = ArgumentCaptor.forClass(Post.class);
@@ -464,6 +555,7 @@ class PostServiceTest {
         //then
         verify(postRepository, times(1)).delete(any());
         verify(locationRepository, times(0)).delete(any());
+        verify(applicationEventPublisher, times(1)).publishEvent(any(PostChangeEvent.class));
     }
 
     @Test
@@ -568,12 +660,13 @@ class PostServiceTest {
                         .build())
                 );
         given(participantRepository.existsByTripAndMemberAndType(any(), any(), any())).willReturn(true);
-        given(postLikeRedisRepository.existsByPostIdAndUserId(anyLong(), anyLong()))
-                .willReturn(false);
+        given(postLikeRedisRepository.toggle(anyLong(), anyLong()))
+                .willReturn(true);
         //when
         postService.like(1L, member);
         //then
-        verify(postLikeRedisRepository, times(1)).save(anyLong(), any());
+        verify(postLikeRedisRepository, times(1)).toggle(1L, member.getId());
+        verify(postLikeRedisRepository, never()).existsByPostIdAndUserId(anyLong(), anyLong());
     }
 
     @Test
@@ -598,12 +691,13 @@ class PostServiceTest {
                         .build())
                 );
         given(participantRepository.existsByTripAndMemberAndType(any(), any(), any())).willReturn(true);
-        given(postLikeRedisRepository.existsByPostIdAndUserId(anyLong(), anyLong()))
-                .willReturn(true);
+        given(postLikeRedisRepository.toggle(anyLong(), anyLong()))
+                .willReturn(false);
         //when
         postService.like(1L, member);
         //then
-        verify(postLikeRedisRepository, times(1)).delete(anyLong(), any());
+        verify(postLikeRedisRepository, times(1)).toggle(1L, member.getId());
+        verify(postLikeRedisRepository, never()).existsByPostIdAndUserId(anyLong(), anyLong());
     }
 
     @Test
@@ -688,12 +782,10 @@ class PostServiceTest {
                                 .build()
                 ));
         given(participantRepository.existsByTripAndMemberAndType(any(), any(), any())).willReturn(true);
-        given(postLikeRedisRepository.countByPostId(1L)).willReturn(2L);
-        given(postLikeRedisRepository.countByPostId(2L)).willReturn(0L);
-        given(postLikeRedisRepository.existsByPostIdAndUserId(1L, 1L))
-                .willReturn(true);
-        given(postLikeRedisRepository.existsByPostIdAndUserId(2L, 1L))
-                .willReturn(false);
+        given(postLikeRedisRepository.findLikeStatusesByPostIdsAndUserId(List.of(1L, 2L), 1L))
+                .willReturn(Map.of(
+                        1L, new LikeStatusVo(2L, true),
+                        2L, new LikeStatusVo(0L, false)));
         //when
         List<PostDetailDto> result = postService.readPostsByLocation(1L, member);
         //then
@@ -0,0 +1,182 @@
+package com.trip.diary.service;
+
+import com.trip.diary.domain.model.SearchOutbox;
+import com.trip.diary.domain.repository.SearchOutboxPauseRedisRepository;
+import com.trip.diary.domain.repository.SearchOutboxRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static com.trip.diary.domain.constants.SearchOutboxType.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class SearchOutboxRelayTest {
+    @Mock
+    private SearchOutboxRepository searchOutboxRepository;
+
+    @Mock
+    private SearchOutboxPauseRedisRepository searchOutboxPauseRedisRepository;
+
+    @Mock
+    private TripSearchService tripSearchService;
+
+    @Mock
+    private MemberSearchService memberSearchService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private MeterRegistry meterRegistry;
+
+    private SearchOutboxRelay searchOutboxRelay;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        searchOutboxRelay = new SearchOutboxRelay(searchOutboxRepository, searchOutboxPauseRedisRepository,
+                tripSearchService, memberSearchService, transactionTemplate, meterRegistry);
+        given(transactionTemplate.execute(any()))
+                .willAnswer(invocation ->
+                        invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    @Test
+    @DisplayName("아웃박스 반영 성공 - 인덱스 별로 반영 후 삭제")
+    void relayTest_success() {
+        //given
+        List<SearchOutbox> outboxes = List.of(
+                getOutbox(1L, SearchOutbox.of(TRIP_SAVE, 1L)),
+                getOutbox(2L, SearchOutbox.of(MEMBER_TRIP_ADD, 1L, 1L)),
+                getOutbox(3L, SearchOutbox.of(LOCATION_ADD, 1L, "제주공항")));
+        given(searchOutboxRepository.findOldestForUpdate(any())).willReturn(outboxes);
+        given(searchOutboxRepository.findFirstByOrderByIdAsc()).willReturn(Optional.empty());
+        //when
+        searchOutboxRelay.relay();
+        //then
+        verify(tripSearchService, times(1)).apply(List.of(outboxes.get(0), outboxes.get(2)));
+        verify(memberSearchService, times(1)).apply(List.of(outboxes.get(1)));
+        verify(searchOutboxRepository, times(1)).deleteAllByIdInBatch(List.of(1L, 3L, 2L));
+        verify(transactionTemplate, times(2)).execute(any());
+    }
+
+    @Test
+    @DisplayName("아웃박스 반영 실패 - 실패한 인덱스의 변경만 재시도 예약")
+    void relayTest_retryLaterWhenFailed() {
+        //given
+        SearchOutbox tripOutbox = getOutbox(1L, SearchOutbox.of(TRIP_UPDATE, 1L));
+        SearchOutbox memberOutbox = getOutbox(2L, SearchOutbox.of(MEMBER_SAVE, 1L));
+        given(searchOutboxRepository.findOldestForUpdate(any())).willReturn(List.of(tripOutbox, memberOutbox));
+        given(searchOutboxRepository.findFirstByOrderByIdAsc()).willReturn(Optional.of(tripOutbox));
+        willThrow(new RuntimeException("connection refused")).given(tripSearchService).apply(anyList());
+        //when
+        searchOutboxRelay.relay();
+        //then
+        assertEquals(1, tripOutbox.getAttempts());
+        assertTrue(tripOutbox.getNextAttemptAt().isAfter(LocalDateTime.now()));
+        assertFalse(tripOutbox.isClaimedAt(LocalDateTime.now()));
+        assertEquals(0, memberOutbox.getAttempts());
+        verify(searchOutboxRepository, times(1)).deleteAllByIdInBatch(List.of(2L));
+        verify(searchOutboxRepository, times(1)).saveAll(List.of(tripOutbox));
+        assertEquals(1, meterRegistry.get("search.outbox.relay.failure").counter().count());
+    }
+
+    @Test
+    @DisplayName("가장 오래된 변경의 재시도 시각 전이면 반영하지 않음")
+    void relayTest_waitForBackoff() {
+        //given
+        SearchOutbox outbox = getOutbox(1L, SearchOutbox.of(TRIP_UPDATE, 1L));
+        outbox.retryAfter(Duration.ofMinutes(1));
+        given(searchOutboxRepository.findOldestForUpdate(any())).willReturn(List.of(outbox));
+        given(searchOutboxRepository.findFirstByOrderByIdAsc()).willReturn(Optional.of(outbox));
+        given(searchOutboxRepository.count()).willReturn(1L);
+        //when
+        searchOutboxRelay.relay();
+        //then
+        verify(tripSearchService, never()).apply(anyList());
+        verify(searchOutboxRepository, never()).deleteAllByIdInBatch(anyList());
+        assertEquals(1, meterRegistry.get("search.outbox.backlog").gauge().value());
+    }
+
+    @Test
+    @DisplayName("다른 서버가 인덱스를 다시 만드는 중이면 반영하지 않음")
+    void relayTest_skipWhenPaused() {
+        //given
+        given(searchOutboxRepository.findOldestForUpdate(any()))
+                .willReturn(List.of(getOutbox(1L, SearchOutbox.of(TRIP_UPDATE, 1L))));
+        given(searchOutboxPauseRedisRepository.isPaused()).willReturn(true);
+        given(searchOutboxRepository.findFirstByOrderByIdAsc()).willReturn(Optional.empty());
+        //when
+        searchOutboxRelay.relay();
+        //then
+        verify(tripSearchService, never()).apply(anyList());
+        verify(searchOutboxRepository, never()).deleteAllByIdInBatch(anyList());
+    }
+
+    @Test
+    @DisplayName("다른 서버가 가져간 변경이 남아 있으면 반영하지 않음")
+    void relayTest_skipWhenClaimed() {
+        //given
+        SearchOutbox outbox = getOutbox(1L, SearchOutbox.of(TRIP_UPDATE, 1L));
+        outbox.claim(LocalDateTime.now().plusMinutes(1));
+        given(searchOutboxRepository.findOldestForUpdate(any())).willReturn(List.of(outbox));
+        given(searchOutboxRepository.findFirstByOrderByIdAsc()).willReturn(Optional.of(outbox));
+        //when
+        searchOutboxRelay.relay();
+        //then
+        verify(tripSearchService, never()).apply(anyList());
+        verify(searchOutboxRepository, never()).deleteAllByIdInBatch(anyList());
+    }
+
+    @Test
+    @DisplayName("엘라스틱서치는 변경을 가져간 트랜잭션이 끝난 뒤 호출")
+    void relayTest_applyOutsideTransaction() {
+        //given
+        SearchOutbox outbox = getOutbox(1L, SearchOutbox.of(TRIP_UPDATE, 1L));
+        given(searchOutboxRepository.findOldestForUpdate(any())).willReturn(List.of(outbox));
+        given(searchOutboxRepository.findFirstByOrderByIdAsc()).willReturn(Optional.empty());
+        //when
+        searchOutboxRelay.relay();
+        //then
+        InOrder inOrder = inOrder(transactionTemplate, tripSearchService, searchOutboxRepository);
+        inOrder.verify(transactionTemplate).execute(any());
+        inOrder.verify(tripSearchService).apply(List.of(outbox));
+        inOrder.verify(transactionTemplate).execute(any());
+        inOrder.verify(searchOutboxRepository).deleteAllByIdInBatch(List.of(1L));
+        assertTrue(outbox.isClaimedAt(LocalDateTime.now()));
+    }
+
+    private SearchOutbox getOutbox(Long id, SearchOutbox outbox) {
+        return SearchOutbox.builder()
+                .id(id)
+                .type(outbox.getType())
+                .documentId(outbox.getDocumentId())
+                .payload(outbox.getPayload())
+                .nextAttemptAt(outbox.getNextAttemptAt())
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+}
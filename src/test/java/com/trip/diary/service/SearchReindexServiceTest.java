@@ -0,0 +1,129 @@
+package com.trip.diary.service;
+
+import com.trip.diary.client.ElasticSearchClient;
+import com.trip.diary.domain.repository.SearchOutboxRepository;
+import com.trip.diary.domain.repository.SearchReindexRepository;
+import com.trip.diary.dto.ReindexResultDto;
+import com.trip.diary.elasticsearch.model.MemberDocument;
+import com.trip.diary.elasticsearch.model.TripDocument;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class SearchReindexServiceTest {
+    @Mock
+    private SearchReindexRepository searchReindexRepository;
+
+    @Mock
+    private SearchOutboxRepository searchOutboxRepository;
+
+    @Mock
+    private SearchOutboxRelay searchOutboxRelay;
+
+    @Mock
+    private ElasticSearchClient elasticSearchClient;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SearchReindexService searchReindexService;
+
+    @BeforeEach
+    void setUp() {
+        searchReindexService = new SearchReindexService(searchReindexRepository, searchOutboxRepository,
+                searchOutboxRelay, elasticSearchClient, transactionManager, Runnable::run, 1, Duration.ofHours(1));
+        given(searchOutboxRelay.pause(any())).willReturn("token");
+    }
+
+    @Test
+    @DisplayName("인덱스 재생성 성공 - 나눠서 적재한 뒤 별칭을 바꾸고 반영된 아웃박스 삭제")
+    void reindexTest_success() {
+        //given
+        given(searchReindexRepository.findSearchOutboxIds()).willReturn(List.of(1L, 2L));
+        willAnswer(invocation -> {
+            Consumer<TripDocument> consumer = invocation.getArgument(0);
+            LongStream.rangeClosed(1, 2500).forEach(id -> consumer.accept(TripDocument.builder().id(id).build()));
+            return null;
+        }).given(searchReindexRepository).streamTripDocuments(any());
+        willAnswer(invocation -> {
+            Consumer<MemberDocument> consumer = invocation.getArgument(0);
+            consumer.accept(MemberDocument.builder().id(1L).build());
+            return null;
+        }).given(searchReindexRepository).streamMemberDocuments(any());
+        given(elasticSearchClient.swapAlias(eq("trips"), anyString())).willReturn(Set.of("trips_20230101000000"));
+        given(elasticSearchClient.swapAlias(eq("members"), anyString())).willReturn(Set.of());
+        given(searchOutboxRelay.isPausedBy("token")).willReturn(true);
+        //when
+        List<ReindexResultDto> results = searchReindexService.reindex();
+        //then
+        assertEquals(2500, results.get(0).getCountOfDocuments());
+        assertEquals(1, results.get(1).getCountOfDocuments());
+        verify(elasticSearchClient, times(3)).bulkIndex(startsWith("trips_"), anyList());
+        verify(elasticSearchClient, times(1)).bulkIndex(startsWith("members_"), anyList());
+        verify(elasticSearchClient, times(1)).deleteIndex("trips_20230101000000");
+        verify(searchOutboxRepository, times(1)).deleteAllByIdInBatch(List.of(1L, 2L));
+        InOrder inOrder = inOrder(searchOutboxRelay, elasticSearchClient);
+        inOrder.verify(searchOutboxRelay).pause(Duration.ofHours(1));
+        inOrder.verify(elasticSearchClient).finishBulkLoad(startsWith("trips_"), eq(1));
+        inOrder.verify(elasticSearchClient).swapAlias(eq("trips"), startsWith("trips_"));
+        inOrder.verify(searchOutboxRelay).resume("token");
+    }
+
+    @Test
+    @DisplayName("인덱스 재생성 실패 - 별칭을 바꾸지 않고 새 인덱스 삭제")
+    void reindexTest_failToLoad() {
+        //given
+        willAnswer(invocation -> {
+            Consumer<TripDocument> consumer = invocation.getArgument(0);
+            consumer.accept(TripDocument.builder().id(1L).build());
+            return null;
+        }).given(searchReindexRepository).streamTripDocuments(any());
+        willThrow(new RuntimeException("es rejected")).given(elasticSearchClient).bulkIndex(anyString(), anyList());
+        //when
+        assertThrows(RuntimeException.class, () -> searchReindexService.reindex());
+        //then
+        verify(elasticSearchClient, never()).swapAlias(anyString(), anyString());
+        verify(elasticSearchClient, times(1)).deleteIndex(startsWith("trips_"));
+        verify(elasticSearchClient, times(1)).deleteIndex(startsWith("members_"));
+        verify(searchOutboxRepository, never()).deleteAllByIdInBatch(anyList());
+        verify(searchOutboxRelay, times(1)).resume("token");
+    }
+
+    @Test
+    @DisplayName("인덱스 재생성 실패 - 적재하는 동안 릴레이 멈춤이 만료되면 별칭을 바꾸지 않음")
+    void reindexTest_failWhenPauseExpired() {
+        //given
+        given(searchOutboxRelay.isPausedBy("token")).willReturn(false);
+        //when
+        assertThrows(IllegalStateException.class, () -> searchReindexService.reindex());
+        //then
+        verify(elasticSearchClient, never()).swapAlias(anyString(), anyString());
+        verify(elasticSearchClient, times(1)).deleteIndex(startsWith("trips_"));
+        verify(elasticSearchClient, times(1)).deleteIndex(startsWith("members_"));
+        verify(searchOutboxRepository, never()).deleteAllByIdInBatch(anyList());
+        verify(searchOutboxRelay, times(1)).resume("token");
+    }
+}
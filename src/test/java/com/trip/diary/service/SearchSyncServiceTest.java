@@ -0,0 +1,129 @@
+package com.trip.diary.service;
+
+import com.trip.diary.domain.model.SearchOutbox;
+import com.trip.diary.domain.model.SearchSyncWatermark;
+import com.trip.diary.domain.repository.SearchOutboxRepository;
+import com.trip.diary.domain.repository.SearchReindexRepository;
+import com.trip.diary.domain.repository.SearchSyncWatermarkRepository;
+import com.trip.diary.dto.DriftReportDto;
+import com.trip.diary.elasticsearch.model.TripDocument;
+import com.trip.diary.elasticsearch.repository.MemberSearchRepository;
+import com.trip.diary.elasticsearch.repository.TripSearchRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class SearchSyncServiceTest {
+    @Mock
+    private SearchReindexRepository searchReindexRepository;
+
+    @Mock
+    private SearchSyncWatermarkRepository searchSyncWatermarkRepository;
+
+    @Mock
+    private TripSearchRepository tripSearchRepository;
+
+    @Mock
+    private MemberSearchRepository memberSearchRepository;
+
+    @Mock
+    private SearchOutboxRepository searchOutboxRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private SearchSyncService searchSyncService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        searchSyncService = new SearchSyncService(searchReindexRepository, searchSyncWatermarkRepository,
+                tripSearchRepository, memberSearchRepository, searchOutboxRepository, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("증분 동기화 성공 - 워터마크가 없으면 현재 시각만 기록")
+    void syncIncrementallyTest_noWatermark() {
+        //given
+        given(searchSyncWatermarkRepository.findById(anyString())).willReturn(Optional.empty());
+        //when
+        searchSyncService.syncIncrementally();
+        //then
+        verify(searchSyncWatermarkRepository, times(2)).save(any());
+        verify(searchReindexRepository, never()).findTripIdsUpdatedBetween(any(), any());
+        verify(searchOutboxRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    @DisplayName("증분 동기화 성공 - 바뀐 도큐먼트를 다시 맞추는 변경으로 아웃박스에 넣고 워터마크 갱신")
+    void syncIncrementallyTest_success() {
+        //given
+        LocalDateTime syncedUntil = LocalDateTime.now().minusMinutes(10);
+        SearchSyncWatermark tripWatermark = SearchSyncWatermark.builder()
+                .indexName("trips")
+                .syncedUntil(syncedUntil)
+                .build();
+        given(searchSyncWatermarkRepository.findById("trips")).willReturn(Optional.of(tripWatermark));
+        given(searchSyncWatermarkRepository.findById("members")).willReturn(Optional.of(SearchSyncWatermark.builder()
+                .indexName("members")
+                .syncedUntil(syncedUntil)
+                .build()));
+        given(searchReindexRepository.findTripIdsUpdatedBetween(any(), any())).willReturn(List.of(1L, 3L));
+        given(searchReindexRepository.findMemberIdsUpdatedBetween(any(), any())).willReturn(List.of(2L));
+        ArgumentCaptor<List<SearchOutbox>> captor = ArgumentCaptor.forClass(List.class);
+        //when
+        searchSyncService.syncIncrementally();
+        //then
+        verify(searchReindexRepository).findTripIdsUpdatedBetween(eq(syncedUntil.minusMinutes(1)), any());
+        verify(searchOutboxRepository, times(2)).saveAll(captor.capture());
+        assertEquals(List.of("TRIP_SAVE:1", "TRIP_SAVE:3"), toKeys(captor.getAllValues().get(0)));
+        assertEquals(List.of("MEMBER_RESYNC:2"), toKeys(captor.getAllValues().get(1)));
+        assertTrue(tripWatermark.getSyncedUntil().isAfter(syncedUntil));
+    }
+
+    @Test
+    @DisplayName("드리프트 검사 성공 - 누락되거나 내용이 다른 도큐먼트 집계")
+    void checkDriftTest_success() {
+        //given
+        given(searchReindexRepository.findRandomTripIds(anyInt())).willReturn(List.of(1L, 2L, 3L));
+        given(searchReindexRepository.findRandomMemberIds(anyInt())).willReturn(List.of());
+        given(searchReindexRepository.findSearchOutboxDocumentIds(anyCollection())).willReturn(Set.of(3L));
+        given(searchReindexRepository.findTripDocumentsByIds(List.of(1L, 2L))).willReturn(List.of(
+                TripDocument.builder().id(1L).title("제주").locations(new ArrayList<>()).build(),
+                TripDocument.builder().id(2L).title("부산").locations(new ArrayList<>()).build()));
+        given(searchReindexRepository.findMemberDocumentsByIds(List.of())).willReturn(List.of());
+        given(tripSearchRepository.findAllById(List.of(1L, 2L))).willReturn(List.of(
+                TripDocument.builder().id(1L).title("제주").locations(new ArrayList<>()).build(),
+                TripDocument.builder().id(2L).title("서울").locations(new ArrayList<>()).build()));
+        //when
+        List<DriftReportDto> reports = searchSyncService.checkDrift();
+        //then
+        assertEquals(2, reports.get(0).getCountOfSamples());
+        assertEquals(List.of(2L), reports.get(0).getMismatchedIds());
+        assertEquals(0.5, meterRegistry.get("search.drift.mismatch.rate").tag("index", "trips").gauge().value());
+        assertEquals(0, reports.get(1).getCountOfSamples());
+    }
+
+    private List<String> toKeys(List<SearchOutbox> outboxes) {
+        return outboxes.stream().map(outbox -> outbox.getType() + ":" + outbox.getDocumentId()).toList();
+    }
+}
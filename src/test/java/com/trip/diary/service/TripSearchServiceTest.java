@@ -2,12 +2,14 @@ package com.trip.diary.service;
 
 import com.trip.diary.client.ElasticSearchClient;
 import com.trip.diary.domain.model.Member;
+import com.trip.diary.domain.model.SearchOutbox;
 import com.trip.diary.domain.model.Trip;
 import com.trip.diary.domain.repository.BookmarkRepository;
-import com.trip.diary.domain.repository.LocationRepositoryCustom;
-import com.trip.diary.domain.repository.TripRepositoryCustom;
-import com.trip.diary.domain.vo.TripBookmarkVo;
+import com.trip.diary.domain.repository.LocationRepository;
+import com.trip.diary.domain.repository.TripRepository;
+import com.trip.diary.domain.vo.LocationNameVo;
 import com.trip.diary.dto.TripDto;
+import com.trip.diary.elasticsearch.model.DocumentUpdate;
 import com.trip.diary.elasticsearch.model.TripDocument;
 import com.trip.diary.elasticsearch.repository.TripSearchRepository;
 import org.junit.jupiter.api.DisplayName;
@@ -19,14 +21,18 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Set;
 
+import static com.trip.diary.domain.constants.SearchOutboxType.*;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
@@ -36,13 +42,13 @@ class TripSearchServiceTest {
     private TripSearchRepository tripSearchRepository;
 
     @Mock
-    private LocationRepositoryCustom locationRepositoryCustom;
+    private BookmarkRepository bookmarkRepository;
 
     @Mock
-    private BookmarkRepository bookmarkRepository;
+    private TripRepository tripRepository;
 
     @Mock
-    private TripRepositoryCustom tripRepositoryCustom;
+    private LocationRepository locationRepository;
 
     @Mock
     private ElasticSearchClient elasticSearchClient;
@@ -61,7 +67,7 @@ class TripSearchServiceTest {
 
     @Test
     @DisplayName("여행 기록장 도큐먼트 저장 성공")
-    void saveTest_success() {
+    void applyTest_save() {
         //given
         Trip trip = Trip.builder()
                 .id(1L)
@@ -70,20 +76,30 @@ class TripSearchServiceTest {
                 .description("임의의 설명")
                 .leader(member)
                 .build();
+        given(tripRepository.findAllById(anySet())).willReturn(List.of(trip));
+        given(locationRepository.findNamesByTripIds(Set.of(1L)))
+                .willReturn(List.of(new LocationNameVo(1L, "제주 올레길")));
         //when
-        tripSearchService.save(trip);
-        ArgumentCaptor<TripDocument> captor = ArgumentCaptor.forClass(TripDocument.class);
+        tripSearchService.apply(List.of(
+                SearchOutbox.of(TRIP_SAVE, 1L),
+                SearchOutbox.of(LOCATION_ADD, 1L, "제주 올레길")));
+        ArgumentCaptor<List<DocumentUpdate>> captor = ArgumentCaptor.forClass(List.class);
         //then
-        verify(elasticSearchClient, times(1)).save(captor.capture());
-        assertEquals(1L, captor.getValue().getId());
-        assertTrue(captor.getValue().isPrivate());
-        assertEquals("임의의 타이틀", captor.getValue().getTitle());
-        assertEquals("임의의 설명", captor.getValue().getDescription());
+        verify(elasticSearchClient, times(1)).bulkUpdate(anyString(), captor.capture());
+        assertEquals(2, captor.getValue().size());
+        TripDocument tripDocument = (TripDocument) captor.getValue().get(0).getDocument();
+        assertEquals(1L, tripDocument.getId());
+        assertTrue(tripDocument.isPrivate());
+        assertEquals("임의의 타이틀", tripDocument.getTitle());
+        assertEquals("임의의 설명", tripDocument.getDescription());
+        assertEquals("제주 올레길", tripDocument.getLocations().get(0).getName());
+        assertEquals(1L, captor.getValue().get(1).getId());
+        assertEquals(List.of(Map.of("name", "제주 올레길")), captor.getValue().get(1).getFields().get("locations"));
     }
 
     @Test
-    @DisplayName("여행 기록장 도큐먼트 수정 성공")
-    void updateTest_success() {
+    @DisplayName("여행 기록장 도큐먼트 수정 성공 - 바뀐 필드만 전송")
+    void applyTest_update() {
         //given
         Trip trip = Trip.builder()
                 .id(1L)
@@ -92,66 +108,74 @@ class TripSearchServiceTest {
                 .description("제주도보다는 괌이짓")
                 .leader(member)
                 .build();
+        given(tripRepository.findAllById(anySet())).willReturn(List.of(trip));
+        //when
+        tripSearchService.apply(List.of(SearchOutbox.of(TRIP_UPDATE, 1L)));
+        ArgumentCaptor<List<DocumentUpdate>> captor = ArgumentCaptor.forClass(List.class);
+        //then
+        verify(elasticSearchClient, times(1)).bulkUpdate(anyString(), captor.capture());
+        DocumentUpdate update = captor.getValue().get(0);
+        assertNull(update.getDocument());
+        assertEquals("괌으로 가잣", update.getFields().get("title"));
+        assertEquals("제주도보다는 괌이짓", update.getFields().get("description"));
+        assertEquals(true, update.getFields().get("isPrivate"));
+    }
 
-        given(tripSearchRepository.findById(anyLong()))
-                .willReturn(Optional.of(TripDocument.builder()
-                        .id(1L)
-                        .title("제주여행")
-                        .description("제주도가 최고")
-                        .isPrivate(false)
-                        .build()
-                ));
+    @Test
+    @DisplayName("여행 기록장 도큐먼트 북마크 수 수정 성공 - 현재 값을 전송")
+    void applyTest_bookmark() {
+        //given
+        Trip trip = Trip.builder()
+                .id(1L)
+                .title("괌으로 가잣")
+                .countOfBookmark(5L)
+                .build();
+        given(tripRepository.findAllById(anySet())).willReturn(List.of(trip));
         //when
-        tripSearchService.update(trip);
-        ArgumentCaptor<TripDocument> captor = ArgumentCaptor.forClass(TripDocument.class);
+        tripSearchService.apply(List.of(SearchOutbox.of(BOOKMARK_UPDATE, 1L)));
+        ArgumentCaptor<List<DocumentUpdate>> captor = ArgumentCaptor.forClass(List.class);
         //then
-        verify(elasticSearchClient, times(1)).update(anyString(), captor.capture());
-        assertEquals("괌으로 가잣", captor.getValue().getTitle());
-        assertEquals("제주도보다는 괌이짓", captor.getValue().getDescription());
-        assertTrue(captor.getValue().isPrivate());
+        verify(elasticSearchClient, times(1)).bulkUpdate(anyString(), captor.capture());
+        assertEquals(Map.of("countOfBookmark", 5L), captor.getValue().get(0).getFields());
     }
 
     @Test
-    @DisplayName("여행 기록장 도큐먼트에 로케이션 추가 성공")
-    void addLocationToTripDocumentTest_success() {
+    @DisplayName("여행 기록장 도큐먼트 로케이션 추가/삭제 성공 - 현재 로케이션 목록을 한 번만 전송")
+    void applyTest_locations() {
         //given
-        given(tripSearchRepository.findById(anyLong()))
-                .willReturn(Optional.of(TripDocument.builder()
-                        .id(1L)
-                        .title("제주여행")
-                        .description("제주도가 최고")
-                        .isPrivate(false)
-                        .build()
-                ));
+        given(locationRepository.findNamesByTripIds(Set.of(1L, 2L)))
+                .willReturn(List.of(
+                        new LocationNameVo(1L, "제주 올레길"),
+                        new LocationNameVo(1L, "성산일출봉")));
         //when
-        tripSearchService.addLocationToTripDocument(1L, "제주 올레길");
-        ArgumentCaptor<TripDocument> captor = ArgumentCaptor.forClass(TripDocument.class);
+        tripSearchService.apply(List.of(
+                SearchOutbox.of(LOCATION_ADD, 1L, "제주 올레길"),
+                SearchOutbox.of(LOCATION_REMOVE, 1L, "제주공항"),
+                SearchOutbox.of(LOCATION_REMOVE, 2L, "김포공항")));
+        ArgumentCaptor<List<DocumentUpdate>> captor = ArgumentCaptor.forClass(List.class);
         //then
-        verify(elasticSearchClient, times(1)).update(anyString(), captor.capture());
-        assertEquals(1, captor.getValue().getLocations().size());
-        assertEquals("제주 올레길", captor.getValue().getLocations().get(0).getName());
+        verify(tripSearchRepository, never()).findAllById(any());
+        verify(elasticSearchClient, times(1)).bulkUpdate(anyString(), captor.capture());
+        assertEquals(2, captor.getValue().size());
+        assertEquals(1L, captor.getValue().get(0).getId());
+        assertNull(captor.getValue().get(0).getScript());
+        assertEquals(List.of(Map.of("name", "제주 올레길"), Map.of("name", "성산일출봉")),
+                captor.getValue().get(0).getFields().get("locations"));
+        assertEquals(2L, captor.getValue().get(1).getId());
+        assertEquals(List.of(), captor.getValue().get(1).getFields().get("locations"));
     }
 
     @Test
-    @DisplayName("여행 기록장 도큐먼트에 로케이션 삭제 성공")
-    void removeToTripDocumentTest_success() {
+    @DisplayName("여행 기록장이 삭제되었으면 수정 무시")
+    void applyTest_skipWhenTripNotFound() {
         //given
-        List<TripDocument.Location> locations = new ArrayList<>();
-        locations.add(new TripDocument.Location("제주 올레길"));
-        given(tripSearchRepository.findById(anyLong()))
-                .willReturn(Optional.of(TripDocument.builder()
-                        .id(1L)
-                        .title("제주여행")
-                        .description("제주도가 최고")
-                        .isPrivate(false)
-                        .build()
-                ));
+        given(tripRepository.findAllById(anySet())).willReturn(List.of());
         //when
-        tripSearchService.removeToTripDocument(1L, "제주 올레길");
-        ArgumentCaptor<TripDocument> captor = ArgumentCaptor.forClass(TripDocument.class);
+        tripSearchService.apply(List.of(SearchOutbox.of(TRIP_UPDATE, 1L)));
+        ArgumentCaptor<List<DocumentUpdate>> captor = ArgumentCaptor.forClass(List.class);
         //then
-        verify(elasticSearchClient, times(1)).update(anyString(), captor.capture());
-        assertEquals(0, captor.getValue().getLocations().size());
+        verify(elasticSearchClient, times(1)).bulkUpdate(anyString(), captor.capture());
+        assertEquals(0, captor.getValue().size());
     }
 
     @Test
@@ -172,8 +196,8 @@ class TripSearchServiceTest {
                                 .isPrivate(false)
                                 .build())
                 ));
-        given(bookmarkRepository.existsByTrip_IdAndMember(anyLong(), any()))
-                .willReturn(false);
+        given(bookmarkRepository.findBookmarkedTripIds(member, List.of(3L)))
+                .willReturn(Set.of());
         //when
         Page<TripDto> result = tripSearchService.search(0, "경주", member);
         //then
@@ -202,15 +226,15 @@ class TripSearchServiceTest {
                                 .isPrivate(false)
                                 .build())
                 ));
-        given(bookmarkRepository.existsByTrip_IdAndMember(anyLong(), any()))
-                .willReturn(false);
+        given(bookmarkRepository.findBookmarkedTripIds(member, List.of(3L)))
+                .willReturn(Set.of(3L));
         //when
         Page<TripDto> result = tripSearchService.searchByLocation(0, "경주월드", member);
         //then
         assertEquals(3L, result.getContent().get(0).getId());
         assertEquals("경주여행", result.getContent().get(0).getTitle());
         assertEquals("경주가 최고", result.getContent().get(0).getDescription());
-        assertFalse(result.getContent().get(0).getIsBookmarked());
+        assertTrue(result.getContent().get(0).getIsBookmarked());
         assertEquals(2, result.getContent().get(0).getLocations().size());
     }
 
@@ -218,36 +242,36 @@ class TripSearchServiceTest {
     @DisplayName("여행 기록장 북마크 순으로 검색 성공")
     void searchByKeywordOrderByBookmarkTest_success() {
         //given
-        given(tripRepositoryCustom.findByKeywordContainsOrderByBookmark(anyString(), any()))
+        given(tripSearchRepository.findByKeywordOrderByBookmark(anyString(), any()))
                 .willReturn(new PageImpl<>(
                         List.of(
-                                TripBookmarkVo.builder()
-                                        .tripId(1L)
+                                TripDocument.builder()
+                                        .id(1L)
                                         .title("제주도")
                                         .isPrivate(false)
                                         .description("제주도입니닷")
-                                        .countOfBookmarked(3L)
+                                        .countOfBookmark(3L)
+                                        .locations(List.of(new TripDocument.Location("한라산")))
                                         .build(),
-                                TripBookmarkVo.builder()
-                                        .tripId(2L)
+                                TripDocument.builder()
+                                        .id(2L)
                                         .title("제주도 여행기")
                                         .isPrivate(false)
                                         .description("5명이서 제주도간다")
-                                        .countOfBookmarked(1L)
+                                        .countOfBookmark(1L)
+                                        .locations(List.of(new TripDocument.Location("우도"),
+                                                new TripDocument.Location("올레길")))
                                         .build()
-                        )
-                ));
-        given(bookmarkRepository.existsByTrip_IdAndMember(1L, member))
-                .willReturn(true);
-        given(bookmarkRepository.existsByTrip_IdAndMember(2L, member))
-                .willReturn(false);
-        given(locationRepositoryCustom.findLocationNameByTripId(1L))
-                .willReturn(List.of("한라산", "제주공항"));
-        given(locationRepositoryCustom.findLocationNameByTripId(2L))
-                .willReturn(List.of("우도", "올레길"));
+                        ), Pageable.ofSize(10), 12));
+        given(bookmarkRepository.findBookmarkedTripIds(member, List.of(1L, 2L)))
+                .willReturn(Set.of(1L));
+        ArgumentCaptor<Pageable> captor = ArgumentCaptor.forClass(Pageable.class);
         //when
         Page<TripDto> result = tripSearchService.searchByKeywordOrderByBookmark(0, "제주도", member);
         //then
+        verify(tripSearchRepository).findByKeywordOrderByBookmark(eq("제주도"), captor.capture());
+        assertTrue(captor.getValue().getSort().getOrderFor("countOfBookmark").isDescending());
+        assertEquals(12, result.getTotalElements());
         assertEquals(3L, result.getContent().get(0).getCountOfBookmark());
         assertTrue(result.getContent().get(0).getIsBookmarked());
         assertEquals(1L, result.getContent().get(0).getId());
@@ -258,6 +282,20 @@ class TripSearchServiceTest {
         assertEquals(2L, result.getContent().get(1).getId());
         assertEquals("제주도 여행기", result.getContent().get(1).getTitle());
         assertEquals("5명이서 제주도간다", result.getContent().get(1).getDescription());
+        assertEquals(Set.of("우도", "올레길"), result.getContent().get(1).getLocations());
+    }
+
+    @Test
+    @DisplayName("여행 기록장 검색 성공 - 결과가 없으면 북마크를 조회하지 않음")
+    void searchTest_empty() {
+        //given
+        given(tripSearchRepository.findByKeyword(anyString(), anyString(), any()))
+                .willReturn(new PageImpl<>(List.of()));
+        //when
+        Page<TripDto> result = tripSearchService.search(0, "경주", member);
+        //then
+        assertTrue(result.getContent().isEmpty());
+        verify(bookmarkRepository, never()).findBookmarkedTripIds(any(), anyCollection());
     }
 
 }
\ No newline at end of file